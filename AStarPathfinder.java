@@ -0,0 +1,288 @@
+package pacman;
+
+import java.util.Arrays;
+
+/**
+ * AStarPathfinder class that finds a ghost's next direction with an A* search instead of flooding the whole maze like
+ * the BfsPathfinder does. When the target is an open square in the same part of the maze as the ghost (checked with
+ * MazeComponents, like the JunctionGraph does), it only expands squares in order of how long the shortest path through
+ * them could possibly be, so on a big maze it looks at the squares near the way to the target instead of every square
+ * the ghost can reach. Targets inside walls, off of the board or in another part of the maze are searched for by a
+ * BfsPathfinder, since the square the ghost should head for then is the closest one it can get to without turning
+ * around, which only a flood finds.
+ *
+ * The estimate of how far a square is from the goal is the Manhattan distance in integers, or, if it is shorter, the
+ * way through the tunnels: the Manhattan distance to the closest tunnel end, plus the step through it, plus the
+ * Manhattan distance from the closest tunnel exit to the goal. Both are never more than the real distance, so the path
+ * found is always a shortest one. The distance from every square to its closest tunnel end is worked out once in the
+ * constructor.
+ *
+ * Like the BfsPathfinder, all memory is allocated up front: the path lengths, first steps and generation stamps are
+ * arrays indexed by square, and the open set is a binary heap of longs, each holding (estimate, distance to goal,
+ * square) so that comparing two entries is comparing two longs. The heap only grows if a search ever needs more room
+ * than any search before it. Ghosts that are already on the target, or can't get to it without turning around, are
+ * answered by the BfsPathfinder too. Two equally short paths can be broken differently than the BfsPathfinder would
+ * break them.
+ */
+public class AStarPathfinder implements Pathfinder {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+    //each field of a heap entry gets 21 bits, enough for a 1024x1024 maze
+    private static final int FIELD_BITS = 21;
+    private static final long FIELD_MASK = (1L << FIELD_BITS) - 1;
+
+    //instance variables
+    private final WallGrid walls;
+    private final int cols;
+    private final MazeComponents components;
+    private final int[] tunnelDistance;
+    private final int[] pathLength;
+    private final int[] stamps;
+    private final byte[] firstStep;
+    private final BfsPathfinder fallback;
+    private long[] heap;
+    private int generation;
+    private int goalRow;
+    private int goalCol;
+    private int goalTunnelDistance;
+    private long nodesExpanded;
+
+    /**
+     * AStarPathfinder constructor
+     * @param walls - the walls of the maze that is being searched
+     */
+    public AStarPathfinder(WallGrid walls) {
+        this.walls = walls;
+        this.cols = walls.getCols();
+        int size = walls.getSize();
+        this.components = new MazeComponents(walls);
+        this.tunnelDistance = walls.getTunnelEndCount() == 0 ? null : tunnelDistances(walls);
+        this.pathLength = new int[size];
+        this.stamps = new int[size];
+        this.firstStep = new byte[size];
+        this.fallback = new BfsPathfinder(walls);
+        this.heap = new long[64];
+        this.generation = 0;
+    }
+
+    /**
+     * Works out the Manhattan distance from every square to the closest tunnel end, ignoring the walls. One pass from
+     * the top left and one from the bottom right is enough for Manhattan distances. It is package-private so the
+     * HierarchicalPathfinder can estimate the way through the tunnels in the same way.
+     * @param walls - the walls and tunnels of the maze
+     * @return the distance of every square to the closest tunnel end
+     */
+    static int[] tunnelDistances(WallGrid walls) {
+        int rows = walls.getRows();
+        int cols = walls.getCols();
+        int[] distances = new int[walls.getSize()];
+        Arrays.fill(distances, Integer.MAX_VALUE / 2);
+        for (int end = 0; end < walls.getTunnelEndCount(); end++) {
+            distances[walls.getTunnelEnd(end)] = 0;
+        }
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                int square = row * cols + col;
+                if (row > 0) {
+                    distances[square] = Math.min(distances[square], distances[square - cols] + 1);
+                }
+                if (col > 0) {
+                    distances[square] = Math.min(distances[square], distances[square - 1] + 1);
+                }
+            }
+        }
+        for (int row = rows - 1; row >= 0; row--) {
+            for (int col = cols - 1; col >= 0; col--) {
+                int square = row * cols + col;
+                if (row < rows - 1) {
+                    distances[square] = Math.min(distances[square], distances[square + cols] + 1);
+                }
+                if (col < cols - 1) {
+                    distances[square] = Math.min(distances[square], distances[square + 1] + 1);
+                }
+            }
+        }
+        return distances;
+    }
+
+    /**
+     * Finds the direction a ghost should move in to get closest to a target. A ghost can't turn around, so the
+     * direction opposite of its heading is only used if there is no other way out of its square (a dead end).
+     * @param row - the row the ghost is on
+     * @param col - the col the ghost is on
+     * @param heading - the direction the ghost is currently moving in
+     * @param targetRow - the row of the target, which may be off of the board
+     * @param targetCol - the col of the target, which may be off of the board
+     * @return the direction that will take the ghost toward the target, or null if the ghost can't move at all
+     */
+    @Override
+    public Direction nextDirection(int row, int col, Direction heading, int targetRow, int targetCol) {
+        int start = row * this.cols + col;
+        if (targetRow < 0 || targetRow >= this.walls.getRows() || targetCol < 0 || targetCol >= this.cols) {
+            return this.fallback.nextDirection(row, col, heading, targetRow, targetCol);
+        }
+        int goal = targetRow * this.cols + targetCol;
+        //the ghost's square is open, so this also rules out targets inside walls
+        if (goal == start || this.components.getComponent(goal) != this.components.getComponent(start)) {
+            return this.fallback.nextDirection(row, col, heading, targetRow, targetCol);
+        }
+        this.setGoal(goal);
+        int stamp = this.nextGeneration();
+        //the start is marked with a path length nothing can beat, so no path goes back through it
+        this.stamps[start] = stamp;
+        this.pathLength[start] = 0;
+        int size = 0;
+        Direction opposite = heading.opposite();
+        for (Direction direction : BfsPathfinder.SEARCH_ORDER) {
+            int neighbor = this.walls.neighbor(row, col, direction);
+            if (direction != opposite && neighbor >= 0) {
+                size = this.push(size, neighbor, 1, direction.ordinal(), stamp);
+            }
+        }
+        //dead end, so the ghost has to turn around
+        if (size == 0) {
+            return this.walls.neighbor(row, col, opposite) >= 0 ? opposite : null;
+        }
+
+        while (size > 0) {
+            long top = this.heap[0];
+            size = this.pop(size);
+            int square = (int) (top & FIELD_MASK);
+            int length = (int) (top >>> (2 * FIELD_BITS)) - (int) ((top >>> FIELD_BITS) & FIELD_MASK);
+            //a shorter way to this square was pushed after this entry
+            if (length > this.pathLength[square]) {
+                continue;
+            }
+            this.nodesExpanded++;
+            if (square == goal) {
+                return DIRECTIONS[this.firstStep[square]];
+            }
+            int squareRow = square / this.cols;
+            int squareCol = square - squareRow * this.cols;
+            for (Direction direction : BfsPathfinder.SEARCH_ORDER) {
+                int neighbor = this.walls.neighbor(squareRow, squareCol, direction);
+                if (neighbor >= 0) {
+                    size = this.push(size, neighbor, length + 1, this.firstStep[square], stamp);
+                }
+            }
+        }
+        //the target can only be reached by turning around, so the closest square the ghost can get to is somewhere else
+        return this.fallback.nextDirection(row, col, heading, targetRow, targetCol);
+    }
+
+    /**
+     * Helper method that sets the square the search is heading for and works out how far it is from the closest
+     * tunnel exit, which is the part of the estimate through the tunnels that is the same for every square.
+     */
+    private void setGoal(int goal) {
+        this.goalRow = goal / this.cols;
+        this.goalCol = goal % this.cols;
+        if (this.tunnelDistance == null) {
+            return;
+        }
+        this.goalTunnelDistance = Integer.MAX_VALUE / 2;
+        for (int end = 0; end < this.walls.getTunnelEndCount(); end++) {
+            int exit = this.walls.getTunnelExit(end);
+            int exitRow = exit / this.cols;
+            int distance = 1 + Math.abs(exitRow - this.goalRow) + Math.abs(exit - exitRow * this.cols - this.goalCol);
+            this.goalTunnelDistance = Math.min(this.goalTunnelDistance, distance);
+        }
+    }
+
+    /**
+     * Helper method that estimates how many steps a square is from the goal, never estimating more than it really is.
+     * @return the estimated number of steps
+     */
+    private int estimate(int square) {
+        int squareRow = square / this.cols;
+        int manhattan = Math.abs(squareRow - this.goalRow) + Math.abs(square - squareRow * this.cols - this.goalCol);
+        if (this.tunnelDistance == null) {
+            return manhattan;
+        }
+        return Math.min(manhattan, this.tunnelDistance[square] + this.goalTunnelDistance);
+    }
+
+    /**
+     * Helper method that starts a new generation of stamps, clearing them only when the generation number wraps
+     * around.
+     * @return the new generation number
+     */
+    private int nextGeneration() {
+        this.generation++;
+        if (this.generation == 0) {
+            Arrays.fill(this.stamps, 0);
+            this.generation = 1;
+        }
+        return this.generation;
+    }
+
+    /**
+     * Helper method that puts a square on the heap if this is the shortest way to it found so far in this search.
+     * Entries are ordered by estimated total length, and then by estimated distance left, so that of two equally good
+     * squares the one further along is expanded first.
+     * @return the new size of the heap
+     */
+    private int push(int size, int square, int length, int step, int stamp) {
+        if (this.stamps[square] == stamp && this.pathLength[square] <= length) {
+            return size;
+        }
+        this.stamps[square] = stamp;
+        this.pathLength[square] = length;
+        this.firstStep[square] = (byte) step;
+        if (size == this.heap.length) {
+            this.heap = Arrays.copyOf(this.heap, size * 2);
+        }
+        long remaining = this.estimate(square);
+        long entry = ((length + remaining) << (2 * FIELD_BITS)) | (remaining << FIELD_BITS) | square;
+        int index = size;
+        while (index > 0 && this.heap[(index - 1) / 2] > entry) {
+            this.heap[index] = this.heap[(index - 1) / 2];
+            index = (index - 1) / 2;
+        }
+        this.heap[index] = entry;
+        return size + 1;
+    }
+
+    /**
+     * Helper method that takes the smallest entry off of the heap.
+     * @return the new size of the heap
+     */
+    private int pop(int size) {
+        long last = this.heap[--size];
+        int index = 0;
+        while (index * 2 + 1 < size) {
+            int child = index * 2 + 1;
+            if (child + 1 < size && this.heap[child + 1] < this.heap[child]) {
+                child++;
+            }
+            if (this.heap[child] >= last) {
+                break;
+            }
+            this.heap[index] = this.heap[child];
+            index = child;
+        }
+        this.heap[index] = last;
+        return size;
+    }
+
+    /**
+     * Renumbers the parts of the maze after a square was opened or closed. The distances to the tunnel ends don't
+     * depend on the walls, so they stay as they are.
+     * @param row - the row of the square that changed
+     * @param col - the col of the square that changed
+     */
+    @Override
+    public void wallChanged(int row, int col) {
+        this.components.wallChanged(row, col);
+    }
+
+    /**
+     * Getter method that returns how many squares have been expanded over all searches so far, counting the searches
+     * handed to the BfsPathfinder.
+     * @return the number of squares expanded
+     */
+    @Override
+    public long getNodesExpanded() {
+        return this.nodesExpanded + this.fallback.getNodesExpanded();
+    }
+}
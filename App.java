@@ -4,6 +4,12 @@ import javafx.application.Application;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 
+import cs15.fnl.pacmanSupport.CS15SupportMap;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.List;
+
 /**
   * This is the App class where the Pacman game will start. The App class sets up the Scene where the main BorderPane
  * that displays the Pacman Game will be shown. An instance of the PaneOrganizer class is called in the start() method
@@ -13,12 +19,17 @@ import javafx.stage.Stage;
 public class App extends Application {
 
     @Override
-    public void start(Stage stage) {
+    public void start(Stage stage) throws IOException {
+        List<String> arguments = this.getParameters().getRaw();
+        MazeLayout layout = arguments.isEmpty() ? MazeLayout.fromSupportMap(CS15SupportMap.getSupportMap())
+                : MazeLoader.load(Paths.get(arguments.get(0)));
+
         // Create top-level object, set up the scene, and show the stage here.
-        PaneOrganizer organizer = new PaneOrganizer();
+        PaneOrganizer organizer = new PaneOrganizer(layout);
 
         //Creating the scene for the Cartoon
-        Scene scene = new Scene(organizer.getRoot(), Constants.SCENE_WIDTH, Constants.SCENE_HEIGHT);
+        Scene scene = new Scene(organizer.getRoot(), layout.getCols() * Constants.SQUARE_SIZE,
+                layout.getRows() * Constants.SQUARE_SIZE + Constants.SCORE_PANE_HEIGHT);
         stage.setScene(scene);
         stage.setTitle("PACMAN");
         stage.show();
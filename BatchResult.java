@@ -0,0 +1,102 @@
+package pacman;
+
+/**
+ * BatchResult class that adds up the outcome of a batch of games played by the BatchSimulator: how many games were
+ * played and won, and the total score and survival ticks. Results for separate batches can be merged, which is how the
+ * results from each thread are put together.
+ */
+public class BatchResult {
+
+    //instance variables
+    private final int games;
+    private final int wins;
+    private final long totalScore;
+    private final long totalSurvivalTicks;
+
+    /**
+     * BatchResult constructor
+     * @param games - number of games played
+     * @param wins - number of games won
+     * @param totalScore - score of all of the games added together
+     * @param totalSurvivalTicks - ticks survived in all of the games added together
+     */
+    public BatchResult(int games, int wins, long totalScore, long totalSurvivalTicks) {
+        this.games = games;
+        this.wins = wins;
+        this.totalScore = totalScore;
+        this.totalSurvivalTicks = totalSurvivalTicks;
+    }
+
+    /**
+     * Makes the result for one finished (or cut off) game.
+     * @param simulation - the game
+     * @return the result of that game
+     */
+    public static BatchResult of(Simulation simulation) {
+        return new BatchResult(1, simulation.isWon() ? 1 : 0, simulation.getScore(), simulation.getTickCount());
+    }
+
+    /**
+     * Adds another result to this one.
+     * @param other - the other result
+     * @return a new result for both batches together
+     */
+    public BatchResult merge(BatchResult other) {
+        return new BatchResult(this.games + other.games, this.wins + other.wins, this.totalScore + other.totalScore,
+                this.totalSurvivalTicks + other.totalSurvivalTicks);
+    }
+
+    /**
+     * Getter method that returns the number of games played.
+     * @return this.games - the number of games
+     */
+    public int getGames() {
+        return this.games;
+    }
+
+    /**
+     * Getter method that returns the number of games won.
+     * @return this.wins - the number of wins
+     */
+    public int getWins() {
+        return this.wins;
+    }
+
+    /**
+     * Getter method that returns the total number of ticks played over all of the games.
+     * @return this.totalSurvivalTicks - the total ticks
+     */
+    public long getTotalSurvivalTicks() {
+        return this.totalSurvivalTicks;
+    }
+
+    /**
+     * Getter method that returns the fraction of games won.
+     * @return the win rate, from 0 to 1
+     */
+    public double getWinRate() {
+        return this.games == 0 ? 0 : (double) this.wins / this.games;
+    }
+
+    /**
+     * Getter method that returns the average score per game.
+     * @return the average score
+     */
+    public double getAverageScore() {
+        return this.games == 0 ? 0 : (double) this.totalScore / this.games;
+    }
+
+    /**
+     * Getter method that returns the average number of ticks pacman survived per game.
+     * @return the average survival ticks
+     */
+    public double getAverageSurvivalTicks() {
+        return this.games == 0 ? 0 : (double) this.totalSurvivalTicks / this.games;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("games=%d winRate=%.4f avgScore=%.1f avgSurvivalTicks=%.1f", this.games,
+                this.getWinRate(), this.getAverageScore(), this.getAverageSurvivalTicks());
+    }
+}
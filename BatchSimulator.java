@@ -0,0 +1,180 @@
+package pacman;
+
+import cs15.fnl.pacmanSupport.CS15SquareType;
+import cs15.fnl.pacmanSupport.CS15SupportMap;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.LongFunction;
+
+/**
+ * BatchSimulator class that plays many independent headless games at once and adds up how they went, so changes to
+ * the ghost tuning in a SimulationConfig can be judged over thousands of games instead of a few played by hand.
+ *
+ * Each game gets its own Simulation and its own PacmanPolicy, both seeded from a per-game seed, so games never share
+ * mutable state (not even a random number generator) and a batch with the same seed always has the same result. The
+ * only things games share are read-only: the maze, the config and (if the config uses one) an eagerly built
+ * NextHopTable. Games are split into ranges on a ForkJoinPool, with each range played on one thread and the
+ * BatchResults merged on the way back up, so the batch scales with the number of cores.
+ *
+ * It needs no JavaFX, so it can be run on its own:
+ *
+ *     java pacman.BatchSimulator [games] [threads] [seed] [mazeFile]
+ */
+public class BatchSimulator {
+
+    private static final int GAMES_PER_TASK = 16;
+    private static final int DEFAULT_GAMES = 10_000;
+    private static final int DEFAULT_MAX_TICKS = 10_000;
+    private static final long SEED_STEP = 0x9E3779B97F4A7C15L;
+
+    //instance variables
+    private final MazeLayout layout;
+    private final SimulationConfig config;
+    private final LongFunction<PacmanPolicy> policies;
+    private final int maxTicks;
+
+    /**
+     * BatchSimulator constructor for a support map.
+     * @param supportMap - the map every game is played on, which is never written to
+     * @param config - the tuning values every game is played with
+     * @param policies - makes the PacmanPolicy for a game from that game's seed
+     * @param maxTicks - the most ticks a game is played for before it is cut off
+     */
+    public BatchSimulator(CS15SquareType[][] supportMap, SimulationConfig config, LongFunction<PacmanPolicy> policies,
+                          int maxTicks) {
+        this(MazeLayout.fromSupportMap(supportMap), config, policies, maxTicks);
+    }
+
+    /**
+     * BatchSimulator constructor. The batch plays with its own copy of the config, so changing the config afterwards
+     * does not change the batch. If the config uses a NextHopTable but does not share one yet, one is built here and
+     * shared through the copy so that every game does not build its own. A TickMetrics can't be shared between games
+     * on different threads, so a config with one is turned away.
+     * @param layout - the maze every game is played on
+     * @param config - the tuning values every game is played with, which are copied
+     * @param policies - makes the PacmanPolicy for a game from that game's seed
+     * @param maxTicks - the most ticks a game is played for before it is cut off
+     */
+    public BatchSimulator(MazeLayout layout, SimulationConfig config, LongFunction<PacmanPolicy> policies,
+                          int maxTicks) {
+        if (config.getMetrics() != null) {
+            throw new IllegalArgumentException("A batch can't report to a TickMetrics, since its games run on several"
+                    + " threads at once");
+        }
+        this.layout = layout;
+        this.config = config.copy();
+        this.policies = policies;
+        this.maxTicks = maxTicks;
+        WallGrid walls = WallGrid.fromLayout(layout);
+        if (config.getPathfinderType() == PathfinderType.TABLE && config.getSharedNextHopTable() == null
+                && !config.hasDoors() && NextHopTable.countOpenSquares(walls) <= config.getNextHopTableMaxSquares()) {
+            this.config.setSharedNextHopTable(new NextHopTable(walls, false));
+        }
+    }
+
+    /**
+     * Plays a batch of games in parallel.
+     * @param games - the number of games to play
+     * @param seed - the seed the per-game seeds are made from
+     * @param parallelism - the number of threads to play on
+     * @return the combined result of every game
+     */
+    public BatchResult run(int games, long seed, int parallelism) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.invoke(new GameRangeTask(seed, 0, games));
+        }
+        finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Plays one game until it is over or it reaches maxTicks. The Simulation and the policy get different seeds made
+     * from the game's seed, so the same game seed always plays the same game.
+     * @param gameSeed - the seed for this game
+     * @return the result of the game
+     */
+    public BatchResult play(long gameSeed) {
+        Simulation simulation = new Simulation(this.layout, this.config, gameSeed);
+        PacmanPolicy policy = this.policies.apply(~gameSeed);
+        while (!simulation.isGameOver() && simulation.getTickCount() < this.maxTicks) {
+            simulation.step(policy.chooseDirection(simulation));
+        }
+        return BatchResult.of(simulation);
+    }
+
+    /**
+     * Helper method that makes the seed for one game of a batch, so every game gets a different, repeatable seed.
+     * @param seed - the seed of the batch
+     * @param game - the index of the game in the batch
+     * @return the seed for that game
+     */
+    private static long gameSeed(long seed, int game) {
+        return seed + game * SEED_STEP;
+    }
+
+    /**
+     * GameRangeTask class that plays the games with indexes from start up to (not including) end. Ranges bigger than
+     * GAMES_PER_TASK are split in half so that idle threads can steal the other half.
+     */
+    @SuppressWarnings("serial")
+    private class GameRangeTask extends RecursiveTask<BatchResult> {
+
+        //instance variables
+        private final long seed;
+        private final int start;
+        private final int end;
+
+        /**
+         * GameRangeTask constructor
+         * @param seed - the seed of the batch
+         * @param start - index of the first game
+         * @param end - index after the last game
+         */
+        GameRangeTask(long seed, int start, int end) {
+            this.seed = seed;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected BatchResult compute() {
+            if (this.end - this.start <= GAMES_PER_TASK) {
+                BatchResult result = new BatchResult(0, 0, 0, 0);
+                for (int game = this.start; game < this.end; game++) {
+                    result = result.merge(BatchSimulator.this.play(gameSeed(this.seed, game)));
+                }
+                return result;
+            }
+            int middle = (this.start + this.end) >>> 1;
+            GameRangeTask left = new GameRangeTask(this.seed, this.start, middle);
+            left.fork();
+            BatchResult right = new GameRangeTask(this.seed, middle, this.end).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    /**
+     * Here is the mainline! Plays a batch of games on the support map (or on a maze file, see MazeLoader) with random
+     * policies and prints the result.
+     */
+    public static void main(String[] argv) throws IOException {
+        int games = argv.length > 0 ? Integer.parseInt(argv[0]) : DEFAULT_GAMES;
+        int threads = argv.length > 1 ? Integer.parseInt(argv[1]) : Runtime.getRuntime().availableProcessors();
+        long seed = argv.length > 2 ? Long.parseLong(argv[2]) : 0;
+        MazeLayout layout = argv.length > 3 ? MazeLoader.load(Paths.get(argv[3]))
+                : MazeLayout.fromSupportMap(CS15SupportMap.getSupportMap());
+        BatchSimulator simulator = new BatchSimulator(layout, new SimulationConfig(), RandomPolicy::new,
+                DEFAULT_MAX_TICKS);
+        long start = System.nanoTime();
+        BatchResult result = simulator.run(games, seed, threads);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.println(result);
+        System.out.printf("%d threads: %.0f games/s, %.0f ticks/s%n", threads, games / seconds,
+                result.getTotalSurvivalTicks() / seconds);
+    }
+}
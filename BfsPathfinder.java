@@ -0,0 +1,143 @@
+package pacman;
+
+import java.util.Arrays;
+
+/**
+ * BfsPathfinder class that runs the breadth-first search the ghosts use to pick their next direction. One
+ * BfsPathfinder is made per Simulation and reused for every ghost on every tick, so all of its memory is allocated once
+ * in the constructor:
+ *
+ * - the Queue is an int[] of square indexes (row * cols + col) with a head and a tail, since a BFS visits every square
+ *   at most once.
+ * - the visited marks are an int[] of "generation" stamps. Every search uses a new generation number, so a square has
+ *   been visited in this search only if its stamp equals the current generation, and nothing needs to be cleared
+ *   between searches.
+ * - the initial direction of each visited square is kept in a byte[] (the Direction ordinal), the same idea as the 2D
+ *   Direction array from the README.
+ *
+ * The search expands the whole reachable maze level by level and returns the first step toward the reachable square
+ * closest to the target, so a target inside a wall or off of the board still gets a sensible answer.
+ */
+public class BfsPathfinder implements Pathfinder {
+
+    //the order in which neighbors are checked, which also decides ties between equally good squares
+    static final Direction[] SEARCH_ORDER = {Direction.DOWN, Direction.UP, Direction.RIGHT, Direction.LEFT};
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    //instance variables
+    private final WallGrid walls;
+    private final int cols;
+    private final int[] queue;
+    private final int[] visited;
+    private final byte[] firstStep;
+    private int generation;
+    private long nodesExpanded;
+
+    /**
+     * BfsPathfinder constructor
+     * @param walls - the walls of the maze that is being searched
+     */
+    public BfsPathfinder(WallGrid walls) {
+        this.walls = walls;
+        this.cols = walls.getCols();
+        this.queue = new int[walls.getSize()];
+        this.visited = new int[walls.getSize()];
+        this.firstStep = new byte[walls.getSize()];
+        this.generation = 0;
+    }
+
+    /**
+     * Finds the direction a ghost should move in to get closest to a target. A ghost can't turn around, so the
+     * direction opposite of its heading is only used if there is no other way out of its square (a dead end).
+     * @param row - the row the ghost is on
+     * @param col - the col the ghost is on
+     * @param heading - the direction the ghost is currently moving in
+     * @param targetRow - the row of the target, which may be off of the board
+     * @param targetCol - the col of the target, which may be off of the board
+     * @return the direction that will take the ghost toward the target, or null if the ghost can't move at all
+     */
+    @Override
+    public Direction nextDirection(int row, int col, Direction heading, int targetRow, int targetCol) {
+        int stamp = this.nextGeneration();
+        int start = row * this.cols + col;
+        this.visited[start] = stamp;
+        int head = 0;
+        int tail = 0;
+        Direction opposite = heading.opposite();
+        int target = BoardCoordinate.pack(targetRow, targetCol);
+
+        //enqueue the squares one step away, remembering which direction reached them
+        for (Direction direction : SEARCH_ORDER) {
+            int neighbor = this.walls.neighbor(row, col, direction);
+            if (direction != opposite && neighbor >= 0 && this.visited[neighbor] != stamp) {
+                this.visited[neighbor] = stamp;
+                this.firstStep[neighbor] = (byte) direction.ordinal();
+                this.queue[tail++] = neighbor;
+            }
+        }
+        //dead end, so the ghost has to turn around
+        if (tail == 0) {
+            return this.walls.neighbor(row, col, opposite) >= 0 ? opposite : null;
+        }
+
+        int best = this.queue[0];
+        long bestDistance = Long.MAX_VALUE;
+        while (head < tail) {
+            int square = this.queue[head++];
+            int squareRow = square / this.cols;
+            int squareCol = square - squareRow * this.cols;
+            this.nodesExpanded++;
+            //squaring keeps the math in integers and gives the same closest square as the real distance would
+            long distance = BoardCoordinate.distanceSquared(BoardCoordinate.pack(squareRow, squareCol), target);
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = square;
+                if (distance == 0) {
+                    break;
+                }
+            }
+            //expand the frontier, passing on the direction of the first step
+            for (Direction direction : SEARCH_ORDER) {
+                int neighbor = this.walls.neighbor(squareRow, squareCol, direction);
+                if (neighbor >= 0 && this.visited[neighbor] != stamp) {
+                    this.visited[neighbor] = stamp;
+                    this.firstStep[neighbor] = this.firstStep[square];
+                    this.queue[tail++] = neighbor;
+                }
+            }
+        }
+        return DIRECTIONS[this.firstStep[best]];
+    }
+
+    /**
+     * Helper method that starts a new generation of visited marks. The marks only have to be cleared when the
+     * generation number wraps around, which is once every four billion searches.
+     * @return the stamp for the new search
+     */
+    private int nextGeneration() {
+        this.generation++;
+        if (this.generation == 0) {
+            Arrays.fill(this.visited, 0);
+            this.generation = 1;
+        }
+        return this.generation;
+    }
+
+    /**
+     * Does nothing, since a BFS reads the walls fresh on every search and keeps nothing between searches.
+     * @param row - the row of the square that changed
+     * @param col - the col of the square that changed
+     */
+    @Override
+    public void wallChanged(int row, int col) {
+    }
+
+    /**
+     * Getter method that returns how many squares have been expanded over all searches so far.
+     * @return this.nodesExpanded - the number of squares expanded
+     */
+    @Override
+    public long getNodesExpanded() {
+        return this.nodesExpanded;
+    }
+}
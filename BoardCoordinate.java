@@ -3,8 +3,8 @@ package pacman;
 /**
  * This class is an immutable representation of some coordinate within the
  * Pacman board world. As the board consists of square blocks arranged in a
- * 23x23 grid, all elements/blocks in the game must exist within this coordinate
- * space. *However*, when creating targets in Chase mode, the target may be out
+ * grid of at most Constants.MAX_MAZE_DIMENSION squares on each side, all elements/blocks in the game must exist within
+ * this coordinate space. *However*, when creating targets in Chase mode, the target may be out
  * of the bounds of the board -- that is okay for this scenario only. Therefore,
  * you can explicitly override the bounds-checking functionality by setting
  * isTarget to true in the constructor's third parameter.
@@ -16,13 +16,18 @@ package pacman;
  * exceptions being thrown in mysterious ways. Second, by naming the dimensions
  * "row" and "column" rather than X and Y, the hope is to make clearer the
  * "true" location of each coordinate location.
+ *
+ * Code that runs every tick should not make BoardCoordinates at all. A coordinate can instead be packed into one
+ * int, with the row in the high 16 bits and the col in the low 16 bits (both signed, so targets a few squares off of
+ * the board still fit), and the static methods below pack, unpack and measure distances between packed coordinates
+ * without allocating.
  */
 public class BoardCoordinate {
 
     private final int row;
     private final int column;
-    private static final int ROW_MAX = 22;
-    private static final int COL_MAX = 22;
+    private static final int ROW_MAX = Constants.MAX_MAZE_DIMENSION - 1;
+    private static final int COL_MAX = Constants.MAX_MAZE_DIMENSION - 1;
 
     /**
      * The constructor. it takes in a row and a column whose location this
@@ -37,6 +42,48 @@ public class BoardCoordinate {
         this.column = column;
     }
 
+    /**
+     * Packs a row and a col into one int. Both have to fit in a short, which anything within a few boards of the
+     * largest maze does.
+     * @param row - the row, which may be off of the board
+     * @param column - the col, which may be off of the board
+     * @return the packed coordinate
+     */
+    public static int pack(int row, int column) {
+        return (row << 16) | (column & 0xFFFF);
+    }
+
+    /**
+     * Gets the row out of a packed coordinate.
+     * @param packed - the packed coordinate
+     * @return the row
+     */
+    public static int row(int packed) {
+        return packed >> 16;
+    }
+
+    /**
+     * Gets the col out of a packed coordinate.
+     * @param packed - the packed coordinate
+     * @return the col
+     */
+    public static int column(int packed) {
+        return (short) packed;
+    }
+
+    /**
+     * Works out the straight-line distance between two packed coordinates, squared so it stays a whole number. This is
+     * the distance that ghosts use to pick the square closest to a target they can't reach.
+     * @param a - one packed coordinate
+     * @param b - the other packed coordinate
+     * @return the squared distance
+     */
+    public static long distanceSquared(int a, int b) {
+        long rowDistance = row(b) - row(a);
+        long colDistance = column(b) - column(a);
+        return rowDistance * rowDistance + colDistance * colDistance;
+    }
+
     /**
      * Returns the row index that this BoardCoordinate represents.
      */
@@ -0,0 +1,151 @@
+package pacman;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+
+/**
+ * CanvasRenderer class that draws the whole game with three stacked Canvas nodes instead of one node per maze square,
+ * pellet and sprite, so the number of nodes JavaFX has to lay out and pulse every frame stays at three however big the
+ * maze is:
+ *
+ * - the bottom Canvas holds the walls and free squares. It is drawn in the constructor and then left alone, unless a
+ *   door opens or closes, which the version of the game's WallGrid gives away. Then only the squares that differ from
+ *   the renderer's copy of the walls it drew are repainted.
+ * - the middle Canvas is a PelletLayer, which only repaints the squares whose dots or energizers changed.
+ * - the top Canvas holds pacman and the ghosts. Each frame only the squares the sprites were drawn on last frame are
+ *   cleared before the sprites are drawn again.
+ */
+public class CanvasRenderer implements Renderer {
+
+    //how far past its square a sprite is cleared, to catch the anti-aliased edges of the shape
+    private static final int SPRITE_MARGIN = 1;
+
+    //instance variables
+    private Canvas board;
+    private PelletLayer pelletLayer;
+    private Canvas spriteCanvas;
+    private GraphicsContext sprites;
+    private Color[] ghostColors;
+    private Color frightenedColor;
+    private double[] lastSpriteX;
+    private double[] lastSpriteY;
+    private boolean spritesDrawn;
+    private WallGrid drawnWalls;
+
+    /**
+     * CanvasRenderer constructor
+     * @param gamePane - the gamePane that the Canvases are added to
+     * @param simulation - the Simulation that is going to be drawn, which the walls and ghosts are read from
+     */
+    public CanvasRenderer(Pane gamePane, Simulation simulation) {
+        int width = simulation.getCols() * Constants.SQUARE_SIZE;
+        int height = simulation.getRows() * Constants.SQUARE_SIZE;
+        this.board = new Canvas(width, height);
+        this.drawnWalls = simulation.getWallGrid().copy();
+        this.drawBoard();
+        gamePane.getChildren().add(this.board);
+        this.pelletLayer = new PelletLayer(gamePane, simulation.getRows(), simulation.getCols());
+        this.spriteCanvas = new Canvas(width, height);
+        this.sprites = this.spriteCanvas.getGraphicsContext2D();
+        gamePane.getChildren().add(this.spriteCanvas);
+        this.ghostColors = new Color[] {
+            Constants.INKY_COLOR, //sky blue
+            Constants.CLYDE_COLOR, //orange
+            Constants.PINKY_COLOR, //lavender
+            Constants.BLINKY_COLOR //red
+        };
+        //slot 0 is pacman, the rest are the ghosts
+        this.lastSpriteX = new double[simulation.getGhostCount() + 1];
+        this.lastSpriteY = new double[simulation.getGhostCount() + 1];
+        this.spritesDrawn = false;
+    }
+
+    /**
+     * Helper method that draws every wall and free square onto the bottom Canvas, which is only done once.
+     */
+    private void drawBoard() {
+        for (int square = 0; square < this.drawnWalls.getSize(); square++) {
+            this.drawSquare(square);
+        }
+    }
+
+    /**
+     * Helper method that repaints only the squares of the bottom Canvas that opened or closed since they were drawn,
+     * and brings the copy of the drawn walls up to date.
+     * @param walls - the walls of the maze as they are now
+     */
+    private void redrawDoors(WallGrid walls) {
+        for (int square = walls.nextDifference(this.drawnWalls, 0); square >= 0;
+                square = walls.nextDifference(this.drawnWalls, square + 1)) {
+            this.drawnWalls.setWall(square / walls.getCols(), square % walls.getCols(), walls.isWall(square));
+            this.drawSquare(square);
+        }
+        this.drawnWalls.copyFrom(walls);
+    }
+
+    /**
+     * Helper method that draws one square of the bottom Canvas as a wall or a free square.
+     * @param square - the index (row * cols + col) of the square
+     */
+    private void drawSquare(int square) {
+        GraphicsContext graphics = this.board.getGraphicsContext2D();
+        int cols = this.drawnWalls.getCols();
+        graphics.setFill(this.drawnWalls.isWall(square) ? Color.NAVY : Color.BLACK);
+        graphics.fillRect(square % cols * Constants.SQUARE_SIZE, square / cols * Constants.SQUARE_SIZE,
+                Constants.SQUARE_SIZE, Constants.SQUARE_SIZE);
+    }
+
+    /**
+     * Repaints the squares of the board where a door opened or closed and the squares whose pellets changed, then
+     * erases pacman and the ghosts from where they were last frame and draws them part of the way from their square
+     * before the last tick to their current square.
+     * @param view - the Simulation or SimulationSnapshot that is being drawn
+     * @param alpha - how far to draw the sprites between their previous and current squares, from 0 to 1
+     */
+    @Override
+    public void render(GameView view, double alpha) {
+        if (view.getWallGrid().getVersion() != this.drawnWalls.getVersion()) {
+            this.redrawDoors(view.getWallGrid());
+        }
+        this.pelletLayer.redraw(view.getPelletStore());
+        if (this.spritesDrawn) {
+            for (int i = 0; i < this.lastSpriteX.length; i++) {
+                this.sprites.clearRect(this.lastSpriteX[i] - SPRITE_MARGIN, this.lastSpriteY[i] - SPRITE_MARGIN,
+                        Constants.SQUARE_SIZE + SPRITE_MARGIN * 2, Constants.SQUARE_SIZE + SPRITE_MARGIN * 2);
+            }
+        }
+        for (int ghost = 0; ghost < view.getGhostCount(); ghost++) {
+            double x = Renderer.interpolate(view.getPreviousGhostCol(ghost), view.getGhostCol(ghost), alpha);
+            double y = Renderer.interpolate(view.getPreviousGhostRow(ghost), view.getGhostRow(ghost), alpha);
+            //with more than four ghosts, each one takes the color of the part it plays
+            this.sprites.setFill(this.frightenedColor != null ? this.frightenedColor
+                    : this.ghostColors[ghost % this.ghostColors.length]);
+            this.sprites.fillRect(x, y, Constants.SQUARE_SIZE, Constants.SQUARE_SIZE);
+            this.lastSpriteX[ghost + 1] = x;
+            this.lastSpriteY[ghost + 1] = y;
+        }
+        //pacman is drawn last so that it is in front of the ghosts, like the pacman node is
+        double x = Renderer.interpolate(view.getPreviousPacmanCol(), view.getPacmanCol(), alpha);
+        double y = Renderer.interpolate(view.getPreviousPacmanRow(), view.getPacmanRow(), alpha);
+        this.sprites.setFill(Color.YELLOW);
+        this.sprites.fillOval(x + Constants.DOT_OFFSET - Constants.PACMAN_RADIUS,
+                y + Constants.DOT_OFFSET - Constants.PACMAN_RADIUS, Constants.PACMAN_RADIUS * 2,
+                Constants.PACMAN_RADIUS * 2);
+        this.lastSpriteX[0] = x;
+        this.lastSpriteY[0] = y;
+        this.spritesDrawn = true;
+    }
+
+    /**
+     * GhostModeListener method that picks the color every ghost is drawn in while they are frightened.
+     * @param previous - the mode before the change
+     * @param current - the mode after the change
+     * @param flashing - true if frightened mode is about to end
+     */
+    @Override
+    public void ghostModeChanged(GhostBehavior previous, GhostBehavior current, boolean flashing) {
+        this.frightenedColor = Renderer.frightenedColor(current, flashing);
+    }
+}
@@ -7,15 +7,9 @@ import javafx.scene.paint.Color;
  */
 public class Constants {
 
-    //Scene
-    public final static int SCENE_WIDTH = 575;
-    public final static int SCENE_HEIGHT = 635;
-    public final static int MAZE_DIMENSION = 23;
-
     //Panes
     public final static int SCORE_PANE_HEIGHT = 60;
     public final static int SCORE_PANE_SPACING = 100;
-    public final static int GAME_PANE_HEIGHT = SCENE_HEIGHT - SCORE_PANE_HEIGHT;
 
     //Colors
     public final static String BACKGROUND_COLOR = "-fx-background-color: #000080";
@@ -28,6 +22,12 @@ public class Constants {
 
 
 
+    //Replay
+    public final static String INPUT_LOG_FILE = "pacman-input.log";
+
+    //Rendering
+    public final static boolean USE_CANVAS_RENDERER = true;
+
     //Shapes
     public final static int SQUARE_SIZE = 25;
     public final static int PACMAN_RADIUS = SQUARE_SIZE / 2;
@@ -51,41 +51,51 @@ public class Constants {
     public final static int GHOST_SCORE = 200;
 
     //Counters
-    public final static int GAME_OVER_COUNTER = 186;
     public final static int LIVES_COUNTER = 3;
-
-    //Starting Locations
-    public final static int PACMAN_START_X = 287;
-    public final static int PACMAN_START_Y = 437;
-
-    public final static int BLINKY_START_X = 11 * Constants.SQUARE_SIZE;
-    public final static int BLINKY_START_Y = 8 * Constants.SQUARE_SIZE;
-
-    public final static int INKY_START_X = 11 * Constants.SQUARE_SIZE;
-    public final static int INKY_START_Y = 10 * Constants.SQUARE_SIZE;
-
-    public final static int CLYDE_START_X = 12 * Constants.SQUARE_SIZE;
-    public final static int CLYDE_START_Y = 10 * Constants.SQUARE_SIZE;
-
-    public final static int PINKY_START_X = 10 * Constants.SQUARE_SIZE;
-    public final static int PINKY_START_Y = 10 * Constants.SQUARE_SIZE;
+    public final static int GHOST_PEN_RELEASE_TIME = 20;
+    public final static int GHOST_COUNT = 4;
+    public final static int TURN_BUFFER_TICKS = 3;
+    public final static int INPUT_QUEUE_CAPACITY = 64;
 
     //Scatter & Chase Durations/Offsets
     public final static double TIMELINE_DURATION = 0.2;
-    public final static int CHASE_TIME = 100;
-    public final static int SCATTER_TIME = 35;
-    public final static int FRIGHTENED_CHANGE_COLOR_TIME = 28;
-    public final static int FRIGHTENED_TIME = 35;
-    public final static double TIME_COUNTER_INCREMENT = 0.25;
-    public final static BoardCoordinate INKY_SCATTER_COORD = new BoardCoordinate(21, 21, true);
-    public final static BoardCoordinate CLYDE_SCATTER_COORD = new BoardCoordinate(21, 1, true);
-    public final static BoardCoordinate PINKY_SCATTER_COORD = new BoardCoordinate(1, 1, true);
-    public final static BoardCoordinate BLINKY_SCATTER_COORD = new BoardCoordinate(1, 21, true);
+    public final static double TICKS_PER_SECOND = 1 / TIMELINE_DURATION;
+    public final static int MAX_CATCH_UP_TICKS = 5;
+    public final static boolean USE_SIMULATION_THREAD = false;
+    public final static int CHASE_TICKS = 400;
+    public final static int SCATTER_TICKS = 140;
+    public final static int FRIGHTENED_TICKS = 36;
+    public final static int FRIGHTENED_FLASH_TICKS = 8;
+    public final static int TIMER_WHEEL_SLOTS = 64;
     public final static int INKY_CHASE_OFFSET = 2;
     public final static int CLYDE_CHASE_OFFSET = 4;
     public final static int PINKY_CHASE_OFFSET_X = 3;
     public final static int PINKY_CHASE_OFFSET_Y = 1;
 
+    //Pathfinding
+    public final static PathfinderType PATHFINDER = PathfinderType.TABLE;
+    public final static boolean NEXT_HOP_TABLE_LAZY = true;
+    public final static int NEXT_HOP_TABLE_MAX_SQUARES = 2048;
+    public final static boolean USE_FLOW_FIELDS = false;
+    public final static boolean USE_JUNCTION_GRAPH = false;
+    public final static int PATH_CACHE_CAPACITY = 4096;
+    public final static int HIERARCHICAL_CLUSTER_SIZE = 16;
+
+    //Doors
+    public final static boolean PEN_GATE_DOOR = false;
+    public final static int DOOR_TOGGLE_TICKS = 0;
+
+    //Mazes
+    public final static int MAX_MAZE_DIMENSION = 1024;
+    public final static int MAZE_MMAP_THRESHOLD = 1 << 18;
+    public final static double GENERATOR_EXTRA_LOOP_CHANCE = 0.1;
+    public final static int GENERATOR_ROWS_PER_TUNNEL = 24;
+    public final static int GENERATOR_SQUARES_PER_ENERGIZER = 400;
+
+    //Metrics
+    public final static String METRICS_EXPORTER = "none"; //"log", "jmx" or "none"
+    public final static int METRICS_EXPORT_TICKS = 150;
+
 
 
 
@@ -0,0 +1,219 @@
+package pacman;
+
+import java.util.Arrays;
+
+/**
+ * DistanceRepair class that fixes a field of distances to one target square after a single square of the maze is
+ * opened or closed, instead of throwing the field away and flooding the whole maze again. It only ever touches the
+ * squares whose distance actually changes (and their neighbors), which for a door is usually a handful of squares:
+ *
+ * - opening a square gives it one more than its closest neighbor's distance, and then carries the shorter distances
+ *   outward with a BFS that stops at every square that was already at least as close.
+ * - closing a square first finds the squares that only got their distance through it, level by level outward: a
+ *   square is cut off if none of its neighbors one step closer to the target is still good. Those squares are given
+ *   the best distance their good neighbors offer, and the new distances are carried through them in order, merging
+ *   the sorted starting distances with a BFS queue like a Dijkstra search with all edges of length 1.
+ *
+ * The fields themselves are kept by the FlowField and the NextHopTable in their own layouts, so a DistanceRepair
+ * reads and writes them through the small Field interface. All of its memory is allocated in the constructor, so one
+ * DistanceRepair can be reused for any number of fields on the same maze. The squares whose distance changed in the
+ * last repair can be read back afterwards, which is what the NextHopTable uses to only pick new next hops around them.
+ */
+public class DistanceRepair {
+
+    public static final int UNREACHABLE = -1;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    //instance variables
+    private final WallGrid walls;
+    private final int cols;
+    private final int[] changed;
+    private final int[] levels;
+    private final int[] queue;
+    private final long[] seeds;
+    private int changedCount;
+
+    /**
+     * Field interface for a distance to one target per square, which is UNREACHABLE for walls and for squares that
+     * can't reach the target.
+     */
+    public interface Field {
+
+        /**
+         * Getter method that returns the distance of a square to the target.
+         * @param square - the index of the square (row * cols + col)
+         * @return the number of steps, or UNREACHABLE
+         */
+        int getDistance(int square);
+
+        /**
+         * Setter method that sets the distance of a square to the target.
+         * @param square - the index of the square (row * cols + col)
+         * @param distance - the number of steps, or UNREACHABLE
+         */
+        void setDistance(int square, int distance);
+    }
+
+    /**
+     * DistanceRepair constructor
+     * @param walls - the walls of the maze, which are read after the square has already been opened or closed
+     */
+    public DistanceRepair(WallGrid walls) {
+        this.walls = walls;
+        this.cols = walls.getCols();
+        this.changed = new int[walls.getSize()];
+        this.levels = new int[walls.getSize()];
+        this.queue = new int[walls.getSize()];
+        this.seeds = new long[walls.getSize()];
+    }
+
+    /**
+     * Fixes a field after a square was opened.
+     * @param field - the field, which still holds the distances from before the square was opened
+     * @param square - the index of the square that was opened
+     */
+    public void opened(Field field, int square) {
+        this.changedCount = 0;
+        int best = this.bestThroughNeighbors(field, square);
+        //the square is opened somewhere that can't reach the target, which changes nothing else
+        if (best == UNREACHABLE) {
+            return;
+        }
+        field.setDistance(square, best);
+        this.changed[this.changedCount++] = square;
+        int head = 0;
+        while (head < this.changedCount) {
+            int current = this.changed[head++];
+            int distance = field.getDistance(current) + 1;
+            for (Direction direction : DIRECTIONS) {
+                int neighbor = this.walls.neighbor(current / this.cols, current % this.cols, direction);
+                if (neighbor >= 0 && (field.getDistance(neighbor) == UNREACHABLE
+                        || field.getDistance(neighbor) > distance)) {
+                    field.setDistance(neighbor, distance);
+                    this.changed[this.changedCount++] = neighbor;
+                }
+            }
+        }
+    }
+
+    /**
+     * Fixes a field after a square was closed. The square must not be the target itself, since then every distance
+     * is gone.
+     * @param field - the field, which still holds the distances from before the square was closed
+     * @param square - the index of the square that was closed
+     */
+    public void closed(Field field, int square) {
+        this.changedCount = 0;
+        int oldDistance = field.getDistance(square);
+        if (oldDistance == UNREACHABLE) {
+            return;
+        }
+        field.setDistance(square, UNREACHABLE);
+        this.changed[this.changedCount] = square;
+        this.levels[this.changedCount++] = oldDistance;
+
+        //find every square that only got its distance through a cut off square, one level further out at a time
+        int head = 0;
+        while (head < this.changedCount) {
+            int current = this.changed[head];
+            int next = this.levels[head++] + 1;
+            for (Direction direction : DIRECTIONS) {
+                int neighbor = this.walls.neighbor(current / this.cols, current % this.cols, direction);
+                if (neighbor >= 0 && field.getDistance(neighbor) == next && !this.hasNeighborAt(field, neighbor,
+                        next - 1)) {
+                    field.setDistance(neighbor, UNREACHABLE);
+                    this.changed[this.changedCount] = neighbor;
+                    this.levels[this.changedCount++] = next;
+                }
+            }
+        }
+
+        //start each cut off square at the best distance its good neighbors offer, closest first
+        int seedCount = 0;
+        for (int i = 1; i < this.changedCount; i++) {
+            int best = this.bestThroughNeighbors(field, this.changed[i]);
+            if (best != UNREACHABLE) {
+                field.setDistance(this.changed[i], best);
+                this.seeds[seedCount++] = ((long) best << 32) | this.changed[i];
+            }
+        }
+        Arrays.sort(this.seeds, 0, seedCount);
+
+        //carry the distances through the cut off squares, taking whichever of the next seed and the queue is closer
+        int seed = 0;
+        head = 0;
+        int tail = 0;
+        while (seed < seedCount || head < tail) {
+            int current;
+            int distance;
+            if (head == tail || (seed < seedCount && (int) (this.seeds[seed] >>> 32) <= this.levels[head])) {
+                current = (int) this.seeds[seed];
+                distance = (int) (this.seeds[seed++] >>> 32);
+            }
+            else {
+                current = this.queue[head];
+                distance = this.levels[head++];
+            }
+            //a shorter way to this square was found after it was queued
+            if (field.getDistance(current) != distance) {
+                continue;
+            }
+            for (Direction direction : DIRECTIONS) {
+                int neighbor = this.walls.neighbor(current / this.cols, current % this.cols, direction);
+                if (neighbor >= 0 && (field.getDistance(neighbor) == UNREACHABLE
+                        || field.getDistance(neighbor) > distance + 1)) {
+                    field.setDistance(neighbor, distance + 1);
+                    this.queue[tail] = neighbor;
+                    this.levels[tail++] = distance + 1;
+                }
+            }
+        }
+    }
+
+    /**
+     * Helper method that works out the distance a square would have through its closest open neighbor.
+     * @return one more than the closest neighbor's distance, or UNREACHABLE if no neighbor can reach the target
+     */
+    private int bestThroughNeighbors(Field field, int square) {
+        int best = UNREACHABLE;
+        for (Direction direction : DIRECTIONS) {
+            int neighbor = this.walls.neighbor(square / this.cols, square % this.cols, direction);
+            if (neighbor >= 0 && field.getDistance(neighbor) != UNREACHABLE
+                    && (best == UNREACHABLE || field.getDistance(neighbor) + 1 < best)) {
+                best = field.getDistance(neighbor) + 1;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Helper method that checks to see if a square has an open neighbor at a certain distance from the target.
+     * @return true if it does
+     */
+    private boolean hasNeighborAt(Field field, int square, int distance) {
+        for (Direction direction : DIRECTIONS) {
+            int neighbor = this.walls.neighbor(square / this.cols, square % this.cols, direction);
+            if (neighbor >= 0 && field.getDistance(neighbor) == distance) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Getter method that returns how many squares got a new distance in the last repair, counting a closed square.
+     * @return this.changedCount - the number of squares
+     */
+    public int getChangedCount() {
+        return this.changedCount;
+    }
+
+    /**
+     * Getter method that returns one of the squares that got a new distance in the last repair.
+     * @param i - which of the squares, from 0 to getChangedCount() - 1
+     * @return the index of the square
+     */
+    public int getChanged(int i) {
+        return this.changed[i];
+    }
+}
@@ -0,0 +1,95 @@
+package pacman;
+
+/**
+ * FixedStepClock class that decides how many Simulation ticks to run for each rendered frame. Frames can come at any
+ * rate (60 or more per second on a fast display, fewer if the JavaFX Application Thread stalls), but the game should
+ * always run the same number of ticks per second, so the clock keeps an accumulator of frame time and pays it out one
+ * fixed-length tick at a time. Whatever is left over is the fraction of the way to the next tick, which the renderer
+ * uses to draw pacman and the ghosts part of the way between squares.
+ *
+ * After a long stall the clock runs at most maxCatchUpTicks ticks in one frame and drops the rest of the backlog, so a
+ * slow frame can never snowball into even slower frames.
+ */
+public class FixedStepClock {
+
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    //instance variables
+    private final long tickNanos;
+    private final int maxCatchUpTicks;
+    private long accumulator;
+    private long lastTime;
+    private boolean started;
+
+    /**
+     * FixedStepClock constructor
+     * @param ticksPerSecond - how many ticks the game runs per second
+     * @param maxCatchUpTicks - the most ticks that will be run for one frame
+     */
+    public FixedStepClock(double ticksPerSecond, int maxCatchUpTicks) {
+        if (ticksPerSecond <= 0 || maxCatchUpTicks < 1) {
+            throw new IllegalArgumentException("FixedStepClock needs a positive tick rate and catch-up limit: "
+                    + " Given ticksPerSecond = " + ticksPerSecond + " maxCatchUpTicks = " + maxCatchUpTicks);
+        }
+        this.tickNanos = (long) (NANOS_PER_SECOND / ticksPerSecond);
+        this.maxCatchUpTicks = maxCatchUpTicks;
+        this.reset();
+    }
+
+    /**
+     * Forgets any time that has built up, for example when the game is paused and started again. The next call to
+     * advance() only starts the clock.
+     */
+    public void reset() {
+        this.accumulator = 0;
+        this.started = false;
+    }
+
+    /**
+     * Adds the time since the last frame to the accumulator and returns how many ticks should be run for this frame.
+     * @param now - the time of this frame in nanoseconds
+     * @return the number of ticks to run, between 0 and maxCatchUpTicks
+     */
+    public int advance(long now) {
+        if (!this.started) {
+            this.started = true;
+            this.lastTime = now;
+            return 0;
+        }
+        this.accumulator += Math.max(0, now - this.lastTime);
+        this.lastTime = now;
+        long ticks = this.accumulator / this.tickNanos;
+        //a stall left more ticks than we are willing to run in one frame, so drop the extra backlog
+        if (ticks > this.maxCatchUpTicks) {
+            ticks = this.maxCatchUpTicks;
+            this.accumulator = this.maxCatchUpTicks * this.tickNanos;
+        }
+        this.accumulator -= ticks * this.tickNanos;
+        return (int) ticks;
+    }
+
+    /**
+     * Getter method that returns how long it is until the next tick is due, for a thread that sleeps between ticks
+     * instead of being woken up by frames.
+     * @return the time in nanoseconds, at most one tick long
+     */
+    public long getNanosUntilNextTick() {
+        return this.tickNanos - this.accumulator;
+    }
+
+    /**
+     * Getter method that returns how far along the clock is toward the next tick.
+     * @return a number from 0 (a tick just ran) up to but not including 1 (the next tick is due)
+     */
+    public double getAlpha() {
+        return (double) this.accumulator / this.tickNanos;
+    }
+
+    /**
+     * Getter method that returns how long one tick is.
+     * @return this.tickNanos - the length of a tick in nanoseconds
+     */
+    public long getTickNanos() {
+        return this.tickNanos;
+    }
+}
@@ -0,0 +1,289 @@
+package pacman;
+
+import java.util.Arrays;
+
+/**
+ * FlowField class that holds every square's distance to one target, so any number of ghosts heading for the same
+ * target can each pick their next direction with a few array reads instead of running a search of their own. It is
+ * what makes horde mode (see SimulationConfig.setUseFlowFields()) cost one search per target per tick rather than one
+ * search per ghost.
+ *
+ * The field is a BFS outward from the target over the WallGrid (moves are reversible, so a square's distance to the
+ * target is the same as the target's distance to it), stored in an int[] indexed by square (row * cols + col) with -1
+ * for squares that can't reach the target. A field is only rebuilt when it is pointed at a new target, so a target
+ * that doesn't move (like a scatter corner) is searched once for the whole game. When a door is opened or closed, the
+ * field is repaired in place with a DistanceRepair (see wallChanged()) instead of being rebuilt.
+ *
+ * Like the BfsPathfinder, a target inside a wall or off of the board is moved to the closest open square, but the
+ * closest square is picked from the squares pacman can reach rather than from the ones a particular ghost can reach,
+ * since the field is shared by every ghost. The Simulation works the reachable squares out again whenever a square is
+ * opened or closed.
+ */
+public class FlowField {
+
+    public static final int UNREACHABLE = -1;
+
+    //instance variables
+    private final WallGrid walls;
+    private final boolean[] reachable;
+    private final int rows;
+    private final int cols;
+    private final int[] distances;
+    private final int[] queue;
+    private final Distances view;
+    private int target;
+    private int closest;
+    private long closestDistance;
+    private long rebuilds;
+    private long repairs;
+
+    /**
+     * FlowField constructor. The field starts out without a target, so every square is unreachable.
+     * @param walls - the walls of the maze
+     * @param reachable - which squares pacman can reach, that a target can be moved to; shared, never written to by
+     *                  the field
+     */
+    public FlowField(WallGrid walls, boolean[] reachable) {
+        this.walls = walls;
+        this.reachable = reachable;
+        this.rows = walls.getRows();
+        this.cols = walls.getCols();
+        this.distances = new int[walls.getSize()];
+        this.queue = new int[walls.getSize()];
+        this.view = new Distances();
+        this.target = -1;
+        Arrays.fill(this.distances, UNREACHABLE);
+    }
+
+    /**
+     * Works out which squares can be reached from a square, for the reachable array of the constructor.
+     * @param walls - the walls of the maze
+     * @param row - row of the square to start from, such as pacman's starting square
+     * @param col - col of the square to start from
+     * @return for each square index, true if it can be reached
+     */
+    public static boolean[] reachableFrom(WallGrid walls, int row, int col) {
+        boolean[] reachable = new boolean[walls.getSize()];
+        markReachable(walls, row, col, reachable);
+        return reachable;
+    }
+
+    /**
+     * Works out which squares can be reached from a square again, after the walls changed, into an existing reachable
+     * array.
+     * @param walls - the walls of the maze
+     * @param row - row of the square to start from, which must be open
+     * @param col - col of the square to start from
+     * @param reachable - filled in with true for each square index that can be reached, and false for the rest
+     */
+    public static void markReachable(WallGrid walls, int row, int col, boolean[] reachable) {
+        Arrays.fill(reachable, false);
+        int[] queue = new int[walls.getSize()];
+        int head = 0;
+        int tail = 0;
+        int start = row * walls.getCols() + col;
+        reachable[start] = true;
+        queue[tail++] = start;
+        while (head < tail) {
+            int square = queue[head++];
+            for (Direction direction : BfsPathfinder.SEARCH_ORDER) {
+                int neighbor = walls.neighbor(square / walls.getCols(), square % walls.getCols(), direction);
+                if (neighbor >= 0 && !reachable[neighbor]) {
+                    reachable[neighbor] = true;
+                    queue[tail++] = neighbor;
+                }
+            }
+        }
+    }
+
+    /**
+     * Points the field at a target, rebuilding it only if that is a different square than last time.
+     * @param targetRow - row of the target, which may be off of the board
+     * @param targetCol - col of the target, which may be off of the board
+     */
+    public void setTarget(int targetRow, int targetCol) {
+        int square = this.closestReachable(targetRow, targetCol);
+        if (square != this.target) {
+            this.target = square;
+            this.rebuild();
+        }
+    }
+
+    /**
+     * Helper method that fills in the distances with a BFS outward from the target.
+     */
+    private void rebuild() {
+        Arrays.fill(this.distances, UNREACHABLE);
+        this.rebuilds++;
+        if (this.target < 0) {
+            return;
+        }
+        int head = 0;
+        int tail = 0;
+        this.distances[this.target] = 0;
+        this.queue[tail++] = this.target;
+        while (head < tail) {
+            int square = this.queue[head++];
+            int row = square / this.cols;
+            int col = square - row * this.cols;
+            for (Direction direction : BfsPathfinder.SEARCH_ORDER) {
+                int neighbor = this.walls.neighbor(row, col, direction);
+                if (neighbor >= 0 && this.distances[neighbor] == UNREACHABLE) {
+                    this.distances[neighbor] = this.distances[square] + 1;
+                    this.queue[tail++] = neighbor;
+                }
+            }
+        }
+    }
+
+    /**
+     * Repairs the field after a square was opened or closed, so it holds the same distances a rebuild would give
+     * without flooding the whole maze again. If the target's own square was closed, the field is left without a
+     * target until the next setTarget() picks a new one.
+     * @param row - the row of the square that changed
+     * @param col - the col of the square that changed
+     * @param repair - the DistanceRepair to fix the distances with, which can be shared by every field of the maze
+     */
+    public void wallChanged(int row, int col, DistanceRepair repair) {
+        if (this.target < 0) {
+            return;
+        }
+        int square = row * this.cols + col;
+        if (square == this.target) {
+            this.target = -1;
+            Arrays.fill(this.distances, UNREACHABLE);
+            return;
+        }
+        if (this.walls.isWall(square)) {
+            repair.closed(this.view, square);
+        }
+        else {
+            repair.opened(this.view, square);
+        }
+        this.repairs++;
+    }
+
+    /**
+     * Helper method that finds the reachable square closest to a target, looking in rings of growing size around it
+     * so a target that is near the board only looks at a few squares. Ties go to the first square in row order.
+     * @return the index of the square, or -1 if no square is reachable
+     */
+    private int closestReachable(int targetRow, int targetCol) {
+        if (targetRow >= 0 && targetRow < this.rows && targetCol >= 0 && targetCol < this.cols
+                && this.reachable[targetRow * this.cols + targetCol]) {
+            return targetRow * this.cols + targetCol;
+        }
+        this.closest = -1;
+        this.closestDistance = Long.MAX_VALUE;
+        int maxRadius = Math.max(this.rows, this.cols) + Math.max(Math.abs(targetRow), Math.abs(targetCol));
+        for (int radius = 1; radius <= maxRadius; radius++) {
+            //every square in this ring is at least radius away, so a closer square can't be found from here on
+            if ((long) radius * radius > this.closestDistance) {
+                break;
+            }
+            int top = Math.max(0, targetRow - radius);
+            int bottom = Math.min(this.rows - 1, targetRow + radius);
+            int left = Math.max(0, targetCol - radius);
+            int right = Math.min(this.cols - 1, targetCol + radius);
+            for (int row = top; row <= bottom; row++) {
+                if (row == targetRow - radius || row == targetRow + radius) {
+                    for (int col = left; col <= right; col++) {
+                        this.considerSquare(row, col, targetRow, targetCol);
+                    }
+                }
+                else {
+                    this.considerSquare(row, targetCol - radius, targetRow, targetCol);
+                    this.considerSquare(row, targetCol + radius, targetRow, targetCol);
+                }
+            }
+        }
+        return this.closest;
+    }
+
+    /**
+     * Helper method that remembers a square as the closest one to a target if it is reachable and closer than the
+     * closest one found so far.
+     */
+    private void considerSquare(int row, int col, int targetRow, int targetCol) {
+        if (col < 0 || col >= this.cols || !this.reachable[row * this.cols + col]) {
+            return;
+        }
+        long distance = BoardCoordinate.distanceSquared(BoardCoordinate.pack(row, col),
+                BoardCoordinate.pack(targetRow, targetCol));
+        int square = row * this.cols + col;
+        if (distance < this.closestDistance || (distance == this.closestDistance && square < this.closest)) {
+            this.closestDistance = distance;
+            this.closest = square;
+        }
+    }
+
+    /**
+     * Picks the direction a ghost should move in to get closer to the target: the open, non-reversing neighbor with
+     * the smallest distance, with ties going to whichever neighbor the BfsPathfinder checks first. A ghost in a dead
+     * end turns around.
+     * @param row - the row the ghost is on
+     * @param col - the col the ghost is on
+     * @param heading - the direction the ghost is currently moving in
+     * @return the direction to move in, or null if the ghost's square can't reach the target
+     */
+    public Direction nextDirection(int row, int col, Direction heading) {
+        if (this.distances[row * this.cols + col] == UNREACHABLE) {
+            return null;
+        }
+        Direction opposite = heading.opposite();
+        Direction best = null;
+        int bestDistance = Integer.MAX_VALUE;
+        for (Direction direction : BfsPathfinder.SEARCH_ORDER) {
+            int neighbor = this.walls.neighbor(row, col, direction);
+            if (direction != opposite && neighbor >= 0 && this.distances[neighbor] < bestDistance) {
+                bestDistance = this.distances[neighbor];
+                best = direction;
+            }
+        }
+        //dead end, so the ghost has to turn around
+        if (best == null && this.walls.neighbor(row, col, opposite) >= 0) {
+            best = opposite;
+        }
+        return best;
+    }
+
+    /**
+     * Getter method that returns the distance from a square to the target.
+     * @return the number of steps, or UNREACHABLE
+     */
+    public int getDistance(int row, int col) {
+        return this.distances[row * this.cols + col];
+    }
+
+    /**
+     * Getter method that returns how many times the field has been rebuilt, which is how many searches it has cost.
+     * @return this.rebuilds - the number of rebuilds
+     */
+    public long getRebuilds() {
+        return this.rebuilds;
+    }
+
+    /**
+     * Getter method that returns how many times the field has been repaired after a square was opened or closed.
+     * @return this.repairs - the number of repairs
+     */
+    public long getRepairs() {
+        return this.repairs;
+    }
+
+    /**
+     * Distances class that lets a DistanceRepair read and write the field's distances.
+     */
+    private class Distances implements DistanceRepair.Field {
+
+        @Override
+        public int getDistance(int square) {
+            return FlowField.this.distances[square];
+        }
+
+        @Override
+        public void setDistance(int square, int distance) {
+            FlowField.this.distances[square] = distance;
+        }
+    }
+}
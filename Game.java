@@ -1,119 +1,146 @@
 package pacman;
 
-import javafx.animation.Animation;
-import javafx.animation.KeyFrame;
-import javafx.animation.Timeline;
+import javafx.animation.AnimationTimer;
 import javafx.event.ActionEvent;
-import javafx.scene.control.Label;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.Pane;
-import javafx.scene.paint.Color;
-import javafx.scene.text.Font;
-import javafx.util.Duration;
 import javafx.scene.control.Button;
 import javafx.scene.layout.HBox;
 
-import java.util.ArrayList;
-import java.util.LinkedList;
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import javax.management.JMException;
 
 /**
  * This is the Game class of the Pacman game. The Game class is in charge of top-level logic components of the game
- * such as keyboard input, animation, timeline, movement, etc. The two panes instantiated in the PaneOrganizer class,
+ * such as keyboard input, animation, game loop, labels, etc. The two panes instantiated in the PaneOrganizer class,
  * the gamePane and the scorePane, are associated with the Game class shown by the two parameters in the constructor
- * of the Game class.
+ * of the Game class. The rules of the game itself live in the Simulation class. The game loop is an AnimationTimer that
+ * runs once per rendered frame; a FixedStepClock decides how many Simulation ticks each frame should run so the game
+ * speed stays at Constants.TICKS_PER_SECOND no matter the frame rate, and a Renderer then draws pacman and the ghosts
+ * part of the way between their last two squares so movement looks smooth. Unless Constants.METRICS_EXPORTER is
+ * "none", every tick and frame is timed in a TickMetrics that is exported every Constants.METRICS_EXPORT_TICKS ticks.
+ *
+ * If Constants.USE_SIMULATION_THREAD is turned on, the Simulation is stepped on a SimulationThread instead and the
+ * game loop only draws. Each frame it picks up the newest SimulationSnapshot the thread published, copies it into the
+ * snapshot it draws and works out from the difference what the SimulationListener calls would have been (a new score,
+ * a lost life, the end of the game) and whether the ghost mode changed, so the Hud and the Renderer are still only
+ * ever touched on the JavaFX Application Thread. In that mode the frames are not timed, since the TickMetrics belongs
+ * to the simulation thread.
  */
-public class Game {
+public class Game implements SimulationListener {
 
     //instance variables
-    private Maze maze;
+    private Simulation simulation;
+    private SimulationThread simulationThread;
+    private SimulationSnapshot snapshot;
+    private GameView view;
+    private Renderer renderer;
+    private InputLog inputLog;
+    private InputQueue inputQueue;
+    private TickMetrics metrics;
+    private MetricsExporter metricsExporter;
     private Pane gamePane;
     private HBox scorePane;
-    private Label scoreLabel;
-    private Label livesLabel;
-    private Label gameLabel;
-    private Timeline timeline;
-    private Pacman pacman;
-    private Ghost inky;
-    private Ghost clyde;
-    private Ghost pinky;
-    private Ghost blinky;
-    private int livesCounter;
-    private int scoreCounter;
+    private Hud hud;
+    private AnimationTimer gameLoop;
+    private FixedStepClock clock;
+    private boolean running;
     private int gameLabelDisCounter;
-    private double gameOverCounter;
-    private double chaseCounter;
-    private double ghostPenCounter;
-    private double scatterCounter;
-    private double frightenedCounter;
-    private GhostBehavior ghostBehavior;
-    private LinkedList<Ghost> ghostPen = new LinkedList<>();
 
     /**
      * Game constructor
      * @param gamePane - gamePane associated with the gamePane instantiated in the PaneOrganizer class
      * @param scorePane - scorePane associated with the scorePane instantiated in the PaneOrganizer class
+     * @param layout - the maze the game is played on
      */
-    public Game(Pane gamePane, HBox scorePane) {
-        this.setUpPanes(gamePane, scorePane);
-        this.setUpPacman();
+    public Game(Pane gamePane, HBox scorePane, MazeLayout layout) {
+        this.setUpPanes(gamePane, scorePane, layout);
         this.setUpCounters();
         this.setUpScorePane();
-        this.setUpGhosts();
         this.startGame();
 
     }
 
     /**
-     * Helper method that helps set up gamePane, scorePane, and an instance of the maze class.
+     * Helper method that helps set up gamePane, scorePane, an instance of the simulation class and the Renderer that
+     * draws it. The CanvasRenderer is used unless Constants.USE_CANVAS_RENDERER is turned off, in which case the maze
+     * is built out of nodes by the SceneGraphRenderer. If the Simulation is stepped on a SimulationThread, the
+     * Renderer draws a SimulationSnapshot of it instead of the Simulation itself.
      * @param gamePane - gamePane associated with the gamePane instantiated in the PaneOrganizer class
      * @param scorePane - scorePane associated with the scorePane instantiated in the PaneOrganizer class
+     * @param layout - the maze the game is played on
      */
-    private void setUpPanes(Pane gamePane, HBox scorePane) {
+    private void setUpPanes(Pane gamePane, HBox scorePane, MazeLayout layout) {
         this.gamePane = gamePane;
         this.scorePane = scorePane;
         this.gamePane.setFocusTraversable(true);
-        this.maze = new Maze(this.gamePane, this);
+        SimulationConfig config = new SimulationConfig();
+        this.setUpMetrics(config);
+        this.simulation = new Simulation(layout, config);
+        this.inputLog = new InputLog(this.simulation.getSeed());
+        this.inputQueue = new InputQueue(Constants.INPUT_QUEUE_CAPACITY);
+        if (Constants.USE_SIMULATION_THREAD) {
+            this.simulationThread = new SimulationThread(this.simulation, this.inputQueue, this.inputLog, this.metrics,
+                    this.metricsExporter);
+            this.snapshot = new SimulationSnapshot(this.simulation);
+            this.view = this.snapshot;
+        }
+        else {
+            this.simulation.setListener(this);
+            this.view = this.simulation;
+        }
+        if (Constants.USE_CANVAS_RENDERER) {
+            this.renderer = new CanvasRenderer(this.gamePane, this.simulation);
+        }
+        else {
+            this.renderer = new SceneGraphRenderer(this.gamePane, layout);
+        }
+        if (this.simulationThread == null) {
+            this.simulation.addGhostModeListener(this.renderer);
+        }
+        this.renderer.render(this.view, 1);
     }
 
     /**
-     * Helper method that helps set up the Pacman and sets it to the front of the scene.
+     * Helper method that sets up the MetricsExporter picked by Constants.METRICS_EXPORTER and the TickMetrics it
+     * exports. Metrics that can't be set up should not stop the game from being played, so the error is only printed.
+     * @param config - the config of the Simulation, which is given the TickMetrics
      */
-    private void setUpPacman() {
-        this.pacman = this.maze.getPacman();
-        this.pacman.getPacman().toFront();
+    private void setUpMetrics(SimulationConfig config) {
+        switch (Constants.METRICS_EXPORTER) {
+            case "log":
+                this.metricsExporter = new LogMetricsExporter(System.out);
+                break;
+            case "jmx":
+                try {
+                    this.metricsExporter = new JmxMetricsExporter();
+                }
+                catch (JMException e) {
+                    System.err.println("Could not register the metrics with JMX: " + e.getMessage());
+                }
+                break;
+            default:
+                break;
+        }
+        if (this.metricsExporter != null) {
+            this.metrics = new TickMetrics();
+            config.setMetrics(this.metrics);
+        }
     }
 
     /**
-     * Helper method that helps set up the Labels found in the scorePane. These labels include the livesLabel, the
-     * scoreLabel, and the gameLabel. Also, the quitButton is added to the scorePane.
+     * Helper method that helps set up the Hud, which owns the Labels found in the scorePane (the livesLabel and the
+     * scoreLabel) and the gameLabel. Also, the quitButton is added to the scorePane.
      */
     private void setUpScorePane() {
-        this.livesLabel = this.setUpLabel("Lives: " + this.livesCounter, new Font(Constants.LABEL_FONT,
-                Constants.LABEL_FONT_SIZE));
-        this.scoreLabel = this.setUpLabel("Score: " + this.scoreCounter, new Font(Constants.LABEL_FONT,
-                Constants.LABEL_FONT_SIZE));
-        this.scorePane.getChildren().addAll(this.livesLabel, this.scoreLabel);
-        this.gameLabel = this.setUpLabel("Ready? ", new Font(Constants.LABEL_FONT,
-                Constants.GAME_LABEL_FONT_SIZE));
-        this.gameLabel.setLayoutX(Constants.GAME_LABEL_LAYOUT_X_READY);
-        this.gameLabel.setLayoutY(Constants.GAME_LABEL_LAYOUT_Y);
-        this.gamePane.getChildren().add(this.gameLabel);
+        this.hud = new Hud(this.gamePane, this.scorePane, this.view.getLives());
         this.setUpQuitButton();
     }
 
-    /**
-     * Helper method that helps set up the labels.
-     * @param labelText - the text of the label
-     * @param font - the font of the label
-     * @return label - the new label instance
-     */
-    private Label setUpLabel(String labelText, Font font) {
-        Label label = new Label(labelText);
-        label.setTextFill(Color.YELLOW);
-        label.setFont(font);
-        return label;
-    }
-
     /**
      * Helper method that helps set up the quitButton found in the scorePane.
      */
@@ -126,41 +153,59 @@ public class Game {
     }
 
     /**
-     * Helper method that sets up the ghosts which were initially instantiated in the maze class.
-     */
-    private void setUpGhosts() {
-        this.inky = this.maze.getGhostArrayList().get(0); //sky blue
-        this.clyde = this.maze.getGhostArrayList().get(1); //orange
-        this.pinky = this.maze.getGhostArrayList().get(2); //lavender
-        this.blinky = this.maze.getGhostArrayList().get(3); //red
-        this.ghostPen = new LinkedList<>();
-        this.ghostBehavior = GhostBehavior.CHASED;
-        this.resetGhostPen();
-    }
-
-    /**
-     * Helper method that sets up the different counters. These counters are altered with the Timeline to achieve
-     * different functionality such as tracking lives, tracking the score, tracking the different Ghost modes, etc.
+     * Helper method that sets up the counters that only matter for the labels. The counters for the game itself are
+     * kept by the Simulation.
      */
     private void setUpCounters() {
-        this.livesCounter = Constants.LIVES_COUNTER;
-        this.scoreCounter = 0;
         this.gameLabelDisCounter = 0;
-        this.scatterCounter = 0;
-        this.chaseCounter = 0;
-        this.frightenedCounter = 0;
-        this.gameOverCounter = Constants.GAME_OVER_COUNTER;
     }
 
     /**
-     * Sets up the key handler and timeline in order to start the game.
+     * Sets up the key handler and game loop in order to start the game. The loop does not run until the first key is
+     * pressed, unless the Simulation has its own thread, in which case the loop draws from the start and it is the
+     * thread that waits for the first key.
      */
     private void startGame() {
         this.gamePane.setOnKeyPressed((KeyEvent event) -> this.handleKeyInput(event));
-        KeyFrame kf = new KeyFrame(Duration.seconds(Constants.TIMELINE_DURATION),
-                (ActionEvent event) -> this.update());
-        this.timeline = new Timeline(kf);
-        this.timeline.setCycleCount(Animation.INDEFINITE);
+        this.clock = new FixedStepClock(Constants.TICKS_PER_SECOND, Constants.MAX_CATCH_UP_TICKS);
+        this.gameLoop = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                Game.this.onFrame(now);
+            }
+        };
+        this.running = false;
+        if (this.simulationThread != null) {
+            this.simulationThread.start();
+            this.gameLoop.start();
+        }
+    }
+
+    /**
+     * Helper method that starts the game loop if it isn't already running. The clock is reset so that the time spent
+     * paused is not caught up on.
+     */
+    private void play() {
+        if (!this.running) {
+            this.running = true;
+            if (this.simulationThread != null) {
+                this.simulationThread.play();
+                return;
+            }
+            this.clock.reset();
+            this.gameLoop.start();
+        }
+    }
+
+    /**
+     * Helper method that pauses the game loop. A SimulationThread has already paused itself by the time this is
+     * called, and the loop keeps drawing its snapshots.
+     */
+    private void pause() {
+        this.running = false;
+        if (this.simulationThread == null) {
+            this.gameLoop.stop();
+        }
     }
 
     /**
@@ -170,20 +215,20 @@ public class Game {
      * @param e code of the key pressed
      */
     private void handleKeyInput(KeyEvent e) {
-        if (this.gameOverCounter > 0 && this.livesCounter > 0) {
-            this.timeline.play();
+        if (!this.view.isGameOver()) {
+            this.play();
             switch (e.getCode()) {
                 case UP:
-                    this.pacman.changeDirection(Direction.UP);
+                    this.pressDirection(Direction.UP);
                     break;
                 case DOWN:
-                    this.pacman.changeDirection(Direction.DOWN);
+                    this.pressDirection(Direction.DOWN);
                     break;
                 case LEFT:
-                    this.pacman.changeDirection(Direction.LEFT);
+                    this.pressDirection(Direction.LEFT);
                     break;
                 case RIGHT:
-                    this.pacman.changeDirection(Direction.RIGHT);
+                    this.pressDirection(Direction.RIGHT);
                     break;
                 default:
                     break;
@@ -194,152 +239,99 @@ public class Game {
     }
 
     /**
-     * Timeline method that is called practically every second. Helper methods inside the body of this method
-     * are constantly updated.
+     * Helper method that puts a key press on the InputQueue for the next tick to apply, so the key handler never
+     * touches the Simulation itself. If the queue is somehow full, the key press is dropped.
+     * @param direction - the direction that was pressed
      */
-    private void update() {
-        this.gameLabelDisCounter ++;
-        this.ghostPenCounter ++;
-        this.removeGameLabelText();
-        this.scatterOrChase();
-        this.letOutGhosts();
-        this.checkCollisionsTwice();
-        this.checkGameOver(this.gameOverCounter, true);
-        this.checkGameOver(this.livesCounter, false);
+    private void pressDirection(Direction direction) {
+        this.inputQueue.offer(direction);
     }
 
     /**
-     * Helper method that checks for collisions twice to avoid any edge cases.
+     * Game loop method that is called once per rendered frame. It runs however many ticks the clock says are due and
+     * then draws the current state and publishes whatever changed on the Hud during those ticks. If a tick pauses the
+     * game (pacman was caught or the game ended), the rest of the ticks are skipped and the state is drawn exactly
+     * where it ended up.
+     * @param now - the time of this frame in nanoseconds
      */
-    private void checkCollisionsTwice() {
-        this.pacman.movePacman();
-        this.checkCollisions();
-        this.moveGhosts();
-        this.checkCollisions();
-    }
-
-    /**
-     * Method that is in charge of ghost movement that changes based off the different ghost modes. The different
-     * ghost modes are tracked by the instance variable this.ghostBehavior. The three different modes are
-     * frightened, scattered, chased.
-     */
-    private void moveGhosts() {
-        int rowPac = this.pacman.getCenterY() / Constants.SQUARE_SIZE;
-        int colPac = this.pacman.getCenterX() / Constants.SQUARE_SIZE;
-        for (int i = 0; i < this.maze.getGhostArrayList().size(); i++) {
-            Ghost ghost = this.maze.getGhostArrayList().get(i);
-            switch(this.ghostBehavior) {
-                case FRIGHTENED:
-                    this.frightenedMove(ghost);
-                    break;
-                case SCATTERED:
-                    ghost.scatterMove(i, ghost);
-                    break;
-                case CHASED:
-                    ghost.chaseMove(i, ghost, rowPac, colPac);
-                    break;
-                default:
-                    break;
-            }
+    private void onFrame(long now) {
+        if (this.simulationThread != null) {
+            this.drawSnapshot();
+            return;
         }
-    }
-
-    /**
-     * Helper method in charge of frightened movement.
-     * @param ghost - the ghost that is conducting the frightened movement
-     */
-    private void frightenedMove(Ghost ghost) {
-        int randCol = (int) (Math.random() * Constants.MAZE_DIMENSION);
-        int randRow = (int) (Math.random() * Constants.MAZE_DIMENSION);
-        //Ghost moves to constantly updating random BoardCoordinate in Maze
-        ghost.ghostMove(new BoardCoordinate(randRow, randCol, true), ghost);
-        //Changes ghost color to white to warn user about to exit frightened mode
-        if (this.frightenedCounter > Constants.FRIGHTENED_CHANGE_COLOR_TIME) {
-            ghost.setColor(Color.WHITE);
-        }
-        else {
-            ghost.setColor(Constants.GHOST_FRIGHTENED_COLOR);
+        int ticks = this.clock.advance(now);
+        for (int i = 0; i < ticks && this.running; i++) {
+            this.update();
         }
-        //exit frightened mode
-        if (this.frightenedCounter > Constants.FRIGHTENED_TIME) {
-            this.ghostResetColor();
-            this.ghostBehavior = GhostBehavior.CHASED;
-            this.frightenedCounter = 0;
+        long renderStart = this.metrics == null ? 0 : System.nanoTime();
+        this.renderer.render(this.simulation, this.running ? this.clock.getAlpha() : 1);
+        this.hud.publish();
+        if (this.metrics != null) {
+            this.metrics.recordRender(System.nanoTime() - renderStart);
         }
-        else {
-            this.frightenedCounter += Constants.TIME_COUNTER_INCREMENT;
-        }
-
     }
 
     /**
-     * Helper method that manipulates the this.ghostBehavior variable to be in scatter or chase mode.
+     * Helper method for the game loop when the Simulation has its own thread. It catches up on the newest snapshot if
+     * there is one, then draws the sprites part of the way toward the next tick, going by how long ago the snapshot's
+     * tick finished.
      */
-    private void scatterOrChase() {
-        //if currently in chase mode
-        if (this.ghostBehavior != GhostBehavior.SCATTERED) {
-            //end chase mode / change to scatter mode
-            if (this.chaseCounter > Constants.CHASE_TIME) {
-                this.ghostBehavior = GhostBehavior.SCATTERED;
-                this.chaseCounter = 0;
-            }
-            else {
-                this.chaseCounter += Constants.TIME_COUNTER_INCREMENT;
-            }
+    private void drawSnapshot() {
+        SimulationSnapshot latest = this.simulationThread.getExchange().acquire();
+        if (latest != null) {
+            this.catchUp(latest);
         }
-        //if currently in scatter mode
-        else  {
-            //end scatter mode / change to chase mode
-            if (this.scatterCounter > Constants.SCATTER_TIME) {
-                this.ghostBehavior = GhostBehavior.CHASED;
-                this.scatterCounter = 0;
-            }
-            else {
-                this.scatterCounter+= Constants.TIME_COUNTER_INCREMENT;
-            }
+        double alpha = 1;
+        if (this.running) {
+            alpha = Math.min(1, (double) (System.nanoTime() - this.snapshot.getCapturedNanos())
+                    / this.clock.getTickNanos());
         }
+        this.renderer.render(this.snapshot, alpha);
+        this.hud.publish();
     }
 
     /**
-     * Method that checks for collisions between Pacman and each collidable element and the respective MazeSquare that
-     * the pacman is intersecting.
+     * Helper method that copies a newer snapshot into the one that is drawn, and does what the Game's own loop would
+     * have done for the ticks in between: count them toward the game label, tell the Renderer if the ghost mode
+     * changed, and make the SimulationListener calls for a new score, a lost life or the end of the game.
+     * @param latest - the newest snapshot from the SimulationThread
      */
-    private void checkCollisions() {
-        int col = this.pacman.getCenterX() / Constants.SQUARE_SIZE;
-        int row = this.pacman.getCenterY() / Constants.SQUARE_SIZE;
-        //get the ArrayList at Pacman's current position
-        ArrayList<Collidable> mazeSquareCollidables = this.maze.getMaze()[row][col].getArrayList();
-        //loop through Collidable ArrayList
-        for (int i = 0; i < mazeSquareCollidables.size(); i++) {
-            mazeSquareCollidables.get(i).collision();
-            this.updateScores(mazeSquareCollidables.get(i).getIncrement());
-            //remove Collidable from the MazeSquare's ArrayList
-            //if Collidable is an energizer, change mode to frightened
-            if (mazeSquareCollidables.get(i).getSize() == Constants.ENERGIZER_RADIUS) {
-                this.ghostBehavior = GhostBehavior.FRIGHTENED;
-            }
-            //if Collidable is not a Ghost, then decrement this.gameOverCounter
-            if (mazeSquareCollidables.get(i).getSize() != Constants.SQUARE_SIZE) {
-                this.gameOverCounter --;
-            }
-            mazeSquareCollidables.remove(mazeSquareCollidables.get(i));
-
+    private void catchUp(SimulationSnapshot latest) {
+        GhostBehavior behavior = this.snapshot.getGhostBehavior();
+        boolean flashing = this.snapshot.isFrightenedEnding();
+        long ticks = this.snapshot.getTickCount();
+        int score = this.snapshot.getScore();
+        int lives = this.snapshot.getLives();
+        boolean gameOver = this.snapshot.isGameOver();
+        this.snapshot.copyFrom(latest);
+        if (behavior != this.snapshot.getGhostBehavior() || flashing != this.snapshot.isFrightenedEnding()) {
+            this.renderer.ghostModeChanged(behavior, this.snapshot.getGhostBehavior(),
+                    this.snapshot.isFrightenedEnding());
+        }
+        this.gameLabelDisCounter += (int) (this.snapshot.getTickCount() - ticks);
+        this.removeGameLabelText();
+        if (score != this.snapshot.getScore()) {
+            this.hud.setScore(this.snapshot.getScore());
+        }
+        if (lives > this.snapshot.getLives()) {
+            this.pacmanCaught();
+        }
+        if (!gameOver && this.snapshot.isGameOver()) {
+            this.gameOver(this.snapshot.isWon());
         }
-
     }
 
     /**
-     * Method that releases ghosts one by one until the ghostPen is empty. Blinky starts outside the pen initially,
-     * so the order goes Blinky -> Pinky -> Inky -> Clyde on the order of exiting the pen.
+     * Helper method that runs one tick: it applies the key presses since the last tick, steps the Simulation once,
+     * updates the game label and exports the metrics if it is time to.
      */
-    private void letOutGhosts() {
-        if (this.ghostPenCounter % 20 == 0) {
-            if (this.ghostPen.size() != 0) {
-                Ghost removedGhost = this.ghostPen.getFirst();
-                removedGhost.setY(Constants.BLINKY_START_Y);
-                removedGhost.setX(Constants.BLINKY_START_X);
-                this.ghostPen.remove(removedGhost);
-            }
+    private void update() {
+        this.gameLabelDisCounter ++;
+        this.removeGameLabelText();
+        this.simulation.applyInputs(this.inputQueue, this.inputLog);
+        this.simulation.step(null);
+        if (this.metrics != null && this.simulation.getTickCount() % Constants.METRICS_EXPORT_TICKS == 0) {
+            this.metricsExporter.export(this.metrics);
         }
     }
 
@@ -347,131 +339,91 @@ public class Game {
      * Helper method that changes the gameLabel from Ready -> Go. After a couple of seconds, the "Go" label disappears.
      */
     private void removeGameLabelText() {
-        if (this.timeline.getStatus() == Animation.Status.RUNNING) {
-            if (this.gameLabelDisCounter == Constants.GAME_LABEL_TIME) {
-                this.gameLabel.setTextFill(Color.NAVY);
-            }
-            this.gameLabel.setText("Go!");
-            this.gameLabel.setLayoutX(Constants.GAME_LABEL_LAYOUT_X_GO);
+        if (this.running) {
+            this.hud.setStatus(this.gameLabelDisCounter >= Constants.GAME_LABEL_TIME ? HudStatus.HIDDEN : HudStatus.GO);
         }
     }
 
-
-    /**
-     * Method that restarts the Game whenever a Ghost comes into contact with the Pacman.
-     */
-    public void restartGame() {
-        this.timeline.stop();
-        this.resetGhostPen();
-        this.setStartLoc();
-        this.restartChangeLabels();
-    }
-
-
-
     /**
-     * Helper method that restarts the labels. It decrements a Pacman life and changes the gameLabel text back to
-     * "Ready."
+     * SimulationListener method that updates the score whenever pacman eats a dot or energizer. The pellet itself is
+     * erased the next time the Renderer draws.
+     * @param row - row of the eaten pellet
+     * @param col - col of the eaten pellet
      */
-    private void restartChangeLabels() {
-        this.gameLabelDisCounter = 0;
-        this.livesCounter --;
-        this.livesLabel.setText(" Lives: " + this.livesCounter);
-        this.gameLabel.setTextFill(Color.YELLOW);
-        this.gameLabel.setText("Ready!");
-        this.gameLabel.setLayoutX(Constants.GAME_LABEL_LAYOUT_X_READY);
+    @Override
+    public void pelletEaten(int row, int col) {
+        this.hud.setScore(this.view.getScore());
     }
 
     /**
-     * Updates scores whenever the Pacman collides with a Collidable.
-     * @param scoreIncrement - the increment that the score increases.
+     * SimulationListener method that updates the score whenever pacman eats a frightened ghost.
+     * @param ghost - index of the eaten ghost
      */
-    public void updateScores(int scoreIncrement) {
-        this.scoreCounter += scoreIncrement;
-        this.scoreLabel.setText("Score: " + this.scoreCounter);
+    @Override
+    public void ghostEaten(int ghost) {
+        this.hud.setScore(this.view.getScore());
     }
 
     /**
-     * Helper method that resets the ghostPen whenever the game restarts. The ghosts get added back to the Queue data
-     * structure in order of first in first out.
+     * SimulationListener method that pauses the Game whenever a Ghost comes into contact with the Pacman. The
+     * Simulation has already moved everyone back to their starting locations.
      */
-    private void resetGhostPen() {
-        this.ghostPen.clear();
-        this.ghostPen.addLast(this.pinky);
-        this.ghostPen.addLast(this.inky);
-        this.ghostPen.addLast(this.clyde);
-        this.ghostResetColor();
-        this.ghostPenCounter = 0;
-    }
-
-    /**
-     * Helper method that resets the color of the respective ghosts.
-     */
-    private void ghostResetColor() {
-        this.inky.setColor(Constants.INKY_COLOR);
-        this.clyde.setColor(Constants.CLYDE_COLOR);
-        this.pinky.setColor(Constants.PINKY_COLOR);
-        this.blinky.setColor(Constants.BLINKY_COLOR);
+    @Override
+    public void pacmanCaught() {
+        this.pause();
+        this.restartChangeLabels();
     }
 
     /**
-     * Helper method that sets up the starting locations of the pacman and the respective ghosts.
+     * Helper method that restarts the labels. It shows the new number of Pacman lives and changes the gameLabel text
+     * back to "Ready."
      */
-    private void setStartLoc() {
-        this.pacman.setCenterX(Constants.PACMAN_START_X);
-        this.pacman.setCenterY(Constants.PACMAN_START_Y);
-        this.inky.setX(Constants.INKY_START_X);
-        this.inky.setY(Constants.INKY_START_Y);
-        this.clyde.setX(Constants.CLYDE_START_X);
-        this.clyde.setY(Constants.CLYDE_START_Y);
-        this.pinky.setX(Constants.PINKY_START_X);
-        this.pinky.setY(Constants.PINKY_START_Y);
-        this.blinky.setX(Constants.BLINKY_START_X);
-        this.blinky.setY(Constants.BLINKY_START_Y);
+    private void restartChangeLabels() {
+        this.gameLabelDisCounter = 0;
+        this.hud.setLives(this.view.getLives());
+        this.hud.setStatus(HudStatus.READY);
     }
 
     /**
-     * Method that checks to see if the game is over. The game is over in two different scenarios. First, the game
-     * could end in a win where there are no more dots or energizers left, or in the game could end in a loss where
-     * there are no Pacman lives left.
-     * @param counter - double that tracks livesCounter or gameOverCounter
-     * @param win - boolean that tracks if the user won
+     * SimulationListener method that is called when the game is over. The game could end in a win where there are no
+     * more dots or energizers left, or in the game could end in a loss where there are no Pacman lives left. When the
+     * Simulation has its own thread, that thread has stopped stepping it by the time its last snapshot is picked up,
+     * so the InputLog and the metrics can be saved from here, and the thread is then ended for good.
+     * @param won - boolean that tracks if the user won
      */
-    private void checkGameOver(double counter, boolean win) {
-        if (counter <= 0) {
-            //if there are no more dots/energizers left on the screen
-            if (win) {
-                this.timeline.stop();
-                this.gameLabel.setLayoutX(Constants.GAME_OVER_LABEL_LAYOUT_X);
-                this.gameLabel.setTextFill(Color.YELLOW);
-                this.gameLabel.setText("You Won!!");
-                this.ghostResetColor();
-            }
-            //if there are no lives left
-            else {
-                this.timeline.stop();
-                this.gameLabel.setLayoutX(Constants.GAME_OVER_LABEL_LAYOUT_X);
-                this.gameLabel.setTextFill(Color.YELLOW);
-                this.gameLabel.setText("Game Over!!");
-            }
+    @Override
+    public void gameOver(boolean won) {
+        this.pause();
+        //if there are no more dots/energizers left on the screen, else there are no lives left
+        this.hud.setStatus(won ? HudStatus.WON : HudStatus.LOST);
+        this.saveInputLog();
+        if (this.metrics != null) {
+            this.metricsExporter.export(this.metrics);
+        }
+        if (this.simulationThread != null) {
+            this.simulationThread.stop();
         }
-
     }
 
     /**
-     * Getter method that returns the current Ghost mode.
-     * @return this.ghostBehavior - current ghost mode
+     * Helper method that saves the InputLog of the game that just ended, so it can be replayed with
+     * "java pacman.InputLog". A log that can't be saved should not crash the game, so the error is only printed.
      */
-    public GhostBehavior getGhostBehavior() {
-        return this.ghostBehavior;
+    private void saveInputLog() {
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(Constants.INPUT_LOG_FILE))) {
+            this.inputLog.writeTo(out);
+        }
+        catch (IOException e) {
+            System.err.println("Could not save the input log to " + Constants.INPUT_LOG_FILE + ": " + e.getMessage());
+        }
     }
 
     /**
-     * Getter method that returns the ghostPen Queue.
-     * @return this.ghostPen - the ghostPen Queue data structure
+     * Getter method that returns the Simulation that this Game is drawing.
+     * @return this.simulation - the Simulation
      */
-    public LinkedList<Ghost> getGhostPen() {
-        return this.ghostPen;
+    public Simulation getSimulation() {
+        return this.simulation;
     }
 
 }
@@ -0,0 +1,33 @@
+package pacman;
+
+/**
+ * GameView interface for everything a Renderer or the Hud reads about a game: where pacman and the ghosts are and were
+ * before the last tick, which squares are walls (doors can open and close), which pellets are left, and the counters
+ * shown on the labels. The Simulation is a GameView, so when it is stepped on the JavaFX Application Thread it is drawn
+ * directly. When it is stepped on its own SimulationThread instead, the JavaFX Application Thread draws a
+ * SimulationSnapshot, which is a copy of the state from one tick that the simulation thread can't change while it is
+ * being drawn.
+ */
+public interface GameView {
+
+    //declaring GameView methods
+    int getPacmanRow();
+    int getPacmanCol();
+    int getPreviousPacmanRow();
+    int getPreviousPacmanCol();
+    int getGhostCount();
+    int getGhostRow(int ghost);
+    int getGhostCol(int ghost);
+    int getPreviousGhostRow(int ghost);
+    int getPreviousGhostCol(int ghost);
+    WallGrid getWallGrid();
+    PelletStore getPelletStore();
+    GhostBehavior getGhostBehavior();
+    boolean isFrightenedEnding();
+    int getScore();
+    int getLives();
+    long getTickCount();
+    boolean isGameOver();
+    boolean isWon();
+
+}
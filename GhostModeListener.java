@@ -0,0 +1,18 @@
+package pacman;
+
+/**
+ * GhostModeListener interface that is implemented by anything that wants to hear when the ghosts change mode, such
+ * as a Renderer that draws frightened ghosts in a different color or the TickMetrics that counts mode changes. A
+ * listener is added with Simulation.addGhostModeListener() and is called on whatever thread steps the Simulation.
+ */
+public interface GhostModeListener {
+
+    /**
+     * Called whenever the ghost mode changes, and when frightened ghosts start flashing because frightened mode is
+     * about to end (in which case previous and current are both FRIGHTENED).
+     * @param previous - the mode before the change
+     * @param current - the mode after the change
+     * @param flashing - true if the ghosts are frightened and frightened mode is almost over
+     */
+    void ghostModeChanged(GhostBehavior previous, GhostBehavior current, boolean flashing);
+}
@@ -0,0 +1,175 @@
+package pacman;
+
+import java.util.ArrayList;
+
+/**
+ * GhostModeMachine class that decides which mode the ghosts are in. It replaces the old chase, scatter and frightened
+ * counters, which were all checked and added to on every tick, with a state machine whose transitions are timers on a
+ * TimerWheel: entering a mode schedules the tick it ends on, so a tick where nothing changes only looks at one empty
+ * slot of the wheel. Every change is sent to the GhostModeListeners, so nothing has to keep asking what mode the
+ * ghosts are in to notice a change.
+ *
+ * The states and what moves between them:
+ *
+ * - SCATTERED / CHASED: the current phase of the level's GhostModeSchedule. When its timer runs out the next phase
+ *   starts.
+ * - FRIGHTENED: entered when pacman eats an energizer (frighten()), which pauses the phase timer. Partway through, the
+ *   flash timer makes the ghosts flash; when the frightened timer runs out the paused phase carries on. Eating another
+ *   energizer starts frightened mode over.
+ */
+public class GhostModeMachine {
+
+    private static final int PHASE_TIMER = 0;
+    private static final int FLASH_TIMER = 1;
+    private static final int FRIGHTENED_TIMER = 2;
+    private static final int TIMERS = 3;
+
+    //instance variables
+    private final TimerWheel wheel;
+    private final ArrayList<GhostModeListener> listeners;
+    private GhostModeSchedule schedule;
+    private GhostBehavior behavior;
+    private boolean flashing;
+    private int phase;
+    private long pausedTicks;
+
+    /**
+     * GhostModeMachine constructor. The ghosts start in the first phase of the schedule.
+     * @param schedule - the schedule of the first level
+     */
+    public GhostModeMachine(GhostModeSchedule schedule) {
+        this.wheel = new TimerWheel(TIMERS, Constants.TIMER_WHEEL_SLOTS);
+        this.listeners = new ArrayList<>();
+        this.behavior = schedule.getMode(0);
+        this.startLevel(schedule);
+    }
+
+    /**
+     * Adds a listener that hears about every change from now on.
+     * @param listener - the listener
+     */
+    public void addListener(GhostModeListener listener) {
+        this.listeners.add(listener);
+    }
+
+    /**
+     * Starts a level over from the first phase of its schedule, ending frightened mode if the ghosts were frightened.
+     * @param schedule - the schedule of the level
+     */
+    public void startLevel(GhostModeSchedule schedule) {
+        this.schedule = schedule;
+        this.wheel.cancelAll();
+        this.startPhase(0);
+    }
+
+    /**
+     * Runs one tick: any timer that runs out on this tick changes the mode.
+     */
+    public void tick() {
+        this.wheel.advance();
+        for (int timer = this.wheel.poll(); timer != TimerWheel.NONE; timer = this.wheel.poll()) {
+            switch (timer) {
+                case PHASE_TIMER:
+                    this.startPhase((this.phase + 1) % this.schedule.getPhaseCount());
+                    break;
+                case FLASH_TIMER:
+                    this.change(GhostBehavior.FRIGHTENED, true);
+                    break;
+                default:
+                    //frightened mode is over, so the paused phase carries on where it was
+                    this.resumePhase();
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Frightens the ghosts for the schedule's frightened time, pausing the current phase. If the ghosts are already
+     * frightened, frightened mode starts over.
+     */
+    public void frighten() {
+        if (this.behavior != GhostBehavior.FRIGHTENED) {
+            this.pausedTicks = this.wheel.isScheduled(PHASE_TIMER) ? this.wheel.getRemaining(PHASE_TIMER)
+                    : GhostModeSchedule.FOREVER;
+            this.wheel.cancel(PHASE_TIMER);
+        }
+        long now = this.wheel.getNow();
+        int frightenedTicks = this.schedule.getFrightenedTicks();
+        int flashTicks = this.schedule.getFrightenedFlashTicks();
+        this.wheel.schedule(FRIGHTENED_TIMER, now + frightenedTicks);
+        this.wheel.cancel(FLASH_TIMER);
+        if (flashTicks > 0 && flashTicks < frightenedTicks) {
+            this.wheel.schedule(FLASH_TIMER, now + frightenedTicks - flashTicks);
+        }
+        this.change(GhostBehavior.FRIGHTENED, flashTicks == frightenedTicks);
+    }
+
+    /**
+     * Stops every timer, for when the game is over. Frightened ghosts go back to the paused phase so they aren't drawn
+     * frightened on the final board.
+     */
+    public void stop() {
+        this.wheel.cancelAll();
+        this.change(this.schedule.getMode(this.phase), false);
+    }
+
+    /**
+     * Helper method that starts a phase of the schedule from its beginning.
+     */
+    private void startPhase(int phase) {
+        this.phase = phase;
+        this.pausedTicks = this.schedule.getTicks(phase);
+        this.resumePhase();
+    }
+
+    /**
+     * Helper method that puts the ghosts in the current phase's mode with pausedTicks left to go.
+     */
+    private void resumePhase() {
+        this.wheel.cancel(FLASH_TIMER);
+        this.wheel.cancel(FRIGHTENED_TIMER);
+        if (this.pausedTicks != GhostModeSchedule.FOREVER) {
+            this.wheel.schedule(PHASE_TIMER, this.wheel.getNow() + this.pausedTicks);
+        }
+        this.change(this.schedule.getMode(this.phase), false);
+    }
+
+    /**
+     * Helper method that changes the mode and tells the listeners, if anything changed.
+     */
+    private void change(GhostBehavior newBehavior, boolean newFlashing) {
+        if (newBehavior == this.behavior && newFlashing == this.flashing) {
+            return;
+        }
+        GhostBehavior previous = this.behavior;
+        this.behavior = newBehavior;
+        this.flashing = newFlashing;
+        for (int i = 0; i < this.listeners.size(); i++) {
+            this.listeners.get(i).ghostModeChanged(previous, newBehavior, newFlashing);
+        }
+    }
+
+    /**
+     * Getter method that returns the current ghost mode.
+     * @return this.behavior - the current mode
+     */
+    public GhostBehavior getBehavior() {
+        return this.behavior;
+    }
+
+    /**
+     * Checks to see if the ghosts are flashing because frightened mode is about to end.
+     * @return this.flashing - true if the ghosts are flashing
+     */
+    public boolean isFlashing() {
+        return this.flashing;
+    }
+
+    /**
+     * Getter method that returns the index of the current (or, while frightened, the paused) phase of the schedule.
+     * @return this.phase - index of the phase
+     */
+    public int getPhase() {
+        return this.phase;
+    }
+}
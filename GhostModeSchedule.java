@@ -0,0 +1,107 @@
+package pacman;
+
+/**
+ * GhostModeSchedule class that describes how the ghosts switch modes during one level: a list of scatter and chase
+ * phases that each last some number of ticks, and how long frightened mode lasts after pacman eats an energizer. When
+ * the last phase ends the list starts over from the first one, unless the last phase lasts FOREVER. A SimulationConfig
+ * holds one schedule per level (see SimulationConfig.setModeSchedules()), so later levels can be made harder.
+ *
+ * Frightened mode pauses the scatter and chase phases rather than replacing them, so once it ends the ghosts go back
+ * to the phase they were in with however many ticks it had left.
+ */
+public class GhostModeSchedule {
+
+    //a phase that lasts this many ticks never ends
+    public static final int FOREVER = 0;
+
+    //instance variables
+    private final GhostBehavior[] modes;
+    private final int[] ticks;
+    private final int frightenedTicks;
+    private final int frightenedFlashTicks;
+
+    /**
+     * GhostModeSchedule constructor
+     * @param modes - the mode of each phase, each one SCATTERED or CHASED
+     * @param ticks - how many ticks each phase lasts, or FOREVER for a last phase that never ends
+     * @param frightenedTicks - how many ticks frightened mode lasts
+     * @param frightenedFlashTicks - how many of the last ticks of frightened mode the ghosts flash for
+     */
+    public GhostModeSchedule(GhostBehavior[] modes, int[] ticks, int frightenedTicks, int frightenedFlashTicks) {
+        if (modes.length < 1 || modes.length != ticks.length) {
+            throw new IllegalArgumentException("A schedule needs a length of ticks for each of at least one phase:"
+                    + " Given modes = " + modes.length + " ticks = " + ticks.length);
+        }
+        for (int i = 0; i < modes.length; i++) {
+            if (modes[i] == GhostBehavior.FRIGHTENED || modes[i] == null) {
+                throw new IllegalArgumentException("A schedule phase must be scattered or chased: Given mode = "
+                        + modes[i] + " for phase = " + i);
+            }
+            if (ticks[i] < 0 || (ticks[i] == FOREVER && i != ticks.length - 1)) {
+                throw new IllegalArgumentException("Only the last phase of a schedule can last forever: Given ticks = "
+                        + ticks[i] + " for phase = " + i);
+            }
+        }
+        if (frightenedTicks < 1 || frightenedFlashTicks < 0 || frightenedFlashTicks > frightenedTicks) {
+            throw new IllegalArgumentException("Frightened mode must last at least one tick and can't flash for longer"
+                    + " than it lasts: Given frightenedTicks = " + frightenedTicks + " frightenedFlashTicks = "
+                    + frightenedFlashTicks);
+        }
+        this.modes = modes.clone();
+        this.ticks = ticks.clone();
+        this.frightenedTicks = frightenedTicks;
+        this.frightenedFlashTicks = frightenedFlashTicks;
+    }
+
+    /**
+     * Builds the schedule from the Constants class: chase and scatter, over and over.
+     * @return the new schedule
+     */
+    public static GhostModeSchedule fromConstants() {
+        return new GhostModeSchedule(new GhostBehavior[] {GhostBehavior.CHASED, GhostBehavior.SCATTERED},
+                new int[] {Constants.CHASE_TICKS, Constants.SCATTER_TICKS}, Constants.FRIGHTENED_TICKS,
+                Constants.FRIGHTENED_FLASH_TICKS);
+    }
+
+    /**
+     * Getter method that returns the number of phases.
+     * @return the number of phases
+     */
+    public int getPhaseCount() {
+        return this.modes.length;
+    }
+
+    /**
+     * Getter method that returns the mode of a phase.
+     * @param phase - index of the phase
+     * @return SCATTERED or CHASED
+     */
+    public GhostBehavior getMode(int phase) {
+        return this.modes[phase];
+    }
+
+    /**
+     * Getter method that returns how many ticks a phase lasts.
+     * @param phase - index of the phase
+     * @return the number of ticks, or FOREVER
+     */
+    public int getTicks(int phase) {
+        return this.ticks[phase];
+    }
+
+    /**
+     * Getter method that returns how many ticks frightened mode lasts.
+     * @return this.frightenedTicks - the number of ticks
+     */
+    public int getFrightenedTicks() {
+        return this.frightenedTicks;
+    }
+
+    /**
+     * Getter method that returns how many of the last ticks of frightened mode the ghosts flash for.
+     * @return this.frightenedFlashTicks - the number of ticks
+     */
+    public int getFrightenedFlashTicks() {
+        return this.frightenedFlashTicks;
+    }
+}
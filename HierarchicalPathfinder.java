@@ -0,0 +1,788 @@
+package pacman;
+
+import java.util.Arrays;
+
+/**
+ * HierarchicalPathfinder class that finds the ghosts' next directions on very big mazes in the style of HPA*. The board
+ * is cut into square clusters (Constants.HIERARCHICAL_CLUSTER_SIZE on a side), and every open square that has a
+ * neighbor in another cluster (going through tunnels too) is an entrance. Everything that only depends on the walls is
+ * worked out cluster by cluster in the constructor:
+ *
+ * - for every square, how many steps it is to each entrance of its own cluster without leaving the cluster. These are
+ *   kept in a short[] per cluster, indexed by (square in the cluster * entrances + entrance).
+ * - the entrances are the nodes of an abstract graph. Two entrances of one cluster are joined by the number of steps
+ *   between them inside the cluster, and two entrances on either side of a cluster border are joined by one step.
+ *   Every entrance is on the edge of its cluster, so each cluster has a fixed run of node numbers, one for each
+ *   square on its edge, and its entrances use the first few of them.
+ *
+ * When a door is opened or closed, wallChanged() works the entrances and steps out again for the door's cluster and
+ * the clusters next to it only, since nothing further away depends on that square. The searches toward goals are
+ * started over, as a way through the door could be part of any of them.
+ *
+ * A search then runs A* over the entrances outward from the goal, which gives each entrance it settles its exact
+ * distance to the goal. The goal is the target if that is an open square in the ghost's part of the maze (checked with
+ * MazeComponents). Otherwise the ghost heads for the closest square it can get to, like a BfsPathfinder would, and each
+ * of the squares exactly that close (found with MazeComponents, leaving out the ghost's own square) is a goal, the
+ * nearest of which wins. It is aimed at the cluster of the ghost that is deciding, estimating the steps left with the
+ * same tunnel-aware Manhattan distance as the AStarPathfinder, and is only run until that cluster's entrances are
+ * settled. The search is kept for the next decision toward the same goal: settled entrances stay settled, and if the
+ * next ghost is in another cluster, the entrances still waiting on the heap are just reordered for that cluster. So the
+ * ghosts chasing or scattering to a square share one search, and a ghost following it only ever refines the local part:
+ * the distance from a neighboring square to the goal is the smallest (steps to an entrance of its cluster + that
+ * entrance's distance), or the steps inside the goal's own cluster. That is a few dozen additions per decision however
+ * big the maze is. The last few goals are kept, and the least recently used one is dropped when a new goal comes along.
+ *
+ * Like a FlowField, a ghost steps to the neighbor closest to the goal without going back the way it came, unless it is
+ * in a dead end. The distances don't know that the ghost can't turn around, so a neighbor's shortest way to the goal
+ * could lead back through the ghost's own square. That can only happen when every neighbor the ghost may step to is
+ * further from the goal than its own square. The way around is then found with a small A* search over squares that
+ * never goes through the ghost's square, using the distances to the goal as its estimate (they can only be too low with
+ * the square blocked). It stops at the first square that is no further from the goal than the ghost's square, since
+ * that square's shortest way can't go back through it, so it usually only looks at the squares around the block the
+ * ghost has to go around. If the goal can't be reached without turning around at all, a BfsPathfinder heads for the
+ * closest square that can be. The path it follows is always a shortest one, but two equally short paths can be broken
+ * differently than the BfsPathfinder would break them.
+ */
+public class HierarchicalPathfinder implements Pathfinder {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final int NONE = -1;
+    private static final int UNREACHED = Integer.MAX_VALUE;
+    //how many goals are searched toward at once: enough for four ghosts chasing and scattering
+    private static final int GOAL_SLOTS = 8;
+    //the steps between two squares of a cluster have to fit in a short
+    private static final int MAX_CLUSTER_SIZE = 181;
+    //each field of a detour heap entry gets 21 bits, like the AStarPathfinder's
+    private static final int FIELD_BITS = 21;
+    private static final long FIELD_MASK = (1L << FIELD_BITS) - 1;
+
+    //instance variables
+    private final WallGrid walls;
+    private final int cols;
+    private final int clusterSize;
+    private final int clustersAcross;
+    private final int nodesPerCluster;
+    private final MazeComponents components;
+    private final int[] tunnelDistance;
+    private final int[] nodeOf;
+    private final int[] squareOfNode;
+    private final int[] entranceCounts;
+    private final short[][] localDistances;
+    private final int[] queue;
+    private final int[] steps;
+    private final GoalSearch[] searches;
+    private final BfsPathfinder fallback;
+    private final int[] detourLength;
+    private final int[] detourStamps;
+    private final byte[] detourStep;
+    private long[] detourHeap;
+    private int detourGeneration;
+    private int entranceTotal;
+    private int stepDistance;
+    private long clock;
+    private long nodesExpanded;
+
+    /**
+     * HierarchicalPathfinder constructor that finds the entrances and the steps from every square to them.
+     * @param walls - the walls of the maze that is being searched
+     * @param clusterSize - how many squares on a side each cluster is
+     */
+    public HierarchicalPathfinder(WallGrid walls, int clusterSize) {
+        if (clusterSize < 2 || clusterSize > MAX_CLUSTER_SIZE) {
+            throw new IllegalArgumentException("Clusters must be between 2 and " + MAX_CLUSTER_SIZE
+                    + " squares on a side: Given clusterSize = " + clusterSize);
+        }
+        this.walls = walls;
+        this.cols = walls.getCols();
+        this.clusterSize = clusterSize;
+        this.clustersAcross = (this.cols + clusterSize - 1) / clusterSize;
+        int clustersDown = (walls.getRows() + clusterSize - 1) / clusterSize;
+        int clusterCount = this.clustersAcross * clustersDown;
+        //a cluster has at most 4 * clusterSize - 4 squares on its edge
+        this.nodesPerCluster = 4 * clusterSize - 4;
+        this.components = new MazeComponents(walls);
+        this.tunnelDistance = walls.getTunnelEndCount() == 0 ? null : AStarPathfinder.tunnelDistances(walls);
+        this.nodeOf = new int[walls.getSize()];
+        this.squareOfNode = new int[clusterCount * this.nodesPerCluster];
+        this.entranceCounts = new int[clusterCount];
+        this.localDistances = new short[clusterCount][];
+        this.queue = new int[clusterSize * clusterSize];
+        this.steps = new int[clusterSize * clusterSize];
+        for (int cluster = 0; cluster < clusterCount; cluster++) {
+            this.buildCluster(cluster);
+        }
+        this.searches = new GoalSearch[GOAL_SLOTS];
+        for (int slot = 0; slot < GOAL_SLOTS; slot++) {
+            this.searches[slot] = new GoalSearch(this.squareOfNode.length, clusterSize * clusterSize);
+        }
+        this.fallback = new BfsPathfinder(walls);
+        this.detourLength = new int[walls.getSize()];
+        this.detourStamps = new int[walls.getSize()];
+        this.detourStep = new byte[walls.getSize()];
+        this.detourHeap = new long[64];
+    }
+
+    /**
+     * Helper method that finds the entrances of a cluster and the steps from every square of the cluster to each of
+     * them, replacing whatever the cluster had before.
+     * @param cluster - the cluster
+     */
+    private void buildCluster(int cluster) {
+        int firstNode = this.firstNode(cluster);
+        int count = 0;
+        int top = this.clusterRow(cluster);
+        int left = this.clusterCol(cluster);
+        for (int row = top; row < top + this.clusterHeight(cluster); row++) {
+            for (int col = left; col < left + this.clusterWidth(cluster); col++) {
+                int square = row * this.cols + col;
+                this.nodeOf[square] = NONE;
+                if (this.isEntrance(row, col, cluster)) {
+                    this.nodeOf[square] = firstNode + count;
+                    this.squareOfNode[firstNode + count] = square;
+                    count++;
+                }
+            }
+        }
+        this.entranceTotal += count - this.entranceCounts[cluster];
+        this.entranceCounts[cluster] = count;
+        int length = this.clusterArea(cluster) * count;
+        if (this.localDistances[cluster] == null || this.localDistances[cluster].length != length) {
+            this.localDistances[cluster] = new short[length];
+        }
+        short[] local = this.localDistances[cluster];
+        Arrays.fill(local, (short) NONE);
+        for (int entrance = 0; entrance < count; entrance++) {
+            this.searchCluster(this.squareOfNode[firstNode + entrance], cluster, this.steps);
+            for (int square = 0; square < this.clusterArea(cluster); square++) {
+                if (this.steps[square] != NONE) {
+                    local[square * count + entrance] = (short) this.steps[square];
+                }
+            }
+        }
+    }
+
+    /**
+     * Works the entrances and steps out again for the clusters a square that was opened or closed could change: its
+     * own cluster, and the clusters of its open neighbors, whose squares next to it become or stop being entrances.
+     * Every search toward a goal is dropped.
+     * @param row - the row of the square that changed
+     * @param col - the col of the square that changed
+     */
+    @Override
+    public void wallChanged(int row, int col) {
+        int cluster = this.clusterOf(row * this.cols + col);
+        this.buildCluster(cluster);
+        for (Direction direction : BfsPathfinder.SEARCH_ORDER) {
+            int neighbor = this.walls.neighbor(row, col, direction);
+            if (neighbor >= 0 && this.clusterOf(neighbor) != cluster) {
+                this.buildCluster(this.clusterOf(neighbor));
+            }
+        }
+        this.components.wallChanged(row, col);
+        for (GoalSearch search : this.searches) {
+            search.goal = NONE;
+            search.lastUsed = 0;
+        }
+    }
+
+    /**
+     * Helper method that checks to see if an open square has a neighbor in another cluster.
+     * @return true if the square is an entrance of its cluster
+     */
+    private boolean isEntrance(int row, int col, int cluster) {
+        if (this.walls.isWall(row, col)) {
+            return false;
+        }
+        for (Direction direction : BfsPathfinder.SEARCH_ORDER) {
+            int neighbor = this.walls.neighbor(row, col, direction);
+            if (neighbor >= 0 && this.clusterOf(neighbor) != cluster) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Helper method that counts the steps from a square to every square of its cluster without leaving the cluster.
+     * @param from - the index of the square to count from
+     * @param cluster - the cluster of the square
+     * @param steps - filled in with the steps to each square of the cluster (by local index), or NONE if it can't be
+     *              reached
+     */
+    private void searchCluster(int from, int cluster, int[] steps) {
+        Arrays.fill(steps, 0, this.clusterArea(cluster), NONE);
+        int head = 0;
+        int tail = 0;
+        steps[this.localIndex(from, cluster)] = 0;
+        this.queue[tail++] = from;
+        while (head < tail) {
+            int square = this.queue[head++];
+            int distance = steps[this.localIndex(square, cluster)];
+            for (Direction direction : BfsPathfinder.SEARCH_ORDER) {
+                int neighbor = this.walls.neighbor(square / this.cols, square % this.cols, direction);
+                if (neighbor >= 0 && this.clusterOf(neighbor) == cluster
+                        && steps[this.localIndex(neighbor, cluster)] == NONE) {
+                    steps[this.localIndex(neighbor, cluster)] = distance + 1;
+                    this.queue[tail++] = neighbor;
+                }
+            }
+        }
+    }
+
+    /**
+     * Finds the direction a ghost should move in to get closest to a target. A ghost can't turn around, so the
+     * direction opposite of its heading is only used if there is no other way out of its square (a dead end).
+     * @param row - the row the ghost is on
+     * @param col - the col the ghost is on
+     * @param heading - the direction the ghost is currently moving in
+     * @param targetRow - the row of the target, which may be off of the board
+     * @param targetCol - the col of the target, which may be off of the board
+     * @return the direction that will take the ghost toward the target, or null if the ghost can't move at all
+     */
+    @Override
+    public Direction nextDirection(int row, int col, Direction heading, int targetRow, int targetCol) {
+        Direction opposite = heading.opposite();
+        boolean wayAhead = false;
+        for (Direction direction : BfsPathfinder.SEARCH_ORDER) {
+            wayAhead |= direction != opposite && this.walls.neighbor(row, col, direction) >= 0;
+        }
+        //dead end, so the ghost has to turn around
+        if (!wayAhead) {
+            return this.walls.neighbor(row, col, opposite) >= 0 ? opposite : null;
+        }
+        int start = row * this.cols + col;
+        int part = this.components.getComponent(start);
+        Direction best = null;
+        if (targetRow >= 0 && targetRow < this.walls.getRows() && targetCol >= 0 && targetCol < this.cols
+                && targetRow * this.cols + targetCol != start
+                && this.components.getComponent(targetRow * this.cols + targetCol) == part) {
+            best = this.stepToward(targetRow * this.cols + targetCol, row, col, opposite);
+        }
+        else {
+            //the ghost heads for the closest squares it could get to, and takes the nearest of them
+            int bestDistance = UNREACHED;
+            int count = this.components.closestSquares(targetRow, targetCol, part, start);
+            for (int i = 0; i < count; i++) {
+                Direction step = this.stepToward(this.components.getClosestSquare(i), row, col, opposite);
+                if (step == null) {
+                    best = null;
+                    break;
+                }
+                if (this.stepDistance < bestDistance) {
+                    bestDistance = this.stepDistance;
+                    best = step;
+                }
+            }
+        }
+        return best != null ? best : this.fallback.nextDirection(row, col, heading, targetRow, targetCol);
+    }
+
+    /**
+     * Helper method that finds the neighbor of a ghost's square closest to a goal that the ghost can step to without
+     * turning around, and keeps its distance to the goal in this.stepDistance. The goal has to be another open square
+     * in the ghost's part of the maze.
+     * @return the direction of the neighbor, or null if the ghost can't get to the goal without turning around
+     */
+    private Direction stepToward(int goal, int row, int col, Direction opposite) {
+        GoalSearch search = this.searchFor(goal);
+        Direction best = null;
+        int bestDistance = UNREACHED;
+        for (Direction direction : BfsPathfinder.SEARCH_ORDER) {
+            int neighbor = this.walls.neighbor(row, col, direction);
+            if (direction == opposite || neighbor < 0) {
+                continue;
+            }
+            int distance = this.distanceToGoal(search, neighbor);
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = direction;
+            }
+        }
+        //a neighbor no further from the goal than the ghost's square can't have its shortest way lead back through it
+        int own = this.distanceToGoal(search, row * this.cols + col);
+        if (best == null || bestDistance > own) {
+            return this.detour(search, row, col, opposite, own);
+        }
+        this.stepDistance = bestDistance;
+        return best;
+    }
+
+    /**
+     * Helper method that finds the way to a goal that is behind a ghost with an A* search over squares that never goes
+     * through the ghost's square, and keeps the distance from the first step to the goal in this.stepDistance.
+     * @param own - how far the ghost's square is from the goal
+     * @return the direction of the first step, or null if the ghost can't get to the goal without turning around
+     */
+    private Direction detour(GoalSearch search, int row, int col, Direction opposite, int own) {
+        this.detourGeneration++;
+        if (this.detourGeneration == 0) {
+            Arrays.fill(this.detourStamps, 0);
+            this.detourGeneration = 1;
+        }
+        int start = row * this.cols + col;
+        //the start is marked with a length nothing can beat, so no path goes back through it
+        this.detourStamps[start] = this.detourGeneration;
+        this.detourLength[start] = 0;
+        int size = 0;
+        for (Direction direction : BfsPathfinder.SEARCH_ORDER) {
+            int neighbor = this.walls.neighbor(row, col, direction);
+            if (direction != opposite && neighbor >= 0) {
+                size = this.pushDetour(search, size, neighbor, 1, direction.ordinal());
+            }
+        }
+        while (size > 0) {
+            long top = this.detourHeap[0];
+            size = this.popDetour(size);
+            int square = (int) (top & FIELD_MASK);
+            int remaining = (int) ((top >>> FIELD_BITS) & FIELD_MASK);
+            int length = (int) (top >>> (2 * FIELD_BITS)) - remaining;
+            //a shorter way to this square was pushed after this entry
+            if (length > this.detourLength[square]) {
+                continue;
+            }
+            this.nodesExpanded++;
+            //this square's shortest way to the goal can't go back through the ghost's square, so it is the way
+            if (remaining <= own) {
+                this.stepDistance = length - 1 + remaining;
+                return DIRECTIONS[this.detourStep[square]];
+            }
+            int squareRow = square / this.cols;
+            int squareCol = square - squareRow * this.cols;
+            for (Direction direction : BfsPathfinder.SEARCH_ORDER) {
+                int neighbor = this.walls.neighbor(squareRow, squareCol, direction);
+                if (neighbor >= 0) {
+                    size = this.pushDetour(search, size, neighbor, length + 1, this.detourStep[square]);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Helper method that puts a square on the detour heap if this is the shortest way to it found so far, estimating
+     * the rest of the way with its distance to the goal. Entries are ordered by estimated total length, and then by
+     * estimated distance left.
+     * @return the new size of the heap
+     */
+    private int pushDetour(GoalSearch search, int size, int square, int length, int step) {
+        if (this.detourStamps[square] == this.detourGeneration && this.detourLength[square] <= length) {
+            return size;
+        }
+        long remaining = this.distanceToGoal(search, square);
+        if (remaining == UNREACHED) {
+            return size;
+        }
+        this.detourStamps[square] = this.detourGeneration;
+        this.detourLength[square] = length;
+        this.detourStep[square] = (byte) step;
+        if (size == this.detourHeap.length) {
+            this.detourHeap = Arrays.copyOf(this.detourHeap, size * 2);
+        }
+        long entry = ((length + remaining) << (2 * FIELD_BITS)) | (remaining << FIELD_BITS) | square;
+        int index = size;
+        while (index > 0 && this.detourHeap[(index - 1) / 2] > entry) {
+            this.detourHeap[index] = this.detourHeap[(index - 1) / 2];
+            index = (index - 1) / 2;
+        }
+        this.detourHeap[index] = entry;
+        return size + 1;
+    }
+
+    /**
+     * Helper method that takes the smallest entry off of the detour heap.
+     * @return the new size of the heap
+     */
+    private int popDetour(int size) {
+        long last = this.detourHeap[--size];
+        int index = 0;
+        while (index * 2 + 1 < size) {
+            int child = index * 2 + 1;
+            if (child + 1 < size && this.detourHeap[child + 1] < this.detourHeap[child]) {
+                child++;
+            }
+            if (this.detourHeap[child] >= last) {
+                break;
+            }
+            this.detourHeap[index] = this.detourHeap[child];
+            index = child;
+        }
+        this.detourHeap[index] = last;
+        return size;
+    }
+
+    /**
+     * Helper method that works out how many steps a square is from the goal of a search, running the search further
+     * if it hasn't reached the entrances of the square's cluster yet.
+     * @return the number of steps, or UNREACHED if the goal can't be reached
+     */
+    private int distanceToGoal(GoalSearch search, int square) {
+        int cluster = this.clusterOf(square);
+        int local = this.localIndex(square, cluster);
+        int best = UNREACHED;
+        if (cluster == search.goalCluster && search.localSteps[local] != NONE) {
+            best = search.localSteps[local];
+        }
+        int firstNode = this.firstNode(cluster);
+        int count = this.entranceCount(cluster);
+        short[] toEntrances = this.localDistances[cluster];
+        int base = local * count;
+        for (int entrance = 0; entrance < count; entrance++) {
+            int steps = toEntrances[base + entrance];
+            //an entrance at least as far away as the best so far can't lead anywhere better
+            if (steps == NONE || steps >= best) {
+                continue;
+            }
+            int node = firstNode + entrance;
+            this.settle(search, node);
+            if (search.settled[node] == search.generation && steps + search.distances[node] < best) {
+                best = steps + search.distances[node];
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Helper method that finds the search toward a goal, starting a new one in the least recently used slot if none of
+     * the kept searches is heading for it.
+     * @return the search toward the goal
+     */
+    private GoalSearch searchFor(int goal) {
+        this.clock++;
+        GoalSearch oldest = this.searches[0];
+        for (GoalSearch search : this.searches) {
+            if (search.goal == goal) {
+                search.lastUsed = this.clock;
+                return search;
+            }
+            if (search.lastUsed < oldest.lastUsed) {
+                oldest = search;
+            }
+        }
+        oldest.start(goal, this.clusterOf(goal));
+        oldest.lastUsed = this.clock;
+        this.searchCluster(goal, oldest.goalCluster, oldest.localSteps);
+        int firstNode = this.firstNode(oldest.goalCluster);
+        for (int node = firstNode; node < firstNode + this.entranceCount(oldest.goalCluster); node++) {
+            int steps = oldest.localSteps[this.localIndex(this.squareOfNode[node], oldest.goalCluster)];
+            if (steps != NONE) {
+                this.relax(oldest, node, steps);
+            }
+        }
+        return oldest;
+    }
+
+    /**
+     * Helper method that runs a search outward from its goal until a node's distance is final, or until there is
+     * nothing left to search. The search is aimed at the node's cluster first if it was aimed somewhere else.
+     */
+    private void settle(GoalSearch search, int node) {
+        if (search.settled[node] == search.generation) {
+            return;
+        }
+        int toward = this.clusterOf(this.squareOfNode[node]);
+        if (search.toward != toward) {
+            this.aim(search, toward);
+        }
+        while (search.settled[node] != search.generation && search.size > 0) {
+            int current = (int) search.pop();
+            if (search.settled[current] == search.generation) {
+                continue;
+            }
+            //a node can be on the heap more than once, but the shortest way to it always comes off first
+            int distance = search.distances[current];
+            search.settled[current] = search.generation;
+            this.nodesExpanded++;
+            int square = this.squareOfNode[current];
+            int cluster = this.clusterOf(square);
+            int firstNode = this.firstNode(cluster);
+            int count = this.entranceCount(cluster);
+            short[] toEntrances = this.localDistances[cluster];
+            //the other entrances of the same cluster
+            for (int other = 0; other < count; other++) {
+                int local = this.localIndex(this.squareOfNode[firstNode + other], cluster);
+                int steps = toEntrances[local * count + current - firstNode];
+                if (steps > 0) {
+                    this.relax(search, firstNode + other, distance + steps);
+                }
+            }
+            //the entrances across the cluster's borders
+            for (Direction direction : BfsPathfinder.SEARCH_ORDER) {
+                int neighbor = this.walls.neighbor(square / this.cols, square % this.cols, direction);
+                if (neighbor >= 0 && this.clusterOf(neighbor) != cluster) {
+                    this.relax(search, this.nodeOf[neighbor], distance + 1);
+                }
+            }
+        }
+    }
+
+    /**
+     * Helper method that puts a node on a search's heap if this is the shortest way to the goal found for it so far.
+     */
+    private void relax(GoalSearch search, int node, int distance) {
+        if (search.settled[node] == search.generation
+                || (search.reached[node] == search.generation && search.distances[node] <= distance)) {
+            return;
+        }
+        search.reached[node] = search.generation;
+        search.distances[node] = distance;
+        search.push(((long) (distance + this.estimate(search, node)) << 32) | node);
+    }
+
+    /**
+     * Helper method that aims a search at a cluster, working out the steps from the closest tunnel exit to the cluster
+     * and reordering the nodes waiting on the heap by their estimated distance through to it.
+     */
+    private void aim(GoalSearch search, int cluster) {
+        search.toward = cluster;
+        search.tunnelToCluster = Integer.MAX_VALUE / 2;
+        if (this.tunnelDistance != null) {
+            for (int end = 0; end < this.walls.getTunnelEndCount(); end++) {
+                int steps = 1 + this.stepsToCluster(this.walls.getTunnelExit(end), cluster);
+                search.tunnelToCluster = Math.min(search.tunnelToCluster, steps);
+            }
+        }
+        for (int i = 0; i < search.size; i++) {
+            int node = (int) search.heap[i];
+            search.heap[i] = ((long) (search.distances[node] + this.estimate(search, node)) << 32) | node;
+        }
+        search.heapify();
+    }
+
+    /**
+     * Helper method that estimates how many steps an entrance is from the cluster a search is aimed at, never
+     * estimating more than it really is: the Manhattan distance to the cluster, or the way through the tunnels if that
+     * is shorter.
+     * @return the estimated number of steps, or 0 if the search isn't aimed anywhere yet
+     */
+    private int estimate(GoalSearch search, int node) {
+        if (search.toward == NONE) {
+            return 0;
+        }
+        int square = this.squareOfNode[node];
+        int steps = this.stepsToCluster(square, search.toward);
+        if (this.tunnelDistance == null) {
+            return steps;
+        }
+        return Math.min(steps, this.tunnelDistance[square] + search.tunnelToCluster);
+    }
+
+    /**
+     * Helper method that works out the Manhattan distance from a square to the closest square of a cluster.
+     * @return the number of steps, or 0 if the square is in the cluster
+     */
+    private int stepsToCluster(int square, int cluster) {
+        int row = square / this.cols;
+        int col = square - row * this.cols;
+        int top = this.clusterRow(cluster);
+        int left = this.clusterCol(cluster);
+        int rowSteps = Math.max(0, Math.max(top - row, row - (top + this.clusterHeight(cluster) - 1)));
+        int colSteps = Math.max(0, Math.max(left - col, col - (left + this.clusterWidth(cluster) - 1)));
+        return rowSteps + colSteps;
+    }
+
+    /**
+     * Helper method that returns the cluster a square is in.
+     * @return the number of the cluster, counting across each row of clusters
+     */
+    private int clusterOf(int square) {
+        int row = square / this.cols;
+        return (row / this.clusterSize) * this.clustersAcross + (square - row * this.cols) / this.clusterSize;
+    }
+
+    /**
+     * Helper method that numbers a square within its cluster, counting across each row of the cluster.
+     * @return the local index of the square
+     */
+    private int localIndex(int square, int cluster) {
+        int row = square / this.cols;
+        int col = square - row * this.cols;
+        return (row - this.clusterRow(cluster)) * this.clusterWidth(cluster) + col - this.clusterCol(cluster);
+    }
+
+    /**
+     * Helper method that returns the top row of a cluster.
+     * @return the row
+     */
+    private int clusterRow(int cluster) {
+        return (cluster / this.clustersAcross) * this.clusterSize;
+    }
+
+    /**
+     * Helper method that returns the left col of a cluster.
+     * @return the col
+     */
+    private int clusterCol(int cluster) {
+        return (cluster % this.clustersAcross) * this.clusterSize;
+    }
+
+    /**
+     * Helper method that returns how many cols wide a cluster is, which is less than the cluster size on the right edge
+     * of the board.
+     * @return the width
+     */
+    private int clusterWidth(int cluster) {
+        return Math.min(this.clusterSize, this.cols - this.clusterCol(cluster));
+    }
+
+    /**
+     * Helper method that returns how many rows tall a cluster is, which is less than the cluster size on the bottom
+     * edge of the board.
+     * @return the height
+     */
+    private int clusterHeight(int cluster) {
+        return Math.min(this.clusterSize, this.walls.getRows() - this.clusterRow(cluster));
+    }
+
+    /**
+     * Helper method that returns how many squares a cluster has.
+     * @return the area
+     */
+    private int clusterArea(int cluster) {
+        return this.clusterWidth(cluster) * this.clusterHeight(cluster);
+    }
+
+    /**
+     * Helper method that returns how many entrances a cluster has.
+     * @return the number of entrances
+     */
+    private int entranceCount(int cluster) {
+        return this.entranceCounts[cluster];
+    }
+
+    /**
+     * Helper method that returns the first node number of a cluster's run of node numbers.
+     * @return the node number of the cluster's first entrance
+     */
+    private int firstNode(int cluster) {
+        return cluster * this.nodesPerCluster;
+    }
+
+    /**
+     * Getter method that returns how many entrances the clusters have altogether, which is the size of the abstract
+     * graph.
+     * @return the number of entrances
+     */
+    public int getEntranceCount() {
+        return this.entranceTotal;
+    }
+
+    /**
+     * Getter method that returns how many entrances have been expanded over all searches so far, counting the squares
+     * expanded by detours and by searches handed to the BfsPathfinder.
+     * @return the number of nodes expanded
+     */
+    @Override
+    public long getNodesExpanded() {
+        return this.nodesExpanded + this.fallback.getNodesExpanded();
+    }
+
+    /**
+     * GoalSearch class that holds one Dijkstra search outward from a goal over the entrances, which is kept between
+     * decisions so it only ever runs as far as the ghosts heading for the goal need. Distances and the nodes whose
+     * distances are final are stamped with a generation number, so starting a new search clears nothing.
+     */
+    private static class GoalSearch {
+
+        //instance variables
+        private final int[] distances;
+        private final int[] reached;
+        private final int[] settled;
+        private final int[] localSteps;
+        private long[] heap;
+        private int size;
+        private int generation;
+        private int goal;
+        private int goalCluster;
+        private int toward;
+        private int tunnelToCluster;
+        private long lastUsed;
+
+        /**
+         * GoalSearch constructor
+         * @param nodes - the number of node numbers
+         * @param clusterArea - the most squares a cluster can have
+         */
+        private GoalSearch(int nodes, int clusterArea) {
+            this.distances = new int[nodes];
+            this.reached = new int[nodes];
+            this.settled = new int[nodes];
+            this.localSteps = new int[clusterArea];
+            this.heap = new long[64];
+            this.goal = NONE;
+        }
+
+        /**
+         * Forgets the last search and starts one toward a new goal, with an empty heap.
+         * @param goal - the index of the goal square
+         * @param goalCluster - the cluster the goal is in
+         */
+        private void start(int goal, int goalCluster) {
+            this.goal = goal;
+            this.goalCluster = goalCluster;
+            this.toward = NONE;
+            this.size = 0;
+            this.generation++;
+            if (this.generation == 0) {
+                Arrays.fill(this.reached, 0);
+                Arrays.fill(this.settled, 0);
+                this.generation = 1;
+            }
+        }
+
+        /**
+         * Puts an entry on the heap, growing the heap if it is full.
+         * @param entry - (estimated distance << 32 | node)
+         */
+        private void push(long entry) {
+            if (this.size == this.heap.length) {
+                this.heap = Arrays.copyOf(this.heap, this.size * 2);
+            }
+            int index = this.size++;
+            while (index > 0 && this.heap[(index - 1) / 2] > entry) {
+                this.heap[index] = this.heap[(index - 1) / 2];
+                index = (index - 1) / 2;
+            }
+            this.heap[index] = entry;
+        }
+
+        /**
+         * Takes the smallest entry off of the heap.
+         * @return the entry
+         */
+        private long pop() {
+            long top = this.heap[0];
+            this.size--;
+            this.siftDown(0, this.heap[this.size]);
+            return top;
+        }
+
+        /**
+         * Puts the heap back in order after every entry's estimate has changed.
+         */
+        private void heapify() {
+            for (int index = this.size / 2 - 1; index >= 0; index--) {
+                this.siftDown(index, this.heap[index]);
+            }
+        }
+
+        /**
+         * Moves an entry down from a spot in the heap until both of its children are bigger.
+         * @param index - the spot to start at
+         * @param last - the entry
+         */
+        private void siftDown(int index, long last) {
+            while (index * 2 + 1 < this.size) {
+                int child = index * 2 + 1;
+                if (child + 1 < this.size && this.heap[child + 1] < this.heap[child]) {
+                    child++;
+                }
+                if (this.heap[child] >= last) {
+                    break;
+                }
+                this.heap[index] = this.heap[child];
+                index = child;
+            }
+            this.heap[index] = last;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package pacman;
+
+import javafx.scene.control.Label;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+
+/**
+ * Hud class that is in charge of the score, lives and game labels. Setting the text of a Label makes a new String and
+ * has JavaFX lay the label out again, which used to happen on every pellet and ghost eaten and on every tick. Instead,
+ * the Game tells the Hud the latest score, lives and status as often as it likes, which only writes a field, and
+ * once per rendered frame publish() changes just the labels whose values are different from what they show. That
+ * keeps the work the labels cost the JavaFX Application Thread at no more than one update per label per frame, no
+ * matter how fast pacman eats.
+ */
+public class Hud {
+
+    private static final String SCORE_PREFIX = "Score: ";
+    private static final String LIVES_PREFIX = "Lives: ";
+
+    //instance variables
+    private Label scoreLabel;
+    private Label livesLabel;
+    private Label gameLabel;
+    private StringBuilder text;
+    private int score;
+    private int lives;
+    private HudStatus status;
+    private int shownScore;
+    private int shownLives;
+    private HudStatus shownStatus;
+
+    /**
+     * Hud constructor that adds the lives and score labels to the scorePane and the game label to the gamePane, showing
+     * the given lives, a score of 0 and the STARTING status.
+     * @param gamePane - the gamePane the game label is added to
+     * @param scorePane - the scorePane the lives and score labels are added to
+     * @param lives - the lives pacman starts with
+     */
+    public Hud(Pane gamePane, HBox scorePane, int lives) {
+        Font labelFont = new Font(Constants.LABEL_FONT, Constants.LABEL_FONT_SIZE);
+        this.livesLabel = this.setUpLabel(labelFont);
+        this.scoreLabel = this.setUpLabel(labelFont);
+        scorePane.getChildren().addAll(this.livesLabel, this.scoreLabel);
+        this.gameLabel = this.setUpLabel(new Font(Constants.LABEL_FONT, Constants.GAME_LABEL_FONT_SIZE));
+        this.gameLabel.setLayoutY(Constants.GAME_LABEL_LAYOUT_Y);
+        gamePane.getChildren().add(this.gameLabel);
+        this.text = new StringBuilder();
+        //nothing has been shown yet, so the first publish() sets every label
+        this.shownScore = -1;
+        this.shownLives = -1;
+        this.shownStatus = null;
+        this.setScore(0);
+        this.setLives(lives);
+        this.setStatus(HudStatus.STARTING);
+        this.publish();
+    }
+
+    /**
+     * Helper method that helps set up the labels.
+     * @param font - the font of the label
+     * @return label - the new label instance
+     */
+    private Label setUpLabel(Font font) {
+        Label label = new Label();
+        label.setTextFill(Color.YELLOW);
+        label.setFont(font);
+        return label;
+    }
+
+    /**
+     * Setter method that sets the score to show on the next publish().
+     * @param score - the score
+     */
+    public void setScore(int score) {
+        this.score = score;
+    }
+
+    /**
+     * Setter method that sets the lives to show on the next publish().
+     * @param lives - the lives left
+     */
+    public void setLives(int lives) {
+        this.lives = lives;
+    }
+
+    /**
+     * Setter method that sets what the game label shows on the next publish().
+     * @param status - the status
+     */
+    public void setStatus(HudStatus status) {
+        this.status = status;
+    }
+
+    /**
+     * Updates whichever labels are out of date. This is called once per rendered frame.
+     */
+    public void publish() {
+        if (this.score != this.shownScore) {
+            this.text.setLength(0);
+            this.scoreLabel.setText(this.text.append(SCORE_PREFIX).append(this.score).toString());
+            this.shownScore = this.score;
+        }
+        if (this.lives != this.shownLives) {
+            this.text.setLength(0);
+            this.livesLabel.setText(this.text.append(LIVES_PREFIX).append(this.lives).toString());
+            this.shownLives = this.lives;
+        }
+        if (this.status != this.shownStatus) {
+            this.gameLabel.setText(this.status.getText());
+            this.gameLabel.setTextFill(this.status.getColor());
+            this.gameLabel.setLayoutX(this.status.getLayoutX());
+            this.shownStatus = this.status;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package pacman;
+
+import javafx.scene.paint.Color;
+
+/**
+ * HudStatus enum that keeps track of what the game label in the middle of the maze says: the text, its color and
+ * where it sits. The label is never rebuilt, so each status's text is made once here.
+ */
+public enum HudStatus {
+    STARTING("Ready? ", Color.YELLOW, Constants.GAME_LABEL_LAYOUT_X_READY),
+    READY("Ready!", Color.YELLOW, Constants.GAME_LABEL_LAYOUT_X_READY),
+    GO("Go!", Color.YELLOW, Constants.GAME_LABEL_LAYOUT_X_GO),
+    //the same color as the walls, so the label disappears
+    HIDDEN("Go!", Color.NAVY, Constants.GAME_LABEL_LAYOUT_X_GO),
+    WON("You Won!!", Color.YELLOW, Constants.GAME_OVER_LABEL_LAYOUT_X),
+    LOST("Game Over!!", Color.YELLOW, Constants.GAME_OVER_LABEL_LAYOUT_X);
+
+    //instance variables
+    private final String text;
+    private final Color color;
+    private final double layoutX;
+
+    /**
+     * HudStatus constructor
+     * @param text - the text of the label
+     * @param color - the color of the text
+     * @param layoutX - the x-position of the label
+     */
+    HudStatus(String text, Color color, double layoutX) {
+        this.text = text;
+        this.color = color;
+        this.layoutX = layoutX;
+    }
+
+    /**
+     * Getter method that returns the text of the label.
+     * @return this.text - the text
+     */
+    public String getText() {
+        return this.text;
+    }
+
+    /**
+     * Getter method that returns the color of the text.
+     * @return this.color - the color
+     */
+    public Color getColor() {
+        return this.color;
+    }
+
+    /**
+     * Getter method that returns the x-position of the label.
+     * @return this.layoutX - the x-position
+     */
+    public double getLayoutX() {
+        return this.layoutX;
+    }
+}
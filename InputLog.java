@@ -0,0 +1,244 @@
+package pacman;
+
+import cs15.fnl.pacmanSupport.CS15SquareType;
+import cs15.fnl.pacmanSupport.CS15SupportMap;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * InputLog class that records every arrow key pressed during a game, so that the game can be replayed exactly. A
+ * Simulation is deterministic given its map, its config, its seed and the directions it was given on each tick, so
+ * the log only has to hold the seed and, for each key press, the tick it happened on and the Direction.
+ *
+ * The log is kept as compact binary in a byte[] that grows by doubling. Each key press is one varint (7 bits per byte,
+ * high bit set on every byte but the last) holding (ticks since the previous key press << 2 | Direction ordinal), so
+ * a key press is usually one or two bytes. A saved log is:
+ *
+ *     int MAGIC, byte VERSION, long seed, int eventCount, int byteCount, then byteCount bytes of key presses
+ */
+public class InputLog {
+
+    private static final int MAGIC = 0x504D494C; //"PMIL"
+    private static final byte VERSION = 1;
+    private static final int INITIAL_CAPACITY = 256;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    //instance variables
+    private final long seed;
+    private byte[] data;
+    private int size;
+    private int eventCount;
+    private long lastTick;
+
+    /**
+     * InputLog constructor for a new, empty log.
+     * @param seed - the seed of the Simulation whose input is being logged
+     */
+    public InputLog(long seed) {
+        this(seed, new byte[INITIAL_CAPACITY], 0, 0);
+    }
+
+    /**
+     * InputLog constructor for a log that already has key presses in it.
+     * @param seed - the seed of the Simulation
+     * @param data - the encoded key presses
+     * @param size - how many bytes of data are used
+     * @param eventCount - how many key presses are encoded
+     */
+    private InputLog(long seed, byte[] data, int size, int eventCount) {
+        this.seed = seed;
+        this.data = data;
+        this.size = size;
+        this.eventCount = eventCount;
+        this.lastTick = 0;
+    }
+
+    /**
+     * Records a key press. Key presses have to be recorded in the order they happened.
+     * @param tick - the Simulation's tick count when the key was pressed, so the press takes effect on the next tick
+     * @param direction - the direction that was pressed
+     */
+    public void record(long tick, Direction direction) {
+        if (tick < this.lastTick) {
+            throw new IllegalArgumentException("Key presses must be recorded in order: Given tick = " + tick
+                    + " after tick = " + this.lastTick);
+        }
+        long value = ((tick - this.lastTick) << 2) | direction.ordinal();
+        //a varint of a long is at most 10 bytes
+        if (this.size + 10 > this.data.length) {
+            this.data = Arrays.copyOf(this.data, this.data.length * 2);
+        }
+        while ((value & ~0x7FL) != 0) {
+            this.data[this.size++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        this.data[this.size++] = (byte) value;
+        this.lastTick = tick;
+        this.eventCount++;
+    }
+
+    /**
+     * Plays a game from the start with the key presses in this log, as fast as possible and without JavaFX. The
+     * Simulation must use the same map and config as the game that was logged.
+     * @param supportMap - the map the logged game was played on
+     * @param config - the config the logged game was played with
+     * @param maxTicks - the tick to stop at if the game is not over by then
+     * @return the Simulation, in the state the logged game was in at the end (or at maxTicks)
+     */
+    public Simulation replay(CS15SquareType[][] supportMap, SimulationConfig config, long maxTicks) {
+        return this.replay(MazeLayout.fromSupportMap(supportMap), config, maxTicks);
+    }
+
+    /**
+     * Plays a game from the start with the key presses in this log, as fast as possible and without JavaFX. The
+     * Simulation must use the same maze and config as the game that was logged.
+     * @param layout - the maze the logged game was played on
+     * @param config - the config the logged game was played with
+     * @param maxTicks - the tick to stop at if the game is not over by then
+     * @return the Simulation, in the state the logged game was in at the end (or at maxTicks)
+     */
+    public Simulation replay(MazeLayout layout, SimulationConfig config, long maxTicks) {
+        Simulation simulation = new Simulation(layout, config, this.seed);
+        int position = 0;
+        long nextTick = 0;
+        int eventsLeft = this.eventCount;
+        while (!simulation.isGameOver() && simulation.getTickCount() < maxTicks) {
+            //apply every key press that happened before this tick, in order
+            while (eventsLeft > 0) {
+                long value = 0;
+                int shift = 0;
+                int start = position;
+                byte b;
+                do {
+                    b = this.data[position++];
+                    value |= (long) (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                long tick = nextTick + (value >>> 2);
+                if (tick > simulation.getTickCount()) {
+                    position = start;
+                    break;
+                }
+                simulation.changeDirection(DIRECTIONS[(int) (value & 3)]);
+                nextTick = tick;
+                eventsLeft--;
+            }
+            simulation.step(null);
+        }
+        return simulation;
+    }
+
+    /**
+     * Writes the log out in its binary format.
+     * @param out - the stream to write to, which is not closed
+     * @throws IOException if the stream can't be written to
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        DataOutputStream dataOut = new DataOutputStream(out);
+        dataOut.writeInt(MAGIC);
+        dataOut.writeByte(VERSION);
+        dataOut.writeLong(this.seed);
+        dataOut.writeInt(this.eventCount);
+        dataOut.writeInt(this.size);
+        dataOut.write(this.data, 0, this.size);
+        dataOut.flush();
+    }
+
+    /**
+     * Reads a log that was written with writeTo().
+     * @param in - the stream to read from, which is not closed
+     * @return the log
+     * @throws IOException if the stream can't be read or does not hold an input log
+     */
+    public static InputLog readFrom(InputStream in) throws IOException {
+        DataInputStream dataIn = new DataInputStream(in);
+        int magic = dataIn.readInt();
+        byte version = dataIn.readByte();
+        if (magic != MAGIC || version != VERSION) {
+            throw new IOException("Not a version " + VERSION + " input log: Given magic = " + magic + " version = "
+                    + version);
+        }
+        long seed = dataIn.readLong();
+        int eventCount = dataIn.readInt();
+        int size = dataIn.readInt();
+        if (eventCount < 0 || size < 0) {
+            throw new IOException("Corrupt input log: eventCount = " + eventCount + " size = " + size);
+        }
+        byte[] data = new byte[Math.max(size, INITIAL_CAPACITY)];
+        dataIn.readFully(data, 0, size);
+        InputLog log = new InputLog(seed, data, size, eventCount);
+        //work out the tick of the last key press, so that more key presses can be recorded after it
+        int position = 0;
+        for (int i = 0; i < eventCount; i++) {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do {
+                if (position == size) {
+                    throw new IOException("Corrupt input log: ran out of bytes after " + i + " key presses");
+                }
+                b = data[position++];
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            log.lastTick += value >>> 2;
+        }
+        return log;
+    }
+
+    /**
+     * Here is the mainline! Replays a saved log on the support map (or on the maze file the game was played on, see
+     * MazeLoader) with the default config and prints how the game ended up, for example to look into a game played on
+     * a kiosk:
+     *
+     *     java pacman.InputLog pacman-input.log [maxTicks] [mazeFile]
+     */
+    public static void main(String[] argv) throws IOException {
+        long maxTicks = argv.length > 1 ? Long.parseLong(argv[1]) : Long.MAX_VALUE;
+        MazeLayout layout = argv.length > 2 ? MazeLoader.load(Paths.get(argv[2]))
+                : MazeLayout.fromSupportMap(CS15SupportMap.getSupportMap());
+        InputLog log;
+        try (InputStream in = new BufferedInputStream(new FileInputStream(argv[0]))) {
+            log = readFrom(in);
+        }
+        long start = System.nanoTime();
+        Simulation simulation = log.replay(layout, new SimulationConfig(), maxTicks);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.println("seed=" + log.getSeed() + " keyPresses=" + log.getEventCount() + " ticks="
+                + simulation.getTickCount() + " score=" + simulation.getScore() + " lives=" + simulation.getLives()
+                + " won=" + simulation.isWon());
+        System.out.printf("replayed in %.3f s%n", seconds);
+    }
+
+    /**
+     * Getter method that returns the seed of the logged Simulation.
+     * @return this.seed - the seed
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Getter method that returns how many key presses have been logged.
+     * @return this.eventCount - the number of key presses
+     */
+    public int getEventCount() {
+        return this.eventCount;
+    }
+
+    /**
+     * Getter method that returns how many bytes the logged key presses take up.
+     * @return this.size - the number of bytes
+     */
+    public int getByteCount() {
+        return this.size;
+    }
+}
@@ -0,0 +1,78 @@
+package pacman;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * InputQueue class that hands key presses from the thread that handles key events (the JavaFX Application Thread) to
+ * the thread that steps the Simulation, without either thread ever locking or waiting on the other. It is a single
+ * producer, single consumer ring buffer: only one thread may offer() and only one thread may poll().
+ *
+ * The producer writes a Direction into the slot at tail and then moves tail on, and the consumer reads the slot at
+ * head and then moves head on, so each index is only ever written by one thread. The writes to head and tail are
+ * ordered (lazySet) and the reads of the other thread's index see everything that was written before it moved, so a
+ * Direction is always in its slot by the time the consumer can see it. Each side also keeps its last look at the other
+ * side's index and only reads it again when the queue looks full (or empty), so most calls never read the index the
+ * other thread is writing.
+ */
+public class InputQueue {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    //instance variables
+    private final byte[] slots;
+    private final int mask;
+    private final AtomicLong head;
+    private final AtomicLong tail;
+    private long cachedHead;
+    private long cachedTail;
+
+    /**
+     * InputQueue constructor
+     * @param capacity - the most key presses the queue holds, which has to be a power of two
+     */
+    public InputQueue(int capacity) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("An InputQueue's capacity must be a power of two: Given capacity = "
+                    + capacity);
+        }
+        this.slots = new byte[capacity];
+        this.mask = capacity - 1;
+        this.head = new AtomicLong();
+        this.tail = new AtomicLong();
+    }
+
+    /**
+     * Adds a key press to the queue. Only the producer thread may call this.
+     * @param direction - the direction that was pressed
+     * @return true if it was added, false if the queue was full and the key press was dropped
+     */
+    public boolean offer(Direction direction) {
+        long tail = this.tail.get();
+        if (tail - this.cachedHead > this.mask) {
+            this.cachedHead = this.head.get();
+            if (tail - this.cachedHead > this.mask) {
+                return false;
+            }
+        }
+        this.slots[(int) (tail & this.mask)] = (byte) direction.ordinal();
+        this.tail.lazySet(tail + 1);
+        return true;
+    }
+
+    /**
+     * Takes the oldest key press off of the queue. Only the consumer thread may call this.
+     * @return the direction that was pressed, or null if the queue is empty
+     */
+    public Direction poll() {
+        long head = this.head.get();
+        if (head >= this.cachedTail) {
+            this.cachedTail = this.tail.get();
+            if (head >= this.cachedTail) {
+                return null;
+            }
+        }
+        Direction direction = DIRECTIONS[this.slots[(int) (head & this.mask)]];
+        this.head.lazySet(head + 1);
+        return direction;
+    }
+}
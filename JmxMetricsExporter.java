@@ -0,0 +1,142 @@
+package pacman;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * JmxMetricsExporter class that shows the metrics as a JMX MXBean named pacman:type=Metrics, so a running kiosk can be
+ * looked at with JConsole (or anything else that speaks JMX) without stopping it. JMX reads the attributes on its own
+ * threads, so export() copies the numbers out of the TickMetrics on the game's thread and the getters only ever see
+ * those copies.
+ */
+public class JmxMetricsExporter implements MetricsExporter, MetricsMXBean {
+
+    public static final String OBJECT_NAME = "pacman:type=Metrics";
+
+    private static final TickPhase[] PHASES = TickPhase.values();
+
+    //instance variables
+    private final String[] phaseNames;
+    private double[] phaseP50Millis;
+    private double[] phaseP99Millis;
+    private double[] phaseMaxMillis;
+    private long[] overBudgetByPhase;
+    private long ticks;
+    private long overBudgetTicks;
+    private long pelletsEaten;
+    private long ghostsEaten;
+    private long pacmanCaught;
+    private long modeTransitions;
+    private long bfsNodesExpanded;
+
+    /**
+     * JmxMetricsExporter constructor that registers the MXBean with the platform MBean server, replacing one that was
+     * registered by an earlier game.
+     * @throws JMException if the MXBean can't be registered
+     */
+    public JmxMetricsExporter() throws JMException {
+        this.phaseNames = new String[PHASES.length];
+        for (int i = 0; i < PHASES.length; i++) {
+            this.phaseNames[i] = PHASES[i].getLabel();
+        }
+        this.phaseP50Millis = new double[PHASES.length];
+        this.phaseP99Millis = new double[PHASES.length];
+        this.phaseMaxMillis = new double[PHASES.length];
+        this.overBudgetByPhase = new long[PHASES.length];
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(OBJECT_NAME);
+        if (server.isRegistered(name)) {
+            server.unregisterMBean(name);
+        }
+        server.registerMBean(this, name);
+    }
+
+    /**
+     * Copies the current numbers, which is what JMX clients see until the next export.
+     * @param metrics - the metrics of the game
+     */
+    @Override
+    public synchronized void export(TickMetrics metrics) {
+        //new arrays, since JMX may still be reading the old ones
+        this.phaseP50Millis = new double[PHASES.length];
+        this.phaseP99Millis = new double[PHASES.length];
+        this.phaseMaxMillis = new double[PHASES.length];
+        this.overBudgetByPhase = new long[PHASES.length];
+        for (int i = 0; i < PHASES.length; i++) {
+            LatencyHistogram histogram = metrics.getHistogram(PHASES[i]);
+            this.phaseP50Millis[i] = histogram.getValueAtPercentile(50) / 1e6;
+            this.phaseP99Millis[i] = histogram.getValueAtPercentile(99) / 1e6;
+            this.phaseMaxMillis[i] = histogram.getMax() / 1e6;
+            this.overBudgetByPhase[i] = metrics.getOverBudget(PHASES[i]);
+        }
+        this.ticks = metrics.getTicks();
+        this.overBudgetTicks = metrics.getOverBudgetTicks();
+        this.pelletsEaten = metrics.getPelletsEaten();
+        this.ghostsEaten = metrics.getGhostsEaten();
+        this.pacmanCaught = metrics.getPacmanCaught();
+        this.modeTransitions = metrics.getModeTransitions();
+        this.bfsNodesExpanded = metrics.getBfsNodesExpanded();
+    }
+
+    @Override
+    public String[] getPhaseNames() {
+        return this.phaseNames.clone();
+    }
+
+    @Override
+    public synchronized double[] getPhaseP50Millis() {
+        return this.phaseP50Millis;
+    }
+
+    @Override
+    public synchronized double[] getPhaseP99Millis() {
+        return this.phaseP99Millis;
+    }
+
+    @Override
+    public synchronized double[] getPhaseMaxMillis() {
+        return this.phaseMaxMillis;
+    }
+
+    @Override
+    public synchronized long[] getOverBudgetByPhase() {
+        return this.overBudgetByPhase;
+    }
+
+    @Override
+    public synchronized long getTicks() {
+        return this.ticks;
+    }
+
+    @Override
+    public synchronized long getOverBudgetTicks() {
+        return this.overBudgetTicks;
+    }
+
+    @Override
+    public synchronized long getPelletsEaten() {
+        return this.pelletsEaten;
+    }
+
+    @Override
+    public synchronized long getGhostsEaten() {
+        return this.ghostsEaten;
+    }
+
+    @Override
+    public synchronized long getPacmanCaught() {
+        return this.pacmanCaught;
+    }
+
+    @Override
+    public synchronized long getModeTransitions() {
+        return this.modeTransitions;
+    }
+
+    @Override
+    public synchronized long getBfsNodesExpanded() {
+        return this.bfsNodesExpanded;
+    }
+}
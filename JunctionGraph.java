@@ -0,0 +1,339 @@
+package pacman;
+
+import java.util.Arrays;
+
+/**
+ * JunctionGraph class that compresses a maze into the squares where a ghost actually has a choice to make. Most open
+ * squares of a maze are corridor squares with exactly two ways out, and a ghost that can't turn around has only one
+ * way to go on one of those, so the graph keeps only the other squares (junctions with three or four ways out, and dead
+ * ends) as nodes, and each corridor between two nodes as one edge weighted by its length. It is built once per
+ * Simulation, when the config asks for it (see SimulationConfig.setUseJunctionGraph()).
+ *
+ * - forcedDirection() answers in constant time for any square where the ghost has at most one way to go that isn't
+ *   back the way it came, which is every corridor square. The answer is the same one a BfsPathfinder would give.
+ * - nextDirection() searches from a junction with Dijkstra's algorithm over the nodes only, toward a target on an open
+ *   square. A target on a corridor is reached through either end of its edge. The ghost's own junction is never gone
+ *   back through, since a ghost that came back to it would be turning around, just like the BfsPathfinder never
+ *   searches through the ghost's square. Since a search only ever expands nodes, it looks at a fraction of the
+ *   squares a BfsPathfinder flood would. Targets inside walls or off of the board are left to the BfsPathfinder,
+ *   which heads for the closest square the ghost can get to without turning around.
+ *
+ * Everything is kept in primitive arrays indexed by square (row * cols + col), node or edge number, and the search
+ * stamps its distances with a generation number like the BfsPathfinder does, so nothing is allocated after the
+ * constructor. The path found is always as short as the one a BfsPathfinder would find, but two ways to the target
+ * that are exactly as long can be broken differently than the BfsPathfinder would break them, which is why the graph
+ * is something the config turns on rather than a drop-in replacement.
+ */
+public class JunctionGraph {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final int NONE = -1;
+
+    //instance variables
+    private final WallGrid walls;
+    private final int rows;
+    private final int cols;
+    private final byte[] exits;
+    private final MazeComponents components;
+    private final int[] nodeOf;
+    private final int[] squareOfNode;
+    private final int[] edgeTo;
+    private final int[] edgeLength;
+    private final int[] edgeReverse;
+    private final int[] edgeOf;
+    private final int[] offsetOf;
+    private final int[] distances;
+    private final int[] stamps;
+    private final byte[] firstStep;
+    private final long[] heap;
+    private final int nodeCount;
+    private final int edgeCount;
+    private int generation;
+    private long nodesExpanded;
+
+    /**
+     * JunctionGraph constructor that finds the nodes and follows every corridor out of them to build the edges.
+     * @param walls - the walls of the maze
+     */
+    public JunctionGraph(WallGrid walls) {
+        this.walls = walls;
+        this.rows = walls.getRows();
+        this.cols = walls.getCols();
+        int size = walls.getSize();
+        this.exits = new byte[size];
+        this.nodeOf = new int[size];
+        int nodes = 0;
+        for (int square = 0; square < size; square++) {
+            this.nodeOf[square] = NONE;
+            if (walls.isWall(square)) {
+                continue;
+            }
+            for (Direction direction : DIRECTIONS) {
+                if (walls.neighbor(square / this.cols, square % this.cols, direction) >= 0) {
+                    this.exits[square] |= 1 << direction.ordinal();
+                }
+            }
+            if (Integer.bitCount(this.exits[square]) != 2) {
+                this.nodeOf[square] = nodes++;
+            }
+        }
+        this.nodeCount = nodes;
+        this.squareOfNode = new int[nodes];
+        for (int square = 0; square < size; square++) {
+            if (this.nodeOf[square] != NONE) {
+                this.squareOfNode[this.nodeOf[square]] = square;
+            }
+        }
+        this.components = new MazeComponents(walls);
+
+        //an edge leaves a node in one direction, so edge (node * 4 + direction) has length 0 if there is no such edge
+        this.edgeTo = new int[nodes * 4];
+        this.edgeLength = new int[nodes * 4];
+        this.edgeReverse = new int[nodes * 4];
+        this.edgeOf = new int[size];
+        this.offsetOf = new int[size];
+        Arrays.fill(this.edgeOf, NONE);
+        int edges = 0;
+        for (int node = 0; node < nodes; node++) {
+            for (Direction direction : DIRECTIONS) {
+                if ((this.exits[this.squareOfNode[node]] & (1 << direction.ordinal())) != 0) {
+                    this.followCorridor(node, direction);
+                    edges++;
+                }
+            }
+        }
+        this.edgeCount = edges;
+        this.distances = new int[nodes];
+        this.stamps = new int[nodes];
+        this.firstStep = new byte[nodes];
+        //a lazy Dijkstra pushes a node at most once per edge into it, plus the first steps out of the start
+        this.heap = new long[edges + 4];
+        this.generation = 0;
+    }
+
+    /**
+     * Helper method that walks a corridor from a node until it comes to another node, recording the edge and, the first
+     * time a corridor is walked, which edge each of its squares is on and how far along it is.
+     * @param node - the node the corridor starts at
+     * @param direction - the direction the corridor leaves the node in
+     */
+    private void followCorridor(int node, Direction direction) {
+        int edge = node * 4 + direction.ordinal();
+        int square = this.squareOfNode[node];
+        Direction heading = direction;
+        int length = 0;
+        do {
+            square = this.walls.neighbor(square / this.cols, square % this.cols, heading);
+            length++;
+            if (this.nodeOf[square] != NONE) {
+                break;
+            }
+            if (this.edgeOf[square] == NONE) {
+                this.edgeOf[square] = edge;
+                this.offsetOf[square] = length;
+            }
+            heading = DIRECTIONS[Integer.numberOfTrailingZeros(this.exits[square]
+                    & ~(1 << heading.opposite().ordinal()))];
+        } while (true);
+        this.edgeTo[edge] = this.nodeOf[square];
+        this.edgeLength[edge] = length;
+        //the same corridor walked the other way, from the node it ends at
+        this.edgeReverse[edge] = this.nodeOf[square] * 4 + heading.opposite().ordinal();
+    }
+
+    /**
+     * Finds the direction a ghost has to move in when it has no choice: the only way out of its square that isn't
+     * back the way it came, or back the way it came in a dead end. This is what a BfsPathfinder would pick too.
+     * @param row - the row the ghost is on
+     * @param col - the col the ghost is on
+     * @param heading - the direction the ghost is currently moving in
+     * @return the direction to move in, or null if the ghost has a choice to make (or can't move at all)
+     */
+    public Direction forcedDirection(int row, int col, Direction heading) {
+        int open = this.exits[row * this.cols + col];
+        int ahead = open & ~(1 << heading.opposite().ordinal());
+        if (ahead == 0) {
+            return open == 0 ? null : heading.opposite();
+        }
+        return Integer.bitCount(ahead) == 1 ? DIRECTIONS[Integer.numberOfTrailingZeros(ahead)] : null;
+    }
+
+    /**
+     * Finds the direction a ghost on a node should move in to get to a target on an open square, without turning
+     * around unless it is in a dead end.
+     * @param row - the row the ghost is on
+     * @param col - the col the ghost is on
+     * @param heading - the direction the ghost is currently moving in
+     * @param targetRow - the row of the target, which may be off of the board
+     * @param targetCol - the col of the target, which may be off of the board
+     * @return the direction to move in, or null if the graph can't answer (the ghost isn't on a node, the target isn't
+     * an open square in the ghost's part of the maze, the ghost is already on it, or the ghost can't get to it without
+     * turning around) and a BfsPathfinder should search instead
+     */
+    public Direction nextDirection(int row, int col, Direction heading, int targetRow, int targetCol) {
+        int start = row * this.cols + col;
+        int startNode = this.nodeOf[start];
+        if (startNode == NONE) {
+            return null;
+        }
+        if (targetRow < 0 || targetRow >= this.rows || targetCol < 0 || targetCol >= this.cols) {
+            return null;
+        }
+        int goal = targetRow * this.cols + targetCol;
+        //the ghost's square is open, so this also rules out targets inside walls
+        if (goal == start || this.components.getComponent(goal) != this.components.getComponent(start)) {
+            return null;
+        }
+        int stamp = this.nextGeneration();
+        int goalNode = this.nodeOf[goal];
+        int goalEdge = this.edgeOf[goal];
+        int best = Integer.MAX_VALUE;
+        Direction bestStep = null;
+        int size = 0;
+        Direction opposite = heading.opposite();
+        for (Direction direction : BfsPathfinder.SEARCH_ORDER) {
+            int edge = startNode * 4 + direction.ordinal();
+            if (this.edgeLength[edge] == 0 || (direction == opposite && Integer.bitCount(this.exits[start]) > 1)) {
+                continue;
+            }
+            //the goal is on the corridor the ghost is about to walk down
+            int offset = goalEdge == NONE ? NONE : this.offsetAlong(goal, edge);
+            if (offset != NONE && offset < best) {
+                best = offset;
+                bestStep = direction;
+            }
+            if (this.edgeTo[edge] != startNode) {
+                size = this.push(size, this.edgeTo[edge], this.edgeLength[edge], direction.ordinal(), stamp);
+            }
+        }
+        while (size > 0) {
+            long top = this.heap[0];
+            size = this.pop(size);
+            int node = (int) top;
+            int distance = (int) (top >>> 32);
+            if (distance >= best) {
+                break;
+            }
+            if (this.distances[node] < distance) {
+                continue;
+            }
+            this.nodesExpanded++;
+            if (node == goalNode) {
+                best = distance;
+                bestStep = DIRECTIONS[this.firstStep[node]];
+                break;
+            }
+            for (int direction = 0; direction < 4; direction++) {
+                int edge = node * 4 + direction;
+                if (this.edgeLength[edge] == 0) {
+                    continue;
+                }
+                int offset = goalEdge == NONE ? NONE : this.offsetAlong(goal, edge);
+                if (offset != NONE && distance + offset < best) {
+                    best = distance + offset;
+                    bestStep = DIRECTIONS[this.firstStep[node]];
+                }
+                //going back through the ghost's own junction would mean turning around somewhere along the way
+                if (this.edgeTo[edge] != startNode) {
+                    size = this.push(size, this.edgeTo[edge], distance + this.edgeLength[edge], this.firstStep[node],
+                            stamp);
+                }
+            }
+        }
+        return bestStep;
+    }
+
+    /**
+     * Helper method that works out how many steps along an edge a corridor square is. Each corridor is walked from
+     * both of its ends, so a square is on the edge that first walked it and on the reverse of that edge.
+     * @return the number of steps from the edge's node to the square, or NONE if it isn't on the edge
+     */
+    private int offsetAlong(int square, int edge) {
+        int own = this.edgeOf[square];
+        if (own == edge) {
+            return this.offsetOf[square];
+        }
+        return this.edgeReverse[own] == edge ? this.edgeLength[own] - this.offsetOf[square] : NONE;
+    }
+
+    /**
+     * Helper method that starts a new generation of distance stamps, clearing them only when the generation number
+     * wraps around.
+     * @return the new generation number
+     */
+    private int nextGeneration() {
+        this.generation++;
+        if (this.generation == 0) {
+            Arrays.fill(this.stamps, 0);
+            this.generation = 1;
+        }
+        return this.generation;
+    }
+
+    /**
+     * Helper method that puts a node on the heap if this is the shortest way to it found so far in this search.
+     * @return the new size of the heap
+     */
+    private int push(int size, int node, int distance, int step, int stamp) {
+        if (this.stamps[node] == stamp && this.distances[node] <= distance) {
+            return size;
+        }
+        this.stamps[node] = stamp;
+        this.distances[node] = distance;
+        this.firstStep[node] = (byte) step;
+        long entry = ((long) distance << 32) | node;
+        int index = size;
+        while (index > 0 && this.heap[(index - 1) / 2] > entry) {
+            this.heap[index] = this.heap[(index - 1) / 2];
+            index = (index - 1) / 2;
+        }
+        this.heap[index] = entry;
+        return size + 1;
+    }
+
+    /**
+     * Helper method that takes the smallest entry off of the heap.
+     * @return the new size of the heap
+     */
+    private int pop(int size) {
+        long last = this.heap[--size];
+        int index = 0;
+        while (index * 2 + 1 < size) {
+            int child = index * 2 + 1;
+            if (child + 1 < size && this.heap[child + 1] < this.heap[child]) {
+                child++;
+            }
+            if (this.heap[child] >= last) {
+                break;
+            }
+            this.heap[index] = this.heap[child];
+            index = child;
+        }
+        this.heap[index] = last;
+        return size;
+    }
+
+    /**
+     * Getter method that returns how many nodes (junctions and dead ends) the graph has.
+     * @return this.nodeCount - the number of nodes
+     */
+    public int getNodeCount() {
+        return this.nodeCount;
+    }
+
+    /**
+     * Getter method that returns how many edges the graph has. Each corridor is two edges, one each way.
+     * @return this.edgeCount - the number of edges
+     */
+    public int getEdgeCount() {
+        return this.edgeCount;
+    }
+
+    /**
+     * Getter method that returns how many nodes have been expanded over all searches so far.
+     * @return this.nodesExpanded - the number of nodes expanded
+     */
+    public long getNodesExpanded() {
+        return this.nodesExpanded;
+    }
+}
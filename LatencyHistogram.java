@@ -0,0 +1,127 @@
+package pacman;
+
+import java.util.Arrays;
+
+/**
+ * LatencyHistogram class that counts how long something took, in nanoseconds, in the same log-linear way as an HDR
+ * histogram: every power of two is split into SUB_BUCKETS equal buckets, so any value from a nanosecond up to hours is
+ * kept to within about 3% (1 / SUB_BUCKETS) while the whole histogram is one long[] of a couple thousand counts that is
+ * allocated once. Recording a value is a few shifts and an increment, so it is cheap enough to do for every phase of
+ * every tick.
+ *
+ * Values below 2 * SUB_BUCKETS each get their own bucket. Above that, a value whose highest bit is bit (SUB_BITS + m)
+ * goes in bucket (m + 1) * SUB_BUCKETS plus its next SUB_BITS bits, so each bucket covers 2^m nanoseconds.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+    //instance variables
+    private final long[] counts;
+    private long count;
+    private long total;
+    private long max;
+
+    /**
+     * LatencyHistogram constructor. The histogram starts out empty.
+     */
+    public LatencyHistogram() {
+        this.counts = new long[(Long.SIZE - SUB_BITS) * SUB_BUCKETS];
+    }
+
+    /**
+     * Counts one value. Negative values (a clock that went backwards) are counted as 0.
+     * @param nanos - the value, in nanoseconds
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        this.counts[bucketOf(value)]++;
+        this.count++;
+        this.total += value;
+        if (value > this.max) {
+            this.max = value;
+        }
+    }
+
+    /**
+     * Helper method that works out which bucket a value goes in.
+     * @return the index of the bucket
+     */
+    private static int bucketOf(long value) {
+        int magnitude = Math.max(0, Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BITS);
+        if (magnitude == 0) {
+            return (int) value;
+        }
+        return (magnitude + 1) * SUB_BUCKETS + (int) (value >>> magnitude) - SUB_BUCKETS;
+    }
+
+    /**
+     * Helper method that works out the largest value that goes in a bucket.
+     * @return the largest value of the bucket
+     */
+    private static long highestValueOf(int bucket) {
+        if (bucket < 2 * SUB_BUCKETS) {
+            return bucket;
+        }
+        int magnitude = bucket / SUB_BUCKETS - 1;
+        long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << magnitude;
+        return lowest + (1L << magnitude) - 1;
+    }
+
+    /**
+     * Works out the value that a percentile of the recorded values are at or below. Like an HDR histogram, the answer
+     * is the top of the bucket the percentile falls in, so it is never lower than the real value, and it is never
+     * more than the largest value recorded.
+     * @param percentile - the percentile, from 0 to 100
+     * @return the value in nanoseconds, or 0 if nothing was recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (this.count == 0) {
+            return 0;
+        }
+        long wanted = Math.max(1, (long) Math.ceil(Math.min(100, percentile) / 100 * this.count));
+        long seen = 0;
+        for (int bucket = 0; bucket < this.counts.length; bucket++) {
+            seen += this.counts[bucket];
+            if (seen >= wanted) {
+                return Math.min(this.max, highestValueOf(bucket));
+            }
+        }
+        return this.max;
+    }
+
+    /**
+     * Empties the histogram.
+     */
+    public void reset() {
+        Arrays.fill(this.counts, 0);
+        this.count = 0;
+        this.total = 0;
+        this.max = 0;
+    }
+
+    /**
+     * Getter method that returns how many values were recorded.
+     * @return this.count - the number of values
+     */
+    public long getCount() {
+        return this.count;
+    }
+
+    /**
+     * Getter method that returns the largest value recorded.
+     * @return this.max - the largest value in nanoseconds, or 0 if nothing was recorded
+     */
+    public long getMax() {
+        return this.max;
+    }
+
+    /**
+     * Getter method that returns the average of the recorded values.
+     * @return the average in nanoseconds, or 0 if nothing was recorded
+     */
+    public double getMean() {
+        return this.count == 0 ? 0 : (double) this.total / this.count;
+    }
+}
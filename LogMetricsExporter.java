@@ -0,0 +1,75 @@
+package pacman;
+
+import java.io.PrintStream;
+
+/**
+ * LogMetricsExporter class that prints the metrics as one line: the 50th and 99th percentile and the largest time of
+ * each phase in milliseconds, how many ticks went over the budget and which phases they were blamed on, and the
+ * counters. For example:
+ *
+ *     ticks=250 overBudget=1 tick=0.02/0.09/212.40ms scatterOrChase=0.00/0.00/0.01ms ... moveGhosts=0.01/0.05/210.88ms
+ *     [over budget: moveGhosts=1] pellets=96 ghosts=2 caught=1 modes=6 bfsNodes=48211
+ */
+public class LogMetricsExporter implements MetricsExporter {
+
+    private static final TickPhase[] PHASES = TickPhase.values();
+
+    //instance variables
+    private final PrintStream out;
+    private final StringBuilder line;
+
+    /**
+     * LogMetricsExporter constructor
+     * @param out - where the lines are printed, such as System.out
+     */
+    public LogMetricsExporter(PrintStream out) {
+        this.out = out;
+        this.line = new StringBuilder();
+    }
+
+    /**
+     * Prints one line with the current numbers.
+     * @param metrics - the metrics of the game
+     */
+    @Override
+    public void export(TickMetrics metrics) {
+        this.line.setLength(0);
+        this.line.append("ticks=").append(metrics.getTicks()).append(" overBudget=")
+                .append(metrics.getOverBudgetTicks());
+        for (TickPhase phase : PHASES) {
+            LatencyHistogram histogram = metrics.getHistogram(phase);
+            this.line.append(' ').append(phase.getLabel()).append('=');
+            this.appendMillis(histogram.getValueAtPercentile(50)).append('/');
+            this.appendMillis(histogram.getValueAtPercentile(99)).append('/');
+            this.appendMillis(histogram.getMax()).append("ms");
+        }
+        if (metrics.getOverBudgetTicks() > 0 || metrics.getOverBudget(TickPhase.RENDER) > 0) {
+            this.line.append(" [over budget:");
+            for (TickPhase phase : PHASES) {
+                if (metrics.getOverBudget(phase) > 0) {
+                    this.line.append(' ').append(phase.getLabel()).append('=').append(metrics.getOverBudget(phase));
+                }
+            }
+            this.line.append(']');
+        }
+        this.line.append(" pellets=").append(metrics.getPelletsEaten())
+                .append(" ghosts=").append(metrics.getGhostsEaten())
+                .append(" caught=").append(metrics.getPacmanCaught())
+                .append(" modes=").append(metrics.getModeTransitions())
+                .append(" bfsNodes=").append(metrics.getBfsNodesExpanded());
+        this.out.println(this.line);
+    }
+
+    /**
+     * Helper method that appends a time in milliseconds with two decimal places.
+     * @return this.line - the line, for chaining
+     */
+    private StringBuilder appendMillis(long nanos) {
+        long hundredths = (nanos + 5000) / 10000;
+        this.line.append(hundredths / 100).append('.');
+        if (hundredths % 100 < 10) {
+            this.line.append('0');
+        }
+        return this.line.append(hundredths % 100);
+    }
+}
@@ -0,0 +1,330 @@
+package pacman;
+
+import java.util.Arrays;
+
+/**
+ * MazeComponents class that numbers the connected parts of a maze (going through tunnels), so a search can tell
+ * right away whether a target square can be reached from a ghost's square at all. The JunctionGraph and the
+ * AStarPathfinder and HierarchicalPathfinder each keep one.
+ *
+ * It can also find the open squares of a part closest to a target, by looking in rings of growing size around the
+ * target, like the FlowField does, and stopping as soon as no square further out could be closer. All of the squares
+ * that are exactly as close are kept, since which of them a ghost should head for depends on how far it is to each.
+ *
+ * When a square is opened or closed, wallChanged() renumbers only what it has to. Opening a square joins the parts
+ * around it, and only the smaller parts are renumbered into the biggest one. Closing a square can split its part, so
+ * its open neighbors are flooded from all at once, one square at a time each, until every flood has either run into
+ * another one or run out of squares. A flood that runs out of squares on its own is a new part, and the search stops
+ * as soon as only one flood is left, so the work is about the size of the smaller pieces rather than of the maze.
+ */
+public class MazeComponents {
+
+    public static final int NONE = -1;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    //instance variables
+    private final WallGrid walls;
+    private final int rows;
+    private final int cols;
+    private final int[] component;
+    private final int[] queue;
+    private final int[] joinedTo;
+    private final int[] pending;
+    private int[] sizes;
+    private int[] freeParts;
+    private int freeCount;
+    private int partCount;
+    private int[] stamps;
+    private byte[] floodOf;
+    private int generation;
+    private int[] closest;
+    private int closestCount;
+    private long closestDistance;
+
+    /**
+     * MazeComponents constructor that numbers the parts with one flood per part.
+     * @param walls - the walls of the maze
+     */
+    public MazeComponents(WallGrid walls) {
+        this.walls = walls;
+        this.rows = walls.getRows();
+        this.cols = walls.getCols();
+        this.component = new int[walls.getSize()];
+        this.queue = new int[walls.getSize()];
+        this.joinedTo = new int[DIRECTIONS.length];
+        this.pending = new int[DIRECTIONS.length];
+        this.sizes = new int[16];
+        this.freeParts = new int[4];
+        this.closest = new int[4];
+        Arrays.fill(this.component, NONE);
+        for (int start = 0; start < this.component.length; start++) {
+            if (!walls.isWall(start) && this.component[start] == NONE) {
+                int part = this.newPart();
+                this.component[start] = part;
+                this.sizes[part] = this.renumber(start, NONE, part);
+            }
+        }
+    }
+
+    /**
+     * Helper method that floods out from a square, renumbering every square of one part to another part.
+     * @param start - the index of the square to start from, which is already numbered with the new part
+     * @param from - the part that is being renumbered, or NONE for open squares that have no part yet
+     * @param to - the new part
+     * @return the number of squares in the flood, counting the start
+     */
+    private int renumber(int start, int from, int to) {
+        int head = 0;
+        int tail = 0;
+        this.queue[tail++] = start;
+        while (head < tail) {
+            int square = this.queue[head++];
+            for (Direction direction : DIRECTIONS) {
+                int neighbor = this.walls.neighbor(square / this.cols, square % this.cols, direction);
+                if (neighbor >= 0 && this.component[neighbor] == from) {
+                    this.component[neighbor] = to;
+                    this.queue[tail++] = neighbor;
+                }
+            }
+        }
+        return tail;
+    }
+
+    /**
+     * Renumbers the parts after a square was opened or closed in the WallGrid.
+     * @param row - the row of the square that changed
+     * @param col - the col of the square that changed
+     */
+    public void wallChanged(int row, int col) {
+        int square = row * this.cols + col;
+        if (this.walls.isWall(square)) {
+            if (this.component[square] != NONE) {
+                this.closed(row, col, square);
+            }
+        }
+        else if (this.component[square] == NONE) {
+            this.opened(row, col, square);
+        }
+    }
+
+    /**
+     * Helper method that adds an opened square to the biggest part next to it, renumbering the other parts next to it
+     * into that part too, or makes it a part of its own if it has no open neighbors.
+     */
+    private void opened(int row, int col, int square) {
+        int keep = NONE;
+        for (Direction direction : DIRECTIONS) {
+            int neighbor = this.walls.neighbor(row, col, direction);
+            if (neighbor >= 0 && (keep == NONE || this.sizes[this.component[neighbor]] > this.sizes[keep])) {
+                keep = this.component[neighbor];
+            }
+        }
+        if (keep == NONE) {
+            keep = this.newPart();
+        }
+        this.component[square] = keep;
+        this.sizes[keep]++;
+        for (Direction direction : DIRECTIONS) {
+            int neighbor = this.walls.neighbor(row, col, direction);
+            if (neighbor >= 0 && this.component[neighbor] != keep) {
+                int part = this.component[neighbor];
+                this.component[neighbor] = keep;
+                this.sizes[keep] += this.renumber(neighbor, part, keep);
+                this.freePart(part);
+            }
+        }
+    }
+
+    /**
+     * Helper method that takes a closed square out of its part and splits the part if the square was holding it
+     * together. Each open neighbor of the square starts a flood, and all of the floods take turns in one queue. Floods
+     * that run into each other are joined (the joins are kept in a tiny union-find over the at most four floods), and a
+     * flood that runs out of squares while another flood is still going is given a new part number.
+     */
+    private void closed(int row, int col, int square) {
+        int part = this.component[square];
+        this.component[square] = NONE;
+        this.sizes[part]--;
+        if (this.stamps == null) {
+            this.stamps = new int[this.component.length];
+            this.floodOf = new byte[this.component.length];
+        }
+        this.generation++;
+        if (this.generation == 0) {
+            Arrays.fill(this.stamps, 0);
+            this.generation = 1;
+        }
+        int floods = 0;
+        int tail = 0;
+        for (Direction direction : DIRECTIONS) {
+            int neighbor = this.walls.neighbor(row, col, direction);
+            if (neighbor >= 0 && this.stamps[neighbor] != this.generation) {
+                this.stamps[neighbor] = this.generation;
+                this.floodOf[neighbor] = (byte) floods;
+                this.joinedTo[floods] = floods;
+                this.pending[floods++] = 1;
+                this.queue[tail++] = neighbor;
+            }
+        }
+        if (floods == 0) {
+            this.freePart(part);
+            return;
+        }
+        int head = 0;
+        int going = floods;
+        while (going > 1 && head < tail) {
+            int current = this.queue[head++];
+            int flood = this.find(this.floodOf[current]);
+            this.pending[flood]--;
+            for (Direction direction : DIRECTIONS) {
+                int neighbor = this.walls.neighbor(current / this.cols, current % this.cols, direction);
+                if (neighbor < 0) {
+                    continue;
+                }
+                if (this.stamps[neighbor] != this.generation) {
+                    this.stamps[neighbor] = this.generation;
+                    this.floodOf[neighbor] = (byte) flood;
+                    this.pending[flood]++;
+                    this.queue[tail++] = neighbor;
+                }
+                else {
+                    int other = this.find(this.floodOf[neighbor]);
+                    if (other != flood) {
+                        this.joinedTo[other] = flood;
+                        this.pending[flood] += this.pending[other];
+                        going--;
+                    }
+                }
+            }
+            //this flood is a piece of its own, cut off from the floods that are still going
+            if (this.pending[flood] == 0 && going > 1) {
+                int piece = this.newPart();
+                for (int i = 0; i < tail; i++) {
+                    if (this.find(this.floodOf[this.queue[i]]) == flood) {
+                        this.component[this.queue[i]] = piece;
+                        this.sizes[piece]++;
+                    }
+                }
+                this.sizes[part] -= this.sizes[piece];
+                going--;
+            }
+        }
+    }
+
+    /**
+     * Helper method that finds the flood a flood was joined into.
+     * @return the number of the flood that is still going for it
+     */
+    private int find(int flood) {
+        while (this.joinedTo[flood] != flood) {
+            flood = this.joinedTo[flood];
+        }
+        return flood;
+    }
+
+    /**
+     * Helper method that hands out an unused part number, reusing the numbers of parts that were joined into others.
+     * @return the part number, with a size of 0
+     */
+    private int newPart() {
+        if (this.freeCount > 0) {
+            return this.freeParts[--this.freeCount];
+        }
+        if (this.partCount == this.sizes.length) {
+            this.sizes = Arrays.copyOf(this.sizes, this.partCount * 2);
+        }
+        return this.partCount++;
+    }
+
+    /**
+     * Helper method that gives back a part number that no square has anymore.
+     */
+    private void freePart(int part) {
+        this.sizes[part] = 0;
+        if (this.freeCount == this.freeParts.length) {
+            this.freeParts = Arrays.copyOf(this.freeParts, this.freeCount * 2);
+        }
+        this.freeParts[this.freeCount++] = part;
+    }
+
+    /**
+     * Getter method that returns which part of the maze a square is in.
+     * @param square - the index of the square (row * cols + col)
+     * @return the number of the part, or NONE for walls
+     */
+    public int getComponent(int square) {
+        return this.component[square];
+    }
+
+    /**
+     * Finds the open squares in a part of the maze closest to a target, leaving out one square. They can be read back
+     * with getClosestSquare(), in row order.
+     * @param targetRow - the row of the target, which may be off of the board
+     * @param targetCol - the col of the target, which may be off of the board
+     * @param part - the number of the part
+     * @param skip - the index of a square that doesn't count, such as the square of the ghost that is looking
+     * @return how many squares are exactly as close, or 0 if the part has no other squares
+     */
+    public int closestSquares(int targetRow, int targetCol, int part, int skip) {
+        this.closestCount = 0;
+        this.closestDistance = Long.MAX_VALUE;
+        int maxRadius = Math.max(this.rows, this.cols) + Math.max(Math.abs(targetRow), Math.abs(targetCol));
+        for (int radius = 0; radius <= maxRadius; radius++) {
+            //every square in this ring is at least radius away, so a closer square can't be found from here on
+            if ((long) radius * radius > this.closestDistance) {
+                break;
+            }
+            int top = Math.max(0, targetRow - radius);
+            int bottom = Math.min(this.rows - 1, targetRow + radius);
+            int left = Math.max(0, targetCol - radius);
+            int right = Math.min(this.cols - 1, targetCol + radius);
+            for (int row = top; row <= bottom; row++) {
+                if (row == targetRow - radius || row == targetRow + radius) {
+                    for (int col = left; col <= right; col++) {
+                        this.considerSquare(row, col, targetRow, targetCol, part, skip);
+                    }
+                }
+                else {
+                    this.considerSquare(row, targetCol - radius, targetRow, targetCol, part, skip);
+                    this.considerSquare(row, targetCol + radius, targetRow, targetCol, part, skip);
+                }
+            }
+        }
+        //the rings are walked from the inside out, so put the squares back in row order
+        Arrays.sort(this.closest, 0, this.closestCount);
+        return this.closestCount;
+    }
+
+    /**
+     * Helper method that keeps a square as one of the closest to a target if it is in the right part of the maze and
+     * at least as close as the closest ones found so far.
+     */
+    private void considerSquare(int row, int col, int targetRow, int targetCol, int part, int skip) {
+        int square = row * this.cols + col;
+        if (col < 0 || col >= this.cols || square == skip || this.component[square] != part) {
+            return;
+        }
+        long distance = BoardCoordinate.distanceSquared(BoardCoordinate.pack(row, col),
+                BoardCoordinate.pack(targetRow, targetCol));
+        if (distance > this.closestDistance) {
+            return;
+        }
+        if (distance < this.closestDistance) {
+            this.closestDistance = distance;
+            this.closestCount = 0;
+        }
+        if (this.closestCount == this.closest.length) {
+            this.closest = Arrays.copyOf(this.closest, this.closestCount * 2);
+        }
+        this.closest[this.closestCount++] = square;
+    }
+
+    /**
+     * Getter method that returns one of the squares found by the last closestSquares().
+     * @param i - which of the squares, from 0 to the count closestSquares() returned - 1
+     * @return the index of the square
+     */
+    public int getClosestSquare(int i) {
+        return this.closest[i];
+    }
+}
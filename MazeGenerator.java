@@ -0,0 +1,264 @@
+package pacman;
+
+import cs15.fnl.pacmanSupport.CS15SquareType;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.SplittableRandom;
+
+/**
+ * MazeGenerator class that builds pacman style mazes of any size from a seed, for trying the game and its benchmarks
+ * on boards much bigger than the support map. The same seed and size always give the same maze.
+ *
+ * The maze is laid out on "cells", the squares whose row and col are both odd, with the squares between two cells
+ * being either a wall or a corridor. Only the left half (up to and including the middle col) is generated and every
+ * square is mirrored onto the right half as it is opened, so the maze is symmetric like the original. Generation is
+ * done in three passes, each linear in the number of squares:
+ *
+ * - carve: a depth first walk with an explicit stack (no recursion, so any size works) opens a corridor to every cell
+ *   in the left half, which together with its mirror connects every cell.
+ * - braid: every dead end gets a second corridor, since pacman mazes have none, and a few more corridors are opened at
+ *   random so there are plenty of loops to run around.
+ * - decorate: the ghost pen is walled off in the middle, tunnels are opened through the edges, pacman starts below the
+ *   pen, the corners and a few random cells get energizers and every other open square gets a dot.
+ */
+public class MazeGenerator {
+
+    //instance variables
+    private final SplittableRandom random;
+    private int rows;
+    private int cols;
+    private int middle;
+    private int penRow;
+    private boolean[] open;
+
+    /**
+     * MazeGenerator constructor
+     * @param seed - the seed that the mazes are generated from
+     */
+    public MazeGenerator(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Generates a maze. The rows have to be odd and the cols 3 more than a multiple of 4 (23, 63, 127, ...), so that
+     * the border, the middle col and the ghost pen all land on the cell grid.
+     * @param rows - number of rows of the maze
+     * @param cols - number of cols of the maze
+     * @return the new maze
+     */
+    public MazeLayout generate(int rows, int cols) {
+        if (rows < 11 || cols < 11 || rows % 2 != 1 || cols % 4 != 3 || rows > Constants.MAX_MAZE_DIMENSION
+                || cols > Constants.MAX_MAZE_DIMENSION) {
+            throw new IllegalArgumentException("A generated maze needs odd rows and cols that are 3 more than a "
+                    + "multiple of 4, between 11 and " + Constants.MAX_MAZE_DIMENSION + ": Given rows = " + rows
+                    + " cols = " + cols);
+        }
+        this.rows = rows;
+        this.cols = cols;
+        this.middle = cols / 2;
+        this.penRow = (rows / 2) | 1;
+        this.open = new boolean[rows * cols];
+        this.carve();
+        this.braid();
+        return this.decorate();
+    }
+
+    /**
+     * Helper method that checks if a square is a cell that corridors can be opened to. The cells on the pen's row
+     * between the two sides of the pen are left closed, so corridors go around the pen.
+     * @return true if the square is a usable cell
+     */
+    private boolean isCell(int row, int col) {
+        if (row < 1 || col < 1 || row > this.rows - 2 || col > this.cols - 2) {
+            return false;
+        }
+        return row != this.penRow || col < this.middle - 2 || col > this.middle + 2;
+    }
+
+    /**
+     * Helper method that opens a square and its mirror image on the other half of the maze.
+     */
+    private void openSquare(int row, int col) {
+        this.open[row * this.cols + col] = true;
+        this.open[row * this.cols + this.cols - 1 - col] = true;
+    }
+
+    /**
+     * Helper method that opens a corridor to every cell of the left half of the maze with a depth first walk. Cells are
+     * numbered by (row / 2) * halfCols + col / 2, which only covers the left half.
+     */
+    private void carve() {
+        int cellRows = (this.rows - 1) / 2;
+        int halfCols = this.middle / 2 + 1;
+        boolean[] visited = new boolean[cellRows * halfCols];
+        int[] stack = new int[cellRows * halfCols];
+        int[] choices = new int[4];
+        Direction[] directions = Direction.values();
+        for (int cell = 0; cell < visited.length; cell++) {
+            int row = cell / halfCols * 2 + 1;
+            int col = cell % halfCols * 2 + 1;
+            if (this.isCell(row, col)) {
+                this.openSquare(row, col);
+            }
+            else {
+                visited[cell] = true;
+            }
+        }
+        int size = 0;
+        stack[size++] = 0;
+        visited[0] = true;
+        while (size > 0) {
+            int cell = stack[size - 1];
+            int row = cell / halfCols * 2 + 1;
+            int col = cell % halfCols * 2 + 1;
+            int count = 0;
+            for (int i = 0; i < directions.length; i++) {
+                //the next cell is two squares away, on the far side of the square between them
+                int nextRow = directions[i].newRow(row) * 2 - row;
+                int nextCol = directions[i].newCol(col) * 2 - col;
+                if (nextCol <= this.middle && this.isCell(nextRow, nextCol)
+                        && !visited[nextRow / 2 * halfCols + nextCol / 2]) {
+                    choices[count++] = i;
+                }
+            }
+            if (count == 0) {
+                size--;
+                continue;
+            }
+            Direction direction = directions[choices[this.random.nextInt(count)]];
+            int nextRow = direction.newRow(row) * 2 - row;
+            int nextCol = direction.newCol(col) * 2 - col;
+            this.openSquare(direction.newRow(row), direction.newCol(col));
+            visited[nextRow / 2 * halfCols + nextCol / 2] = true;
+            stack[size++] = nextRow / 2 * halfCols + nextCol / 2;
+        }
+    }
+
+    /**
+     * Helper method that gives every dead end in the left half a second way out, and opens a few more corridors at
+     * random so the maze has plenty of loops.
+     */
+    private void braid() {
+        int[] choices = new int[4];
+        Direction[] directions = Direction.values();
+        for (int row = 1; row < this.rows - 1; row += 2) {
+            for (int col = 1; col <= this.middle; col += 2) {
+                if (!this.isCell(row, col)) {
+                    continue;
+                }
+                int exits = 0;
+                int count = 0;
+                for (int i = 0; i < directions.length; i++) {
+                    int wallRow = directions[i].newRow(row);
+                    int wallCol = directions[i].newCol(col);
+                    if (this.open[wallRow * this.cols + wallCol]) {
+                        exits++;
+                    }
+                    else if (this.isCell(wallRow * 2 - row, wallCol * 2 - col)) {
+                        choices[count++] = i;
+                    }
+                }
+                if (count > 0 && (exits < 2 || this.random.nextDouble() < Constants.GENERATOR_EXTRA_LOOP_CHANCE)) {
+                    Direction direction = directions[choices[this.random.nextInt(count)]];
+                    this.openSquare(direction.newRow(row), direction.newCol(col));
+                }
+            }
+        }
+    }
+
+    /**
+     * Helper method that turns the open squares into a MazeLayout with a ghost pen, tunnels, pacman's start, dots and
+     * energizers.
+     * @return the finished maze
+     */
+    private MazeLayout decorate() {
+        CS15SquareType[][] squares = new CS15SquareType[this.rows][this.cols];
+        for (int row = 0; row < this.rows; row++) {
+            for (int col = 0; col < this.cols; col++) {
+                squares[row][col] = this.open[row * this.cols + col] ? CS15SquareType.DOT : CS15SquareType.WALL;
+            }
+        }
+        //the pen is a walled in row of three squares, with the ghosts released two squares above its middle
+        for (int row = this.penRow - 1; row <= this.penRow + 1; row++) {
+            for (int col = this.middle - 2; col <= this.middle + 2; col++) {
+                squares[row][col] = CS15SquareType.WALL;
+            }
+        }
+        squares[this.penRow][this.middle - 1] = CS15SquareType.FREE;
+        squares[this.penRow][this.middle] = CS15SquareType.GHOST_START_LOCATION;
+        squares[this.penRow][this.middle + 1] = CS15SquareType.FREE;
+        int pacmanRow = Math.min(this.rows - 2, (this.penRow + (this.rows - this.penRow) / 2) | 1);
+        squares[pacmanRow][this.middle] = CS15SquareType.PACMAN_START_LOCATION;
+
+        //energizers in the four corners, and a few more mirrored pairs the bigger the maze is
+        this.placeEnergizers(squares, 1, 1);
+        this.placeEnergizers(squares, this.rows - 2, 1);
+        int extraEnergizers = this.rows * this.cols / Constants.GENERATOR_SQUARES_PER_ENERGIZER / 2;
+        for (int i = 0; i < extraEnergizers; i++) {
+            int row = this.random.nextInt(this.rows / 2) * 2 + 1;
+            int col = this.random.nextInt(this.middle / 2) * 2 + 1;
+            if (squares[row][col] == CS15SquareType.DOT) {
+                this.placeEnergizers(squares, row, col);
+            }
+        }
+
+        //tunnels on random cell rows, picked with a partial shuffle so no row is used twice
+        int cellRows = (this.rows - 1) / 2;
+        int tunnelCount = Math.max(1, Math.min(cellRows, this.rows / Constants.GENERATOR_ROWS_PER_TUNNEL));
+        int[] candidates = new int[cellRows];
+        for (int i = 0; i < cellRows; i++) {
+            candidates[i] = i * 2 + 1;
+        }
+        int[] tunnelRows = new int[tunnelCount * 2];
+        int[] tunnelCols = new int[tunnelCount * 2];
+        for (int i = 0; i < tunnelCount; i++) {
+            int pick = i + this.random.nextInt(cellRows - i);
+            int row = candidates[pick];
+            candidates[pick] = candidates[i];
+            squares[row][0] = CS15SquareType.FREE;
+            squares[row][this.cols - 1] = CS15SquareType.FREE;
+            tunnelRows[i * 2] = row;
+            tunnelRows[i * 2 + 1] = row;
+            tunnelCols[i * 2] = 0;
+            tunnelCols[i * 2 + 1] = this.cols - 1;
+        }
+        return new MazeLayout(squares, tunnelRows, tunnelCols);
+    }
+
+    /**
+     * Helper method that puts an energizer on a square in the left half and on its mirror image.
+     */
+    private void placeEnergizers(CS15SquareType[][] squares, int row, int col) {
+        squares[row][col] = CS15SquareType.ENERGIZER;
+        squares[row][this.cols - 1 - col] = CS15SquareType.ENERGIZER;
+    }
+
+    /**
+     * Here is the mainline! Generates a maze and saves it for the game, the BatchSimulator or the InputLog to load
+     * (see MazeLoader). The maze is saved in the text format if the file name ends in .txt, and in the binary format
+     * otherwise:
+     *
+     *     java pacman.MazeGenerator rows cols seed mazeFile
+     */
+    public static void main(String[] argv) throws IOException {
+        int rows = Integer.parseInt(argv[0]);
+        int cols = Integer.parseInt(argv[1]);
+        long seed = Long.parseLong(argv[2]);
+        long start = System.nanoTime();
+        MazeLayout layout = new MazeGenerator(seed).generate(rows, cols);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(argv[3]))) {
+            if (argv[3].endsWith(".txt")) {
+                MazeLoader.writeText(layout, out);
+            }
+            else {
+                MazeLoader.writeBinary(layout, out);
+            }
+        }
+        System.out.printf("generated %dx%d maze in %.3f s (%.1f million squares/s)%n", rows, cols, seconds,
+                rows * cols / seconds / 1e6);
+    }
+}
@@ -0,0 +1,153 @@
+package pacman;
+
+import cs15.fnl.pacmanSupport.CS15SquareType;
+
+/**
+ * MazeLayout class that describes one maze: a rectangle of squares (walls, free squares, dots, energizers and the two
+ * starting locations) and the tunnels that connect squares on its edges. It is what the WallGrid, the PelletStore, the
+ * Simulation and the renderers are built from, so none of them depend on the maze being the 23x23 support map.
+ *
+ * A tunnel pair joins two squares on the edge of the maze. Walking off of the board from one of them (in the
+ * direction that leads off of that edge) comes out on the other one, and the other way around. The support map has one
+ * tunnel pair, between the two ends of its middle row.
+ */
+public class MazeLayout {
+
+    //instance variables
+    private final int rows;
+    private final int cols;
+    private final CS15SquareType[][] squares;
+    private final int[] tunnelRows;
+    private final int[] tunnelCols;
+
+    /**
+     * MazeLayout constructor. Tunnels are given as pairs of squares: tunnel pair i joins (tunnelRows[2 * i],
+     * tunnelCols[2 * i]) and (tunnelRows[2 * i + 1], tunnelCols[2 * i + 1]).
+     * @param squares - the squares of the maze, which are not copied and should not be changed afterwards
+     * @param tunnelRows - the rows of the tunnel ends
+     * @param tunnelCols - the cols of the tunnel ends
+     */
+    public MazeLayout(CS15SquareType[][] squares, int[] tunnelRows, int[] tunnelCols) {
+        this.rows = squares.length;
+        this.cols = this.rows == 0 ? 0 : squares[0].length;
+        if (this.rows < 1 || this.cols < 1 || this.rows > Constants.MAX_MAZE_DIMENSION
+                || this.cols > Constants.MAX_MAZE_DIMENSION) {
+            throw new IllegalArgumentException("A maze must be between 1 and " + Constants.MAX_MAZE_DIMENSION
+                    + " squares on each side: Given rows = " + this.rows + " cols = " + this.cols);
+        }
+        for (CS15SquareType[] row : squares) {
+            if (row.length != this.cols) {
+                throw new IllegalArgumentException("A maze must be rectangular: Given a row of length = " + row.length
+                        + " in a maze with cols = " + this.cols);
+            }
+        }
+        if (tunnelRows.length != tunnelCols.length || tunnelRows.length % 2 != 0) {
+            throw new IllegalArgumentException("Tunnels must come in pairs: Given tunnel rows = " + tunnelRows.length
+                    + " tunnel cols = " + tunnelCols.length);
+        }
+        this.squares = squares;
+        this.tunnelRows = tunnelRows.clone();
+        this.tunnelCols = tunnelCols.clone();
+        for (int i = 0; i < this.tunnelRows.length; i++) {
+            //checks that the tunnel end is on exactly one edge, so there is only one way off of the board from it
+            this.edgeDirection(this.tunnelRows[i], this.tunnelCols[i]);
+        }
+    }
+
+    /**
+     * Builds the MazeLayout for a support map, which has one tunnel pair joining the two ends of its middle row.
+     * @param supportMap - the support map
+     * @return the new MazeLayout
+     */
+    public static MazeLayout fromSupportMap(CS15SquareType[][] supportMap) {
+        int middle = supportMap.length / 2;
+        int lastCol = supportMap[0].length - 1;
+        return new MazeLayout(supportMap, new int[] {middle, middle}, new int[] {0, lastCol});
+    }
+
+    /**
+     * Works out which way leads off of the board from a square on the edge of the maze.
+     * @param row - row of the square
+     * @param col - col of the square
+     * @return the Direction that leads off of the board
+     */
+    public Direction edgeDirection(int row, int col) {
+        Direction direction = null;
+        int edges = 0;
+        if (row == 0) {
+            direction = Direction.UP;
+            edges++;
+        }
+        if (row == this.rows - 1) {
+            direction = Direction.DOWN;
+            edges++;
+        }
+        if (col == 0) {
+            direction = Direction.LEFT;
+            edges++;
+        }
+        if (col == this.cols - 1) {
+            direction = Direction.RIGHT;
+            edges++;
+        }
+        if (edges != 1 || row < 0 || row >= this.rows || col < 0 || col >= this.cols) {
+            throw new IllegalArgumentException("A tunnel must end on exactly one edge of the maze (not a corner):"
+                    + " Given row = " + row + " col = " + col);
+        }
+        return direction;
+    }
+
+    /**
+     * Getter method that returns what is on a square.
+     * @param row - row of the square
+     * @param col - col of the square
+     * @return the type of the square
+     */
+    public CS15SquareType getSquare(int row, int col) {
+        return this.squares[row][col];
+    }
+
+    /**
+     * Getter method that returns the number of rows in the maze.
+     * @return this.rows - number of rows
+     */
+    public int getRows() {
+        return this.rows;
+    }
+
+    /**
+     * Getter method that returns the number of cols in the maze.
+     * @return this.cols - number of cols
+     */
+    public int getCols() {
+        return this.cols;
+    }
+
+    /**
+     * Getter method that returns the number of tunnel pairs.
+     * @return the number of tunnel pairs
+     */
+    public int getTunnelCount() {
+        return this.tunnelRows.length / 2;
+    }
+
+    /**
+     * Getter method that returns the row of one end of a tunnel pair.
+     * @param tunnel - index of the tunnel pair
+     * @param end - 0 or 1, for the two ends of the tunnel
+     * @return the row of that end
+     */
+    public int getTunnelRow(int tunnel, int end) {
+        return this.tunnelRows[tunnel * 2 + end];
+    }
+
+    /**
+     * Getter method that returns the col of one end of a tunnel pair.
+     * @param tunnel - index of the tunnel pair
+     * @param end - 0 or 1, for the two ends of the tunnel
+     * @return the col of that end
+     */
+    public int getTunnelCol(int tunnel, int end) {
+        return this.tunnelCols[tunnel * 2 + end];
+    }
+}
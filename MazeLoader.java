@@ -0,0 +1,353 @@
+package pacman;
+
+import cs15.fnl.pacmanSupport.CS15SquareType;
+
+import java.io.BufferedWriter;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+/**
+ * MazeLoader class that reads and writes MazeLayouts, so the game is not tied to the 23x23 support map. There are two
+ * file formats, and load() tells them apart by their first bytes:
+ *
+ * - text, for mazes written by hand. The first line is "PACMAZE rows cols", followed by any number of
+ *   "TUNNEL row col row col" lines (one per tunnel pair) and then one line per row of the maze, where '#' is a wall,
+ *   '.' a dot, 'o' an energizer, ' ' a free square, 'P' pacman's start and 'G' the ghosts' start. Rows that are
+ *   shorter than the maze are padded with free squares, since editors tend to strip trailing spaces.
+ * - binary, for big generated mazes: int MAGIC, byte VERSION, int rows, int cols, int tunnel pair count, four ints
+ *   per tunnel pair, and then the squares row by row packed two to a byte (the first square in the high 4 bits), so a
+ *   1024x1024 maze is half a megabyte.
+ *
+ * Files at least Constants.MAZE_MMAP_THRESHOLD bytes long are memory-mapped instead of read into a byte[], so a huge
+ * maze is parsed straight out of the page cache without being copied onto the heap first.
+ */
+public class MazeLoader {
+
+    private static final int MAGIC = 0x504D5A42; //"PMZB"
+    private static final byte VERSION = 1;
+    private static final String TEXT_HEADER = "PACMAZE";
+    private static final String TUNNEL = "TUNNEL";
+
+    //the code of each square type in the binary format and its char in the text format, by index
+    private static final CS15SquareType[] TYPES = {CS15SquareType.WALL, CS15SquareType.FREE, CS15SquareType.DOT,
+        CS15SquareType.ENERGIZER, CS15SquareType.PACMAN_START_LOCATION, CS15SquareType.GHOST_START_LOCATION};
+    private static final char[] CHARS = {'#', ' ', '.', 'o', 'P', 'G'};
+
+    /**
+     * Loads a maze from a text or binary file.
+     * @param path - the file to load
+     * @return the maze
+     * @throws IOException if the file can't be read or is not a valid maze
+     */
+    public static MazeLayout load(Path path) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() >= Constants.MAZE_MMAP_THRESHOLD) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            else {
+                buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+            }
+        }
+        return parse(buffer);
+    }
+
+    /**
+     * Parses a maze in either format.
+     * @param buffer - the bytes of the maze, from the buffer's position to its limit
+     * @return the maze
+     * @throws IOException if the bytes are not a valid maze
+     */
+    public static MazeLayout parse(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() >= 4 && buffer.getInt(buffer.position()) == MAGIC) {
+            return parseBinary(buffer);
+        }
+        return parseText(buffer);
+    }
+
+    /**
+     * Helper method that parses a maze in the binary format.
+     * @param buffer - the bytes of the maze
+     * @return the maze
+     * @throws IOException if the bytes are not a valid maze
+     */
+    private static MazeLayout parseBinary(ByteBuffer buffer) throws IOException {
+        try {
+            buffer.getInt();
+            byte version = buffer.get();
+            if (version != VERSION) {
+                throw new IOException("Unsupported maze version: Given version = " + version);
+            }
+            int rows = buffer.getInt();
+            int cols = buffer.getInt();
+            checkSize(rows, cols);
+            int tunnelCount = buffer.getInt();
+            if (tunnelCount < 0 || tunnelCount > rows * 2 + cols * 2) {
+                throw new IOException("Bad maze tunnel count: Given tunnels = " + tunnelCount);
+            }
+            int[] tunnelRows = new int[tunnelCount * 2];
+            int[] tunnelCols = new int[tunnelCount * 2];
+            for (int i = 0; i < tunnelRows.length; i++) {
+                tunnelRows[i] = buffer.getInt();
+                tunnelCols[i] = buffer.getInt();
+            }
+            CS15SquareType[][] squares = new CS15SquareType[rows][cols];
+            int packed = 0;
+            for (int i = 0; i < rows * cols; i++) {
+                int code;
+                if (i % 2 == 0) {
+                    packed = buffer.get() & 0xFF;
+                    code = packed >>> 4;
+                }
+                else {
+                    code = packed & 0xF;
+                }
+                if (code >= TYPES.length) {
+                    throw new IOException("Bad maze square code: Given code = " + code + " at square " + i);
+                }
+                squares[i / cols][i % cols] = TYPES[code];
+            }
+            return build(squares, tunnelRows, tunnelCols);
+        }
+        catch (BufferUnderflowException e) {
+            throw new IOException("Maze file ends too early", e);
+        }
+    }
+
+    /**
+     * Helper method that parses a maze in the text format.
+     * @param buffer - the bytes of the maze
+     * @return the maze
+     * @throws IOException if the bytes are not a valid maze
+     */
+    private static MazeLayout parseText(ByteBuffer buffer) throws IOException {
+        String[] header = readLine(buffer).trim().split("\\s+");
+        if (header.length != 3 || !header[0].equals(TEXT_HEADER)) {
+            throw new IOException("Not a maze file: expected \"" + TEXT_HEADER + " rows cols\" on the first line");
+        }
+        int rows = parseInt(header[1]);
+        int cols = parseInt(header[2]);
+        checkSize(rows, cols);
+
+        //tunnel lines, up to the first row of the maze
+        ArrayList<int[]> tunnels = new ArrayList<>();
+        int lineStart = buffer.position();
+        String line = readLine(buffer);
+        while (line.startsWith(TUNNEL)) {
+            String[] parts = line.trim().split("\\s+");
+            if (parts.length != 5) {
+                throw new IOException("Expected \"" + TUNNEL + " row col row col\": Given \"" + line + "\"");
+            }
+            tunnels.add(new int[] {parseInt(parts[1]), parseInt(parts[2]), parseInt(parts[3]), parseInt(parts[4])});
+            lineStart = buffer.position();
+            line = readLine(buffer);
+        }
+        buffer.position(lineStart);
+        int[] tunnelRows = new int[tunnels.size() * 2];
+        int[] tunnelCols = new int[tunnels.size() * 2];
+        for (int i = 0; i < tunnels.size(); i++) {
+            tunnelRows[i * 2] = tunnels.get(i)[0];
+            tunnelCols[i * 2] = tunnels.get(i)[1];
+            tunnelRows[i * 2 + 1] = tunnels.get(i)[2];
+            tunnelCols[i * 2 + 1] = tunnels.get(i)[3];
+        }
+
+        //the squares are read byte by byte, without making a String per row
+        CS15SquareType[][] squares = new CS15SquareType[rows][cols];
+        for (int row = 0; row < rows; row++) {
+            if (!buffer.hasRemaining()) {
+                throw new IOException("Maze file ends too early: Given " + row + " of " + rows + " rows");
+            }
+            int col = 0;
+            while (buffer.hasRemaining()) {
+                byte b = buffer.get();
+                if (b == '\n') {
+                    break;
+                }
+                if (b == '\r') {
+                    continue;
+                }
+                if (col == cols) {
+                    throw new IOException("Maze row " + row + " is longer than " + cols + " squares");
+                }
+                squares[row][col++] = typeOf((char) b, row, col - 1);
+            }
+            while (col < cols) {
+                squares[row][col++] = CS15SquareType.FREE;
+            }
+        }
+        return build(squares, tunnelRows, tunnelCols);
+    }
+
+    /**
+     * Helper method that reads one line of the text format as a String, for the header and tunnel lines.
+     * @param buffer - the bytes of the maze
+     * @return the line, without its line ending
+     */
+    private static String readLine(ByteBuffer buffer) {
+        StringBuilder line = new StringBuilder();
+        while (buffer.hasRemaining()) {
+            byte b = buffer.get();
+            if (b == '\n') {
+                break;
+            }
+            if (b != '\r') {
+                line.append((char) b);
+            }
+        }
+        return line.toString();
+    }
+
+    /**
+     * Helper method that parses a number in the text format.
+     * @param text - the number
+     * @return the value of the number
+     * @throws IOException if the text is not a number
+     */
+    private static int parseInt(String text) throws IOException {
+        try {
+            return Integer.parseInt(text);
+        }
+        catch (NumberFormatException e) {
+            throw new IOException("Expected a number in maze file: Given \"" + text + "\"", e);
+        }
+    }
+
+    /**
+     * Helper method that looks up the square type for a char of the text format.
+     * @return the square type
+     * @throws IOException if the char does not stand for a square type
+     */
+    private static CS15SquareType typeOf(char c, int row, int col) throws IOException {
+        for (int i = 0; i < CHARS.length; i++) {
+            if (CHARS[i] == c) {
+                return TYPES[i];
+            }
+        }
+        throw new IOException("Unknown maze square '" + c + "': Given row = " + row + " col = " + col);
+    }
+
+    /**
+     * Helper method that looks up the code of a square type.
+     * @param type - the square type
+     * @return the index of the type in TYPES and CHARS
+     */
+    private static int codeOf(CS15SquareType type) {
+        for (int i = 0; i < TYPES.length; i++) {
+            if (TYPES[i] == type) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown square type: Given type = " + type);
+    }
+
+    /**
+     * Helper method that checks that a maze size is allowed.
+     * @throws IOException if the maze is too small or too big
+     */
+    private static void checkSize(int rows, int cols) throws IOException {
+        if (rows < 3 || cols < 3 || rows > Constants.MAX_MAZE_DIMENSION || cols > Constants.MAX_MAZE_DIMENSION) {
+            throw new IOException("A maze must be between 3 and " + Constants.MAX_MAZE_DIMENSION
+                    + " squares on each side: Given rows = " + rows + " cols = " + cols);
+        }
+    }
+
+    /**
+     * Helper method that builds the MazeLayout, after checking that it has exactly one pacman start and one ghost
+     * start with room around it for all four ghosts.
+     * @return the maze
+     * @throws IOException if the maze can't be played
+     */
+    private static MazeLayout build(CS15SquareType[][] squares, int[] tunnelRows, int[] tunnelCols)
+            throws IOException {
+        int pacmanStarts = 0;
+        int ghostStarts = 0;
+        for (int row = 0; row < squares.length; row++) {
+            for (int col = 0; col < squares[row].length; col++) {
+                if (squares[row][col] == CS15SquareType.PACMAN_START_LOCATION) {
+                    pacmanStarts++;
+                }
+                else if (squares[row][col] == CS15SquareType.GHOST_START_LOCATION) {
+                    ghostStarts++;
+                    //the ghosts start on the squares left and right of the ghost start, and two squares above it
+                    if (row < 2 || col < 1 || col > squares[row].length - 2) {
+                        throw new IOException("The ghost start needs a square on each side and two squares above it:"
+                                + " Given row = " + row + " col = " + col);
+                    }
+                }
+            }
+        }
+        if (pacmanStarts != 1 || ghostStarts != 1) {
+            throw new IOException("A maze needs exactly one pacman start and one ghost start: Given pacman starts = "
+                    + pacmanStarts + " ghost starts = " + ghostStarts);
+        }
+        try {
+            return new MazeLayout(squares, tunnelRows, tunnelCols);
+        }
+        catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes a maze in the binary format.
+     * @param layout - the maze
+     * @param out - the stream to write to, which is not closed
+     * @throws IOException if the stream can't be written to
+     */
+    public static void writeBinary(MazeLayout layout, OutputStream out) throws IOException {
+        DataOutputStream dataOut = new DataOutputStream(out);
+        dataOut.writeInt(MAGIC);
+        dataOut.writeByte(VERSION);
+        dataOut.writeInt(layout.getRows());
+        dataOut.writeInt(layout.getCols());
+        dataOut.writeInt(layout.getTunnelCount());
+        for (int tunnel = 0; tunnel < layout.getTunnelCount(); tunnel++) {
+            for (int end = 0; end < 2; end++) {
+                dataOut.writeInt(layout.getTunnelRow(tunnel, end));
+                dataOut.writeInt(layout.getTunnelCol(tunnel, end));
+            }
+        }
+        int size = layout.getRows() * layout.getCols();
+        for (int i = 0; i < size; i += 2) {
+            int high = codeOf(layout.getSquare(i / layout.getCols(), i % layout.getCols()));
+            int low = i + 1 < size ? codeOf(layout.getSquare((i + 1) / layout.getCols(), (i + 1) % layout.getCols()))
+                    : 0;
+            dataOut.writeByte(high << 4 | low);
+        }
+        dataOut.flush();
+    }
+
+    /**
+     * Writes a maze in the text format.
+     * @param layout - the maze
+     * @param out - the stream to write to, which is not closed
+     * @throws IOException if the stream can't be written to
+     */
+    public static void writeText(MazeLayout layout, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.US_ASCII));
+        writer.write(TEXT_HEADER + " " + layout.getRows() + " " + layout.getCols() + "\n");
+        for (int tunnel = 0; tunnel < layout.getTunnelCount(); tunnel++) {
+            writer.write(TUNNEL + " " + layout.getTunnelRow(tunnel, 0) + " " + layout.getTunnelCol(tunnel, 0) + " "
+                    + layout.getTunnelRow(tunnel, 1) + " " + layout.getTunnelCol(tunnel, 1) + "\n");
+        }
+        for (int row = 0; row < layout.getRows(); row++) {
+            for (int col = 0; col < layout.getCols(); col++) {
+                writer.write(CHARS[codeOf(layout.getSquare(row, col))]);
+            }
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+}
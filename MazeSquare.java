@@ -3,7 +3,6 @@ package pacman;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Rectangle;
-import java.util.ArrayList;
 
 /**
  * This is the MazeSquare class that wraps one square of the maze.
@@ -15,7 +14,6 @@ public class MazeSquare {
     private Pane gamePane;
     private int row;
     private int col;
-    private ArrayList<Collidable> collidableArrayList;
 
     /**
      * This is the constructor of the MazeSquare class that constructs a MazeSquare.
@@ -26,7 +24,6 @@ public class MazeSquare {
      */
     public MazeSquare(Pane gamePane, Color color, double y, double x) {
         this.gamePane = gamePane;
-        this.collidableArrayList = new ArrayList<>();
         this.row = (int) y / Constants.SQUARE_SIZE;
         this.col = (int) x / Constants.SQUARE_SIZE;
         this.mazeSquare = new Rectangle(x,y, Constants.SQUARE_SIZE, Constants.SQUARE_SIZE);
@@ -57,12 +54,4 @@ public class MazeSquare {
     public int getCol() {
         return this.col;
     }
-
-    /**
-     * Getter method that gets the current ArrayList for the MazeSquare
-     * @return this.collidableArrayList - the ArrayList for the MazeSquare
-     */
-    public ArrayList<Collidable> getArrayList() {
-        return this.collidableArrayList;
-    }
 }
@@ -0,0 +1,15 @@
+package pacman;
+
+/**
+ * MetricsExporter interface for the ways the numbers in a TickMetrics can be read from outside of the game. The Game
+ * calls export() every Constants.METRICS_EXPORT_TICKS ticks and when the game ends, always from the JavaFX Application
+ * Thread, so an exporter that is read from another thread has to copy what it needs out of the TickMetrics there.
+ */
+public interface MetricsExporter {
+
+    /**
+     * Exports the current numbers.
+     * @param metrics - the metrics of the game, which are totals since the game started
+     */
+    void export(TickMetrics metrics);
+}
@@ -0,0 +1,69 @@
+package pacman;
+
+/**
+ * MetricsMXBean interface for the attributes the JmxMetricsExporter shows in JConsole or any other JMX client, under
+ * the name pacman:type=Metrics. The times are in milliseconds, and the arrays are indexed the same way as
+ * getPhaseNames().
+ */
+public interface MetricsMXBean {
+
+    /**
+     * @return the labels of the TickPhases, in order
+     */
+    String[] getPhaseNames();
+
+    /**
+     * @return the 50th percentile time of each phase
+     */
+    double[] getPhaseP50Millis();
+
+    /**
+     * @return the 99th percentile time of each phase
+     */
+    double[] getPhaseP99Millis();
+
+    /**
+     * @return the largest time of each phase
+     */
+    double[] getPhaseMaxMillis();
+
+    /**
+     * @return how many ticks (or for RENDER, frames) went over the budget because of each phase
+     */
+    long[] getOverBudgetByPhase();
+
+    /**
+     * @return the number of ticks
+     */
+    long getTicks();
+
+    /**
+     * @return the number of ticks that went over the budget
+     */
+    long getOverBudgetTicks();
+
+    /**
+     * @return the number of dots and energizers eaten
+     */
+    long getPelletsEaten();
+
+    /**
+     * @return the number of frightened ghosts eaten
+     */
+    long getGhostsEaten();
+
+    /**
+     * @return the number of times pacman was caught
+     */
+    long getPacmanCaught();
+
+    /**
+     * @return the number of times the ghosts changed mode
+     */
+    long getModeTransitions();
+
+    /**
+     * @return the number of nodes the BfsPathfinder expanded
+     */
+    long getBfsNodesExpanded();
+}
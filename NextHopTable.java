@@ -0,0 +1,361 @@
+package pacman;
+
+import java.util.Arrays;
+
+/**
+ * NextHopTable class that precomputes, for every pair of open squares in a maze, how far apart they are and which
+ * direction a ghost should take to get from one to the other. Once the table is built, a chase or scatter move toward
+ * an open square is a lookup instead of a BfsPathfinder search.
+ *
+ * Open squares are numbered 0 to n - 1 so the tables only cover squares a ghost can actually stand on:
+ * - distances are a short[] indexed by (target * n + from), or -1 if the target can't be reached.
+ * - next hops are a byte[] indexed by ((from * 4 + heading) * n + target), holding a Direction ordinal, -1 if the
+ *   ghost can't move, or -2 if the way has to be searched for. The heading is part of the index because a ghost can't
+ *   turn around, so the best direction out of a square depends on the direction the ghost came in with.
+ *
+ * The distances are between squares with no rule against turning around, which is only right for a ghost if the
+ * shortest way from a neighbor doesn't lead back through the ghost's own square. That can only happen when every
+ * neighbor the ghost may step to is further from the target than its own square, so that the only way closer is
+ * behind it. Those entries are marked to be searched for, the same way a BfsPathfinder would search with the ghost's
+ * square blocked, and covers() says no for them.
+ *
+ * The table can be built all at once, or lazily: in lazy mode the distances and next hops toward a target are only
+ * worked out the first time that target is asked for, which keeps start-up fast.
+ *
+ * If a door is opened or closed during a game, wallChanged() repairs the distances toward every target that has been
+ * built with a DistanceRepair, and only picks new next hops around the squares whose distance changed. The door has
+ * to have been open when the table was built, so that it has a number.
+ */
+public class NextHopTable {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final byte NO_DIRECTION = -1;
+    private static final byte SEARCH = -2;
+
+    //instance variables
+    private final WallGrid walls;
+    private final int cols;
+    private final int openCount;
+    private final int[] openIndex;
+    private final int[] squareOf;
+    private final short[] distances;
+    private final byte[] nextHops;
+    private final boolean[] built;
+    private final int[] queue;
+    private final boolean lazy;
+    private final TargetDistances view;
+    private DistanceRepair repair;
+    private int[] picked;
+    private int pickGeneration;
+
+    /**
+     * NextHopTable constructor
+     * @param walls - the walls of the maze
+     * @param lazy - true to build the table for each target the first time it is used, false to build it all now
+     */
+    public NextHopTable(WallGrid walls, boolean lazy) {
+        this.walls = walls;
+        this.cols = walls.getCols();
+        this.openIndex = new int[walls.getSize()];
+        this.openCount = countOpenSquares(walls);
+        this.squareOf = new int[this.openCount];
+        int next = 0;
+        for (int square = 0; square < walls.getSize(); square++) {
+            if (walls.isWall(square)) {
+                this.openIndex[square] = -1;
+            }
+            else {
+                this.openIndex[square] = next;
+                this.squareOf[next] = square;
+                next++;
+            }
+        }
+        this.distances = new short[this.openCount * this.openCount];
+        this.nextHops = new byte[this.openCount * 4 * this.openCount];
+        this.built = new boolean[this.openCount];
+        this.queue = new int[this.openCount];
+        this.lazy = lazy;
+        this.view = new TargetDistances();
+        if (!lazy) {
+            for (int target = 0; target < this.openCount; target++) {
+                this.buildTarget(target);
+            }
+        }
+    }
+
+    /**
+     * Counts the open squares of a maze, which is how many entries each side of the table needs.
+     * @param walls - the walls of the maze
+     * @return the number of squares that are not walls
+     */
+    public static int countOpenSquares(WallGrid walls) {
+        int count = 0;
+        for (int square = 0; square < walls.getSize(); square++) {
+            if (!walls.isWall(square)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Checks to see if the table has an answer for a ghost on a square going to a target, which is the case whenever
+     * the target is an open square that can be reached from the ghost's square and the ghost doesn't have to get past
+     * its own square to get there the shortest way. Targets inside walls, off of the board or cut off from the ghost
+     * (such as inside a closed ghost pen), and targets behind the ghost, have to be searched for with a BfsPathfinder
+     * instead, which goes to the closest square it can reach without turning around.
+     * @param row - the row the ghost is on
+     * @param col - the col the ghost is on
+     * @param heading - the direction the ghost is currently moving in
+     * @param targetRow - row of the target
+     * @param targetCol - col of the target
+     * @return true if the table can answer for this target
+     */
+    public boolean covers(int row, int col, Direction heading, int targetRow, int targetCol) {
+        if (this.walls.isWall(targetRow, targetCol) || this.getDistance(row, col, targetRow, targetCol) < 0) {
+            return false;
+        }
+        int from = this.openIndex[row * this.cols + col];
+        int target = this.openIndex[targetRow * this.cols + targetCol];
+        return this.nextHops[(from * 4 + heading.ordinal()) * this.openCount + target] != SEARCH;
+    }
+
+    /**
+     * Looks up the direction a ghost should move in to get to a target. The target must be covered by the table (see
+     * covers()).
+     * @param row - the row the ghost is on
+     * @param col - the col the ghost is on
+     * @param heading - the direction the ghost is currently moving in
+     * @param targetRow - the row of the target
+     * @param targetCol - the col of the target
+     * @return the direction that will take the ghost toward the target, or null if the ghost can't move at all or the
+     * way has to be searched for
+     */
+    public Direction nextDirection(int row, int col, Direction heading, int targetRow, int targetCol) {
+        int from = this.openIndex[row * this.cols + col];
+        int target = this.ensureBuilt(targetRow, targetCol);
+        byte hop = this.nextHops[(from * 4 + heading.ordinal()) * this.openCount + target];
+        return hop < 0 ? null : DIRECTIONS[hop];
+    }
+
+    /**
+     * Looks up the number of steps between two open squares.
+     * @return the number of steps, or -1 if the target can't be reached
+     */
+    public int getDistance(int fromRow, int fromCol, int targetRow, int targetCol) {
+        int from = this.openIndex[fromRow * this.cols + fromCol];
+        int target = this.ensureBuilt(targetRow, targetCol);
+        return this.distances[target * this.openCount + from];
+    }
+
+    /**
+     * Checks to see if a square was open when the table was built, which is what it needs to be to have entries in the
+     * table and to be opened or closed with wallChanged().
+     * @param row - the row of the square
+     * @param col - the col of the square
+     * @return true if the square has entries in the table
+     */
+    public boolean hasSquare(int row, int col) {
+        return this.openIndex[row * this.cols + col] >= 0;
+    }
+
+    /**
+     * Repairs the table after a square was opened or closed. The distances toward each target that has been built are
+     * repaired in place, and new next hops are only picked for the squares around the ones whose distance changed. A
+     * target that was closed itself is dropped, and built again the next time it is asked for once it is open again,
+     * even in a table that was built eagerly.
+     * @param row - the row of the square that changed, which has to have entries in the table (see hasSquare())
+     * @param col - the col of the square that changed
+     */
+    public void wallChanged(int row, int col) {
+        int square = row * this.cols + col;
+        int open = this.openIndex[square];
+        if (open < 0) {
+            throw new IllegalArgumentException("Only squares that were open when the table was built can change: Given"
+                    + " row = " + row + ", col = " + col);
+        }
+        if (this.repair == null) {
+            this.repair = new DistanceRepair(this.walls);
+            this.picked = new int[this.walls.getSize()];
+        }
+        boolean closed = this.walls.isWall(square);
+        for (int target = 0; target < this.openCount; target++) {
+            if (!this.built[target]) {
+                continue;
+            }
+            if (target == open) {
+                this.built[target] = false;
+                continue;
+            }
+            this.view.base = target * this.openCount;
+            this.pickGeneration++;
+            if (this.pickGeneration == 0) {
+                Arrays.fill(this.picked, 0);
+                this.pickGeneration = 1;
+            }
+            if (closed) {
+                this.repair.closed(this.view, square);
+            }
+            else {
+                this.repair.opened(this.view, square);
+            }
+            this.pickHopsAround(square, target);
+            for (int i = 0; i < this.repair.getChangedCount(); i++) {
+                this.pickHopsAround(this.repair.getChanged(i), target);
+            }
+        }
+    }
+
+    /**
+     * Helper method that picks the next hops toward a target again for an open square and its open neighbors, whose
+     * best directions depend on the square's distance. Each square is only picked for once per repair, since the
+     * squares whose distance changed are usually next to each other.
+     * @param square - the index of the square
+     * @param target - open square number of the target
+     */
+    private void pickHopsAround(int square, int target) {
+        int row = square / this.cols;
+        int col = square - row * this.cols;
+        if (this.picked[square] != this.pickGeneration) {
+            this.picked[square] = this.pickGeneration;
+            this.pickHops(square, target);
+        }
+        for (Direction direction : DIRECTIONS) {
+            int neighbor = this.walls.neighbor(row, col, direction);
+            if (neighbor >= 0 && this.picked[neighbor] != this.pickGeneration) {
+                this.picked[neighbor] = this.pickGeneration;
+                this.pickHops(neighbor, target);
+            }
+        }
+    }
+
+    /**
+     * Helper method that picks the next hops toward a target out of an open square for every heading.
+     * @param square - the index of the square, which is skipped if it is a wall
+     * @param target - open square number of the target
+     */
+    private void pickHops(int square, int target) {
+        if (this.walls.isWall(square)) {
+            return;
+        }
+        int from = this.openIndex[square];
+        int row = square / this.cols;
+        int col = square - row * this.cols;
+        for (Direction heading : DIRECTIONS) {
+            this.nextHops[(from * 4 + heading.ordinal()) * this.openCount + target] =
+                    this.bestHop(row, col, heading, target * this.openCount, from);
+        }
+    }
+
+    /**
+     * Checks to see if this table is built lazily. A lazy table writes to itself on lookups, so only an eagerly built
+     * table can be shared between games running on different threads.
+     * @return this.lazy - true if the table is built lazily
+     */
+    public boolean isLazy() {
+        return this.lazy;
+    }
+
+    /**
+     * Helper method that makes sure the table has been built for a target.
+     * @return the open square number of the target
+     */
+    private int ensureBuilt(int targetRow, int targetCol) {
+        int target = this.openIndex[targetRow * this.cols + targetCol];
+        if (!this.built[target]) {
+            this.buildTarget(target);
+        }
+        return target;
+    }
+
+    /**
+     * Helper method that fills in the distances and next hops toward one target. A BFS outward from the target gives
+     * every square's distance to it (moves are reversible, so distance to and from the target are the same). The best
+     * direction out of a square for each heading is then the open, non-reversing neighbor with the smallest distance,
+     * as long as that neighbor is no further from the target than the square itself. Ties go to whichever neighbor
+     * comes first in the order that BfsPathfinder checks neighbors in.
+     * @param target - open square number of the target
+     */
+    private void buildTarget(int target) {
+        int base = target * this.openCount;
+        Arrays.fill(this.distances, base, base + this.openCount, (short) -1);
+        this.distances[base + target] = 0;
+        int head = 0;
+        int tail = 0;
+        this.queue[tail++] = target;
+        while (head < tail) {
+            int open = this.queue[head++];
+            int square = this.squareOf[open];
+            int row = square / this.cols;
+            int col = square - row * this.cols;
+            for (Direction direction : BfsPathfinder.SEARCH_ORDER) {
+                int neighbor = this.walls.neighbor(row, col, direction);
+                if (neighbor >= 0 && this.distances[base + this.openIndex[neighbor]] < 0) {
+                    this.distances[base + this.openIndex[neighbor]] = (short) (this.distances[base + open] + 1);
+                    this.queue[tail++] = this.openIndex[neighbor];
+                }
+            }
+        }
+
+        for (int from = 0; from < this.openCount; from++) {
+            this.pickHops(this.squareOf[from], target);
+        }
+        this.built[target] = true;
+    }
+
+    /**
+     * Helper method that picks the best direction out of a square for one heading, given the distances to a target.
+     * A neighbor that is no further from the target than the square can't have its shortest way lead back through the
+     * square, since that way would be at least one step longer, so its distance holds for the ghost too. If every
+     * neighbor the ghost may step to is further away, the shortest way is behind the ghost, and the way around has to
+     * be searched for.
+     * @param base - where the target's distances start in this.distances
+     * @param from - open square number of the square
+     * @return the Direction ordinal, NO_DIRECTION if the ghost can't move at all, or SEARCH
+     */
+    private byte bestHop(int row, int col, Direction heading, int base, int from) {
+        Direction opposite = heading.opposite();
+        byte best = NO_DIRECTION;
+        int bestDistance = Integer.MAX_VALUE;
+        for (Direction direction : BfsPathfinder.SEARCH_ORDER) {
+            int neighbor = this.walls.neighbor(row, col, direction);
+            if (direction != opposite && neighbor >= 0) {
+                int distance = this.distances[base + this.openIndex[neighbor]];
+                if (distance >= 0 && distance < bestDistance) {
+                    bestDistance = distance;
+                    best = (byte) direction.ordinal();
+                }
+            }
+        }
+        //dead end, so the ghost has to turn around
+        if (best == NO_DIRECTION && this.walls.neighbor(row, col, opposite) >= 0) {
+            return (byte) opposite.ordinal();
+        }
+        int own = this.distances[base + from];
+        if (best != NO_DIRECTION && own > 0 && bestDistance > own) {
+            return SEARCH;
+        }
+        return best;
+    }
+
+    /**
+     * TargetDistances class that lets a DistanceRepair read and write the distances toward one target, which start at
+     * base in this.distances and are indexed by open square number rather than by square.
+     */
+    private class TargetDistances implements DistanceRepair.Field {
+
+        //instance variables
+        private int base;
+
+        @Override
+        public int getDistance(int square) {
+            int open = NextHopTable.this.openIndex[square];
+            return open < 0 ? DistanceRepair.UNREACHABLE : NextHopTable.this.distances[this.base + open];
+        }
+
+        @Override
+        public void setDistance(int square, int distance) {
+            NextHopTable.this.distances[this.base + NextHopTable.this.openIndex[square]] = (short) distance;
+        }
+    }
+}
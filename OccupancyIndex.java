@@ -0,0 +1,136 @@
+package pacman;
+
+import java.util.Arrays;
+
+/**
+ * OccupancyIndex class that answers "which ghosts are on this square" in constant time, without the per-square
+ * ArrayLists the MazeSquares used to have. Squares are stored by their index (row * cols + col), the same as in the
+ * WallGrid, and the pellets on them are kept by the PelletStore.
+ *
+ * Every ghost has a fixed slot (its index) and the ghosts on one square are linked together through those slots:
+ * tileHead holds the first ghost on a square and nextGhost / previousGhost link to the other ghosts on the same square.
+ * Moving a ghost unlinks it from one square and links it to the front of another, which never allocates, and any number
+ * of ghosts can share a square.
+ *
+ * Ghosts that share a square are listed most recent arrival first. A ghost can be moved while walking the ghosts on a
+ * square, as long as nextGhostAt() was read for it before it moved.
+ */
+public class OccupancyIndex {
+
+    //the value stored for "no ghost" and for a ghost that is not on any square
+    public static final int NONE = -1;
+
+    //instance variables
+    private final int cols;
+    private final int[] tileHead;
+    private final int[] ghostTiles;
+    private final int[] nextGhost;
+    private final int[] previousGhost;
+
+    /**
+     * OccupancyIndex constructor that starts out with every ghost off of the board.
+     * @param rows - number of rows on the board
+     * @param cols - number of cols on the board
+     * @param ghostCount - number of ghost slots
+     */
+    public OccupancyIndex(int rows, int cols, int ghostCount) {
+        this.cols = cols;
+        this.tileHead = new int[rows * cols];
+        this.ghostTiles = new int[ghostCount];
+        this.nextGhost = new int[ghostCount];
+        this.previousGhost = new int[ghostCount];
+        Arrays.fill(this.tileHead, NONE);
+        Arrays.fill(this.ghostTiles, NONE);
+    }
+
+    /**
+     * Helper method that turns a row and col into a square index.
+     * @return the index of the square
+     */
+    private int tile(int row, int col) {
+        return row * this.cols + col;
+    }
+
+    /**
+     * Moves a ghost onto a square, taking it off of whatever square it was on.
+     * @param ghost - index of the ghost
+     * @param row - row of the new square
+     * @param col - col of the new square
+     */
+    public void moveGhost(int ghost, int row, int col) {
+        int tile = this.tile(row, col);
+        if (this.ghostTiles[ghost] == tile) {
+            return;
+        }
+        this.unlink(ghost);
+        //link the ghost in at the front of the new square's list
+        int head = this.tileHead[tile];
+        this.nextGhost[ghost] = head;
+        this.previousGhost[ghost] = NONE;
+        if (head != NONE) {
+            this.previousGhost[head] = ghost;
+        }
+        this.tileHead[tile] = ghost;
+        this.ghostTiles[ghost] = tile;
+    }
+
+    /**
+     * Takes a ghost off of the board.
+     * @param ghost - index of the ghost
+     */
+    public void removeGhost(int ghost) {
+        this.unlink(ghost);
+        this.ghostTiles[ghost] = NONE;
+    }
+
+    /**
+     * Helper method that unlinks a ghost from the list of the square it is on, if it is on one.
+     * @param ghost - index of the ghost
+     */
+    private void unlink(int ghost) {
+        int tile = this.ghostTiles[ghost];
+        if (tile == NONE) {
+            return;
+        }
+        int previous = this.previousGhost[ghost];
+        int next = this.nextGhost[ghost];
+        if (previous == NONE) {
+            this.tileHead[tile] = next;
+        }
+        else {
+            this.nextGhost[previous] = next;
+        }
+        if (next != NONE) {
+            this.previousGhost[next] = previous;
+        }
+    }
+
+    /**
+     * Getter method that returns the first ghost on a square. The rest are found with nextGhostAt().
+     * @param row - row that is being checked
+     * @param col - col that is being checked
+     * @return the index of the ghost, or NONE if there are no ghosts on the square
+     */
+    public int firstGhostAt(int row, int col) {
+        return this.tileHead[this.tile(row, col)];
+    }
+
+    /**
+     * Getter method that returns the ghost after a ghost on the same square.
+     * @param ghost - index of the ghost
+     * @return the index of the next ghost, or NONE if it is the last ghost on the square
+     */
+    public int nextGhostAt(int ghost) {
+        return this.nextGhost[ghost];
+    }
+
+    /**
+     * Checks to see if there are any ghosts on a square.
+     * @param row - row that is being checked
+     * @param col - col that is being checked
+     * @return true if there is at least one ghost
+     */
+    public boolean isThereGhost(int row, int col) {
+        return this.tileHead[this.tile(row, col)] != NONE;
+    }
+}
@@ -0,0 +1,13 @@
+package pacman;
+
+/**
+ * PacmanPolicy interface that is implemented by anything that can play pacman without a keyboard, such as the random
+ * and scripted players used by the BatchSimulator. Each tick the policy looks at the Simulation and picks the direction
+ * the user would have pressed.
+ */
+public interface PacmanPolicy {
+
+    //declaring PacmanPolicy methods
+    Direction chooseDirection(Simulation simulation);
+
+}
@@ -18,20 +18,24 @@ public class PaneOrganizer {
     private Pane gamePane;
     private HBox scorePane;
 
-    //PaneOrganizer constructor
-    public PaneOrganizer() {
+    /**
+     * PaneOrganizer constructor
+     * @param layout - the maze the game is played on, which the size of the panes is worked out from
+     */
+    public PaneOrganizer(MazeLayout layout) {
         this.root = new BorderPane();
-        this.createGamePane();
-        this.createScorePane();
-        new Game(this.gamePane, this.scorePane);
+        this.createGamePane(layout);
+        this.createScorePane(layout);
+        new Game(this.gamePane, this.scorePane, layout);
     }
 
     /**
      * Helper method that helps set up the gamePane method. This gamePane is set to the top of the BorderPane.
+     * @param layout - the maze the game is played on
      */
-    private void createGamePane() {
+    private void createGamePane(MazeLayout layout) {
         this.gamePane = new Pane();
-        this.gamePane.setPrefSize(Constants.SCENE_WIDTH, Constants.GAME_PANE_HEIGHT);
+        this.gamePane.setPrefSize(layout.getCols() * Constants.SQUARE_SIZE, layout.getRows() * Constants.SQUARE_SIZE);
         this.gamePane.setStyle(Constants.BACKGROUND_COLOR);
         this.root.setTop(this.gamePane);
     }
@@ -39,10 +43,11 @@ public class PaneOrganizer {
     /**
      * Helper method that helps set up the scorePane which is where the score and the life labels are located. This pane
      * is set at the bottom of the BorderPane.
+     * @param layout - the maze the game is played on
      */
-    private void createScorePane() {
+    private void createScorePane(MazeLayout layout) {
         this.scorePane = new HBox();
-        this.scorePane.setPrefSize(Constants.SCENE_WIDTH, Constants.SCORE_PANE_HEIGHT);
+        this.scorePane.setPrefSize(layout.getCols() * Constants.SQUARE_SIZE, Constants.SCORE_PANE_HEIGHT);
         this.scorePane.setStyle(Constants.BACKGROUND_COLOR);
         this.root.setBottom(this.scorePane);
         this.scorePane.setAlignment(Pos.CENTER);
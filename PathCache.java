@@ -0,0 +1,221 @@
+package pacman;
+
+import java.util.Arrays;
+
+/**
+ * PathCache class that remembers the direction the BfsPathfinder picked for a ghost on a square with a heading going
+ * to a target, so the same question is never searched twice. An answer stays right until a door opens or closes, when
+ * the Simulation calls clear(): a scatter target never moves, so scattering ghosts only search the first time they
+ * come through a square, and a chase target only moves when pacman steps onto a new square, which is just a new key
+ * rather than something that has to be thrown away.
+ *
+ * The cache holds at most a fixed number of answers and drops the least recently used one to make room. Everything is
+ * kept in primitive arrays allocated once, so lookups never allocate:
+ *
+ * - each entry has a slot holding its key (see key()) and the answer (a Direction ordinal, or NO_DIRECTION).
+ * - entries are found through a hash table of buckets, where bucketHead holds the first slot of each bucket and
+ *   nextInBucket chains the slots that share a bucket.
+ * - newer / older link the slots from most to least recently used, so a hit moves its slot to the front and an
+ *   eviction takes the slot at the back.
+ */
+public class PathCache {
+
+    //what get() returns for a key that is not in the cache
+    public static final int MISS = -1;
+    //the answer stored for a ghost that can't move at all
+    public static final int NO_DIRECTION = 4;
+
+    private static final int NONE = -1;
+
+    //instance variables
+    private final long[] keys;
+    private final byte[] answers;
+    private final int[] nextInBucket;
+    private final int[] newer;
+    private final int[] older;
+    private final int[] bucketHead;
+    private final int bucketShift;
+    private int size;
+    private int newest;
+    private int oldest;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * PathCache constructor
+     * @param capacity - the most answers the cache holds before it starts dropping the least recently used one
+     */
+    public PathCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("A PathCache must hold at least one answer: Given capacity = "
+                    + capacity);
+        }
+        this.keys = new long[capacity];
+        this.answers = new byte[capacity];
+        this.nextInBucket = new int[capacity];
+        this.newer = new int[capacity];
+        this.older = new int[capacity];
+        //at least twice as many buckets as slots, rounded up to a power of two so a bucket is a shift of the hash
+        int buckets = Integer.highestOneBit(Math.max(1, capacity * 2 - 1)) << 1;
+        this.bucketHead = new int[buckets];
+        this.bucketShift = 64 - Integer.numberOfTrailingZeros(buckets);
+        this.clear();
+    }
+
+    /**
+     * Makes the key for a question. The target is kept as two 16 bit numbers, since chase targets can be a few squares
+     * off of the board.
+     * @param square - index of the square the ghost is on
+     * @param heading - the direction the ghost is currently moving in
+     * @param targetRow - row of the target
+     * @param targetCol - col of the target
+     * @return the key
+     */
+    public static long key(int square, Direction heading, int targetRow, int targetCol) {
+        return ((long) square << 34) | ((long) heading.ordinal() << 32) | ((long) (targetRow & 0xFFFF) << 16)
+                | (targetCol & 0xFFFF);
+    }
+
+    /**
+     * Looks up the answer for a key, and marks it as the most recently used one.
+     * @param key - the key of the question
+     * @return the Direction ordinal, NO_DIRECTION, or MISS if the answer is not in the cache
+     */
+    public int get(long key) {
+        for (int slot = this.bucketHead[this.bucket(key)]; slot != NONE; slot = this.nextInBucket[slot]) {
+            if (this.keys[slot] == key) {
+                this.hits++;
+                this.unlinkUse(slot);
+                this.linkNewest(slot);
+                return this.answers[slot];
+            }
+        }
+        this.misses++;
+        return MISS;
+    }
+
+    /**
+     * Adds the answer for a key that is not in the cache yet, dropping the least recently used answer if the cache is
+     * full.
+     * @param key - the key of the question
+     * @param answer - the Direction ordinal, or NO_DIRECTION
+     */
+    public void put(long key, int answer) {
+        int slot;
+        if (this.size < this.keys.length) {
+            slot = this.size++;
+        }
+        else {
+            slot = this.oldest;
+            this.unlinkUse(slot);
+            this.unlinkBucket(slot);
+            this.evictions++;
+        }
+        this.keys[slot] = key;
+        this.answers[slot] = (byte) answer;
+        int bucket = this.bucket(key);
+        this.nextInBucket[slot] = this.bucketHead[bucket];
+        this.bucketHead[bucket] = slot;
+        this.linkNewest(slot);
+    }
+
+    /**
+     * Drops every answer, for when the walls of the maze change. The hit and miss counts are kept.
+     */
+    public void clear() {
+        Arrays.fill(this.bucketHead, NONE);
+        this.size = 0;
+        this.newest = NONE;
+        this.oldest = NONE;
+    }
+
+    /**
+     * Helper method that picks the bucket of a key from the top bits of a multiplicative hash.
+     * @return the index of the bucket
+     */
+    private int bucket(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> this.bucketShift);
+    }
+
+    /**
+     * Helper method that takes a slot out of its bucket's chain.
+     */
+    private void unlinkBucket(int slot) {
+        int bucket = this.bucket(this.keys[slot]);
+        if (this.bucketHead[bucket] == slot) {
+            this.bucketHead[bucket] = this.nextInBucket[slot];
+            return;
+        }
+        int previous = this.bucketHead[bucket];
+        while (this.nextInBucket[previous] != slot) {
+            previous = this.nextInBucket[previous];
+        }
+        this.nextInBucket[previous] = this.nextInBucket[slot];
+    }
+
+    /**
+     * Helper method that takes a slot out of the most to least recently used list.
+     */
+    private void unlinkUse(int slot) {
+        if (this.newer[slot] == NONE) {
+            this.newest = this.older[slot];
+        }
+        else {
+            this.older[this.newer[slot]] = this.older[slot];
+        }
+        if (this.older[slot] == NONE) {
+            this.oldest = this.newer[slot];
+        }
+        else {
+            this.newer[this.older[slot]] = this.newer[slot];
+        }
+    }
+
+    /**
+     * Helper method that puts a slot at the front of the most to least recently used list.
+     */
+    private void linkNewest(int slot) {
+        this.newer[slot] = NONE;
+        this.older[slot] = this.newest;
+        if (this.newest != NONE) {
+            this.newer[this.newest] = slot;
+        }
+        this.newest = slot;
+        if (this.oldest == NONE) {
+            this.oldest = slot;
+        }
+    }
+
+    /**
+     * Getter method that returns how many answers are in the cache.
+     * @return this.size - the number of answers
+     */
+    public int getSize() {
+        return this.size;
+    }
+
+    /**
+     * Getter method that returns how many lookups found their answer.
+     * @return this.hits - the number of hits
+     */
+    public long getHits() {
+        return this.hits;
+    }
+
+    /**
+     * Getter method that returns how many lookups had to be searched for.
+     * @return this.misses - the number of misses
+     */
+    public long getMisses() {
+        return this.misses;
+    }
+
+    /**
+     * Getter method that returns how many answers were dropped to make room for new ones.
+     * @return this.evictions - the number of evictions
+     */
+    public long getEvictions() {
+        return this.evictions;
+    }
+}
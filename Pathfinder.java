@@ -0,0 +1,40 @@
+package pacman;
+
+/**
+ * Pathfinder interface for the searches a ghost can use to pick its next direction. A Simulation makes one Pathfinder
+ * when it is built (see SimulationConfig.setPathfinderType()) and reuses it for every ghost on every tick, so a
+ * Pathfinder should allocate everything it needs up front.
+ *
+ * Every Pathfinder answers the same question in the same way: the first step toward the open square closest to the
+ * target that the ghost can get to without turning around, turning around only in a dead end. They may only differ in
+ * how they break ties between equally good squares or equally short paths.
+ *
+ * A Pathfinder reads the WallGrid it was made with, so it sees a door open or close right away, but anything it worked
+ * out from the walls ahead of time has to be repaired when that happens, which is what wallChanged() is for.
+ */
+public interface Pathfinder {
+
+    /**
+     * Finds the direction a ghost should move in to get closest to a target.
+     * @param row - the row the ghost is on
+     * @param col - the col the ghost is on
+     * @param heading - the direction the ghost is currently moving in
+     * @param targetRow - the row of the target, which may be off of the board
+     * @param targetCol - the col of the target, which may be off of the board
+     * @return the direction that will take the ghost toward the target, or null if the ghost can't move at all
+     */
+    Direction nextDirection(int row, int col, Direction heading, int targetRow, int targetCol);
+
+    /**
+     * Repairs whatever the Pathfinder worked out from the walls after a square was opened or closed in its WallGrid.
+     * @param row - the row of the square that changed
+     * @param col - the col of the square that changed
+     */
+    void wallChanged(int row, int col);
+
+    /**
+     * Getter method that returns how many squares have been expanded over all searches so far.
+     * @return the number of squares expanded
+     */
+    long getNodesExpanded();
+}
@@ -0,0 +1,17 @@
+package pacman;
+
+/**
+ * PathfinderType enum that names the ways a Simulation can find the ghosts' next directions.
+ *
+ * - BFS searches with a BfsPathfinder, which floods the maze outward from the ghost.
+ * - A_STAR searches with an AStarPathfinder, which heads straight for the target and expands far fewer squares on big
+ *   mazes.
+ * - HIERARCHICAL searches with a HierarchicalPathfinder, which splits the maze into clusters and keeps its searches
+ *   between decisions, for very big mazes.
+ * - TABLE looks the direction up in a NextHopTable whenever the maze is small enough for one and the target is an open
+ *   square the ghost can reach without going back past its own square, and searches with a BfsPathfinder otherwise.
+ */
+public enum PathfinderType {
+    BFS, A_STAR, HIERARCHICAL, TABLE;
+
+}
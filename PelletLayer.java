@@ -0,0 +1,75 @@
+package pacman;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+
+/**
+ * PelletLayer class that draws every dot and energizer onto one transparent Canvas that sits on top of the maze
+ * squares, instead of adding a Circle node to the gamePane for each pellet. The Canvas is only drawn on where a pellet
+ * changed: each frame, redraw() walks the dirty squares of the PelletStore and clears or repaints just those squares.
+ */
+public class PelletLayer {
+
+    //instance variables
+    private Canvas canvas;
+    private GraphicsContext graphics;
+
+    /**
+     * PelletLayer constructor
+     * @param gamePane - the gamePane that the layer is added to
+     * @param rows - number of rows on the board
+     * @param cols - number of cols on the board
+     */
+    public PelletLayer(Pane gamePane, int rows, int cols) {
+        this.canvas = new Canvas(cols * Constants.SQUARE_SIZE, rows * Constants.SQUARE_SIZE);
+        this.graphics = this.canvas.getGraphicsContext2D();
+        gamePane.getChildren().add(this.canvas);
+    }
+
+    /**
+     * Redraws the squares whose pellets changed since the last redraw, and then clears the dirty marks.
+     * @param pellets - the PelletStore that is being drawn
+     */
+    public void redraw(PelletStore pellets) {
+        int cols = pellets.getCols();
+        for (int square = pellets.nextDirty(0); square >= 0; square = pellets.nextDirty(square + 1)) {
+            this.drawSquare(pellets, square / cols, square % cols);
+        }
+        pellets.clearDirty();
+    }
+
+    /**
+     * Helper method that clears one square of the layer and draws its dot or energizer, if it has one.
+     * @param pellets - the PelletStore that is being drawn
+     * @param row - row of the square
+     * @param col - col of the square
+     */
+    private void drawSquare(PelletStore pellets, int row, int col) {
+        double x = col * Constants.SQUARE_SIZE;
+        double y = row * Constants.SQUARE_SIZE;
+        this.graphics.clearRect(x, y, Constants.SQUARE_SIZE, Constants.SQUARE_SIZE);
+        int radius;
+        if (pellets.isDot(row, col)) {
+            radius = Constants.DOT_RADIUS;
+        }
+        else if (pellets.isEnergizer(row, col)) {
+            radius = Constants.ENERGIZER_RADIUS;
+        }
+        else {
+            return;
+        }
+        this.graphics.setFill(Color.WHITE);
+        this.graphics.fillOval(x + Constants.DOT_OFFSET - radius, y + Constants.DOT_OFFSET - radius, radius * 2,
+                radius * 2);
+    }
+
+    /**
+     * Getter method that returns the Canvas the pellets are drawn on.
+     * @return this.canvas - the Canvas
+     */
+    public Canvas getCanvas() {
+        return this.canvas;
+    }
+}
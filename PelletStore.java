@@ -0,0 +1,291 @@
+package pacman;
+
+import cs15.fnl.pacmanSupport.CS15SquareType;
+
+import java.util.Arrays;
+
+/**
+ * PelletStore class that keeps track of which squares still have a dot or an energizer. Like the WallGrid, the
+ * pellets are stored as one bit per square in long[] bitsets, where the square at (row, col) is bit row * cols + col:
+ * one bitset for dots and one for energizers.
+ *
+ * - the number of pellets left is kept up to date on every removal, so checking for a win is one comparison. Whenever
+ *   the whole board changes at once (reset()), it is recounted with Long.bitCount() over the bitsets instead.
+ * - the pellets the level started with are kept, so reset() can put every pellet back at once for a new level.
+ * - every square whose pellet changes is marked in a third "dirty" bitset. A renderer walks the dirty squares with
+ *   nextDirty() and redraws only those, then calls clearDirty(), instead of keeping one node per pellet.
+ *
+ * Anything off of the board has no pellet.
+ */
+public class PelletStore {
+
+    //instance variables
+    private final int rows;
+    private final int cols;
+    private final long[] startDots;
+    private final long[] startEnergizers;
+    private final long[] dots;
+    private final long[] energizers;
+    private final long[] dirty;
+    private int remaining;
+
+    /**
+     * PelletStore constructor that starts out with every pellet of the level on the board and every square dirty.
+     * @param rows - number of rows on the board
+     * @param cols - number of cols on the board
+     * @param startDots - the dot bitset the level starts with, which is copied
+     * @param startEnergizers - the energizer bitset the level starts with, which is copied
+     */
+    private PelletStore(int rows, int cols, long[] startDots, long[] startEnergizers) {
+        this.rows = rows;
+        this.cols = cols;
+        this.startDots = startDots.clone();
+        this.startEnergizers = startEnergizers.clone();
+        this.dots = new long[startDots.length];
+        this.energizers = new long[startDots.length];
+        this.dirty = new long[startDots.length];
+        this.reset();
+        this.markAllDirty();
+    }
+
+    /**
+     * Builds the PelletStore for a support map.
+     * @param supportMap - the map that the dots and energizers are read from
+     * @return the new PelletStore
+     */
+    public static PelletStore fromSupportMap(CS15SquareType[][] supportMap) {
+        return fromLayout(MazeLayout.fromSupportMap(supportMap));
+    }
+
+    /**
+     * Builds the PelletStore for a maze. This is done once per game.
+     * @param layout - the maze that the dots and energizers are read from
+     * @return the new PelletStore
+     */
+    public static PelletStore fromLayout(MazeLayout layout) {
+        int rows = layout.getRows();
+        int cols = layout.getCols();
+        long[] dots = new long[(rows * cols + 63) >>> 6];
+        long[] energizers = new long[dots.length];
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                int index = row * cols + col;
+                if (layout.getSquare(row, col) == CS15SquareType.DOT) {
+                    dots[index >>> 6] |= 1L << index;
+                }
+                else if (layout.getSquare(row, col) == CS15SquareType.ENERGIZER) {
+                    energizers[index >>> 6] |= 1L << index;
+                }
+            }
+        }
+        return new PelletStore(rows, cols, dots, energizers);
+    }
+
+    /**
+     * Puts every pellet the level started with back on the board, for example to start a new level. Only the squares
+     * that actually change are marked dirty.
+     */
+    public void reset() {
+        for (int i = 0; i < this.dots.length; i++) {
+            long changed = (this.dots[i] ^ this.startDots[i]) | (this.energizers[i] ^ this.startEnergizers[i]);
+            this.dirty[i] |= changed;
+            this.dots[i] = this.startDots[i];
+            this.energizers[i] = this.startEnergizers[i];
+        }
+        this.remaining = this.countDots() + this.countEnergizers();
+    }
+
+    /**
+     * Makes a PelletStore with the same pellets as this one and every square dirty, for example to hold the pellets of
+     * a SimulationSnapshot.
+     * @return the new PelletStore
+     */
+    public PelletStore copy() {
+        PelletStore copy = new PelletStore(this.rows, this.cols, this.startDots, this.startEnergizers);
+        copy.copyFrom(this);
+        copy.markAllDirty();
+        return copy;
+    }
+
+    /**
+     * Makes this PelletStore hold the same pellets as another one for the same board. Only the squares that actually
+     * change are marked dirty, so a renderer drawing this store redraws exactly what changed since it last drew it,
+     * however many of the other store's changes it never saw.
+     * @param source - the PelletStore to copy the pellets from
+     */
+    public void copyFrom(PelletStore source) {
+        if (source.rows != this.rows || source.cols != this.cols) {
+            throw new IllegalArgumentException("Pellets can only be copied between boards of the same size: Given"
+                    + " rows = " + source.rows + " cols = " + source.cols + " into rows = " + this.rows + " cols = "
+                    + this.cols);
+        }
+        for (int i = 0; i < this.dots.length; i++) {
+            this.dirty[i] |= (this.dots[i] ^ source.dots[i]) | (this.energizers[i] ^ source.energizers[i]);
+            this.dots[i] = source.dots[i];
+            this.energizers[i] = source.energizers[i];
+        }
+        this.remaining = source.remaining;
+    }
+
+    /**
+     * Helper method that checks if a location is on the board.
+     * @return true if the location is on the board
+     */
+    private boolean isOnBoard(int row, int col) {
+        return row >= 0 && row < this.rows && col >= 0 && col < this.cols;
+    }
+
+    /**
+     * Checks to see if there is a dot at a certain row and col.
+     * @param row - row that is being checked
+     * @param col - col that is being checked
+     * @return true if there is a dot
+     */
+    public boolean isDot(int row, int col) {
+        if (!this.isOnBoard(row, col)) {
+            return false;
+        }
+        int index = row * this.cols + col;
+        return (this.dots[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Checks to see if there is an energizer at a certain row and col.
+     * @param row - row that is being checked
+     * @param col - col that is being checked
+     * @return true if there is an energizer
+     */
+    public boolean isEnergizer(int row, int col) {
+        if (!this.isOnBoard(row, col)) {
+            return false;
+        }
+        int index = row * this.cols + col;
+        return (this.energizers[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Checks to see if there is a dot or an energizer at a certain row and col.
+     * @param row - row that is being checked
+     * @param col - col that is being checked
+     * @return true if there is a pellet
+     */
+    public boolean isPellet(int row, int col) {
+        return this.isDot(row, col) || this.isEnergizer(row, col);
+    }
+
+    /**
+     * Removes the dot or energizer at a certain row and col, if there is one, and marks the square dirty.
+     * @param row - row of the pellet
+     * @param col - col of the pellet
+     * @return the score value of the pellet that was removed, or 0 if there was no pellet
+     */
+    public int remove(int row, int col) {
+        int value;
+        if (this.isDot(row, col)) {
+            value = Constants.DOT_SCORE;
+        }
+        else if (this.isEnergizer(row, col)) {
+            value = Constants.ENERGIZER_SCORE;
+        }
+        else {
+            return 0;
+        }
+        int index = row * this.cols + col;
+        long mask = ~(1L << index);
+        this.dots[index >>> 6] &= mask;
+        this.energizers[index >>> 6] &= mask;
+        this.dirty[index >>> 6] |= ~mask;
+        this.remaining--;
+        return value;
+    }
+
+    /**
+     * Getter method that returns how many dots and energizers are left on the board.
+     * @return this.remaining - the pellets left
+     */
+    public int getRemaining() {
+        return this.remaining;
+    }
+
+    /**
+     * Counts the dots left on the board.
+     * @return the number of dots
+     */
+    public int countDots() {
+        return popcount(this.dots);
+    }
+
+    /**
+     * Counts the energizers left on the board.
+     * @return the number of energizers
+     */
+    public int countEnergizers() {
+        return popcount(this.energizers);
+    }
+
+    /**
+     * Helper method that counts the set bits in a bitset.
+     * @return the number of set bits
+     */
+    private static int popcount(long[] bits) {
+        int count = 0;
+        for (long word : bits) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Finds the first dirty square at or after an index, in the same way as BitSet.nextSetBit(). Walking the dirty
+     * squares looks like: for (int i = nextDirty(0); i >= 0; i = nextDirty(i + 1)).
+     * @param fromIndex - the index to start looking from
+     * @return the index (row * cols + col) of the dirty square, or -1 if there are no more
+     */
+    public int nextDirty(int fromIndex) {
+        int size = this.rows * this.cols;
+        if (fromIndex >= size) {
+            return -1;
+        }
+        int word = fromIndex >>> 6;
+        long bits = this.dirty[word] & (-1L << fromIndex);
+        while (bits == 0) {
+            word++;
+            if (word == this.dirty.length) {
+                return -1;
+            }
+            bits = this.dirty[word];
+        }
+        int index = (word << 6) + Long.numberOfTrailingZeros(bits);
+        return index < size ? index : -1;
+    }
+
+    /**
+     * Forgets which squares are dirty, once a renderer has redrawn them.
+     */
+    public void clearDirty() {
+        Arrays.fill(this.dirty, 0);
+    }
+
+    /**
+     * Marks every square dirty, so a renderer that is just starting out draws the whole board.
+     */
+    public void markAllDirty() {
+        Arrays.fill(this.dirty, -1L);
+    }
+
+    /**
+     * Getter method that returns the number of rows on the board.
+     * @return this.rows - number of rows
+     */
+    public int getRows() {
+        return this.rows;
+    }
+
+    /**
+     * Getter method that returns the number of cols on the board.
+     * @return this.cols - number of cols
+     */
+    public int getCols() {
+        return this.cols;
+    }
+}
@@ -0,0 +1,34 @@
+package pacman;
+
+import java.util.SplittableRandom;
+
+/**
+ * RandomPolicy class that plays pacman by pressing a random arrow key every tick. Every RandomPolicy has its own seeded
+ * generator, so games played by different policies on different threads never share a random number generator, and a
+ * game played with the same seed presses the same keys.
+ */
+public class RandomPolicy implements PacmanPolicy {
+
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    //instance variables
+    private final SplittableRandom random;
+
+    /**
+     * RandomPolicy constructor
+     * @param seed - the seed for this policy's random number generator
+     */
+    public RandomPolicy(long seed) {
+        this.random = new SplittableRandom(seed);
+    }
+
+    /**
+     * Defining PacmanPolicy chooseDirection() method for the random policy specifically.
+     * @param simulation - the game being played
+     * @return a random direction
+     */
+    @Override
+    public Direction chooseDirection(Simulation simulation) {
+        return DIRECTIONS[this.random.nextInt(DIRECTIONS.length)];
+    }
+}
@@ -0,0 +1,50 @@
+package pacman;
+
+import javafx.scene.paint.Color;
+
+/**
+ * Renderer interface that is implemented by the classes that draw a game onto the gamePane. The Game class calls
+ * render() once per frame, after it has run the ticks that were due, so a Renderer only ever reads the GameView it is
+ * given: the Simulation itself, or a SimulationSnapshot of it when it is stepped on a SimulationThread.
+ *
+ * There are two renderers: the SceneGraphRenderer keeps one JavaFX node per maze square and sprite, and the
+ * CanvasRenderer draws everything onto two Canvases so the number of nodes does not grow with the size of the maze.
+ * A Renderer is also a GhostModeListener, so it only works out the colors of frightened ghosts when the mode changes
+ * instead of on every frame.
+ */
+public interface Renderer extends GhostModeListener {
+
+    //declaring Renderer methods
+    void render(GameView view, double alpha);
+
+    /**
+     * Works out the pixel location between a previous and a current row or col. Anything that jumped more than one
+     * square (wrapping through the tunnel, going back to the start or the ghost pen) is drawn at its current square
+     * instead of sliding across the board.
+     * @param previous - the previous row or col
+     * @param current - the current row or col
+     * @param alpha - how far between the two to draw, from 0 to 1
+     * @return the pixel location
+     */
+    static double interpolate(int previous, int current, double alpha) {
+        if (Math.abs(current - previous) > 1) {
+            return current * Constants.SQUARE_SIZE;
+        }
+        return (previous + (current - previous) * alpha) * Constants.SQUARE_SIZE;
+    }
+
+    /**
+     * Works out the color every ghost should be drawn in for a ghost mode.
+     * @param behavior - the ghost mode
+     * @param flashing - true if frightened mode is about to end
+     * @return white if frightened mode is about to end, the frightened color during the rest of frightened mode, and
+     * null (each ghost's own color) otherwise
+     */
+    static Color frightenedColor(GhostBehavior behavior, boolean flashing) {
+        if (behavior != GhostBehavior.FRIGHTENED) {
+            return null;
+        }
+        //Changes ghost color to white to warn user about to exit frightened mode
+        return flashing ? Color.WHITE : Constants.GHOST_FRIGHTENED_COLOR;
+    }
+}
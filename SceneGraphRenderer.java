@@ -0,0 +1,97 @@
+package pacman;
+
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+
+import java.util.ArrayList;
+
+/**
+ * SceneGraphRenderer class that draws the game with one JavaFX node per maze square, a PelletLayer for the dots and
+ * energizers, and one node each for pacman and the ghosts, all of which are set up by the Maze class. Each frame it
+ * moves the pacman and ghost nodes and lets the PelletLayer repaint the squares whose pellets changed. The maze square
+ * nodes are only colored again when a door opens or closes, which the version of the game's WallGrid gives away.
+ */
+public class SceneGraphRenderer implements Renderer {
+
+    //instance variables
+    private Maze maze;
+    private Pacman pacman;
+    private ArrayList<Ghost> ghosts;
+    private Color[] ghostColors;
+    private long wallVersion;
+
+    /**
+     * SceneGraphRenderer constructor
+     * @param gamePane - the gamePane that the maze nodes are added to
+     * @param layout - the maze that is being drawn
+     */
+    public SceneGraphRenderer(Pane gamePane, MazeLayout layout) {
+        this.maze = new Maze(gamePane, layout);
+        this.pacman = this.maze.getPacman();
+        this.pacman.getPacman().toFront();
+        this.ghosts = this.maze.getGhostArrayList();
+        this.ghostColors = new Color[] {
+            Constants.INKY_COLOR, //sky blue
+            Constants.CLYDE_COLOR, //orange
+            Constants.PINKY_COLOR, //lavender
+            Constants.BLINKY_COLOR //red
+        };
+        //the game's doors may not be as the maze has them, so the squares are colored from the game's walls first
+        this.wallVersion = -1;
+    }
+
+    /**
+     * Moves the pacman and ghost nodes to where the Simulation has them. Each node is drawn part of the way from its
+     * square before the last tick to its current square. Only the squares whose dots or energizers changed are redrawn.
+     * @param view - the Simulation or SimulationSnapshot that is being drawn
+     * @param alpha - how far to draw the nodes between their previous and current squares, from 0 to 1
+     */
+    @Override
+    public void render(GameView view, double alpha) {
+        if (view.getWallGrid().getVersion() != this.wallVersion) {
+            this.colorSquares(view.getWallGrid());
+            this.wallVersion = view.getWallGrid().getVersion();
+        }
+        this.maze.getPelletLayer().redraw(view.getPelletStore());
+        this.pacman.setCenterX(Renderer.interpolate(view.getPreviousPacmanCol(), view.getPacmanCol(), alpha)
+                + Constants.DOT_OFFSET);
+        this.pacman.setCenterY(Renderer.interpolate(view.getPreviousPacmanRow(), view.getPacmanRow(), alpha)
+                + Constants.DOT_OFFSET);
+        //there is one node per ghost part, so only the first four ghosts of a bigger horde are shown
+        for (int i = 0; i < Math.min(this.ghosts.size(), view.getGhostCount()); i++) {
+            Ghost ghost = this.ghosts.get(i);
+            ghost.setX(Renderer.interpolate(view.getPreviousGhostCol(i), view.getGhostCol(i), alpha));
+            ghost.setY(Renderer.interpolate(view.getPreviousGhostRow(i), view.getGhostRow(i), alpha));
+        }
+    }
+
+    /**
+     * Helper method that colors every maze square node as a wall or a free square.
+     * @param walls - the walls of the game
+     */
+    private void colorSquares(WallGrid walls) {
+        MazeSquare[][] squares = this.maze.getMaze();
+        for (int row = 0; row < squares.length; row++) {
+            for (int col = 0; col < squares[row].length; col++) {
+                if (squares[row][col] != null) {
+                    squares[row][col].setColor(walls.isWall(row, col) ? Color.NAVY : Color.BLACK);
+                }
+            }
+        }
+    }
+
+    /**
+     * GhostModeListener method that colors the ghost nodes based off the new ghost mode, so they are only colored when
+     * the mode changes.
+     * @param previous - the mode before the change
+     * @param current - the mode after the change
+     * @param flashing - true if frightened mode is about to end
+     */
+    @Override
+    public void ghostModeChanged(GhostBehavior previous, GhostBehavior current, boolean flashing) {
+        Color frightenedColor = Renderer.frightenedColor(current, flashing);
+        for (int i = 0; i < this.ghosts.size(); i++) {
+            this.ghosts.get(i).setColor(frightenedColor != null ? frightenedColor : this.ghostColors[i]);
+        }
+    }
+}
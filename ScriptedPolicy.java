@@ -0,0 +1,32 @@
+package pacman;
+
+/**
+ * ScriptedPolicy class that plays pacman by pressing keys from a fixed script, one entry per tick. A null entry means
+ * no key is pressed that tick, and once the script runs out it starts again from the beginning.
+ */
+public class ScriptedPolicy implements PacmanPolicy {
+
+    //instance variables
+    private final Direction[] script;
+
+    /**
+     * ScriptedPolicy constructor
+     * @param script - the key to press on each tick, or null for no key
+     */
+    public ScriptedPolicy(Direction... script) {
+        if (script.length == 0) {
+            throw new IllegalArgumentException("A ScriptedPolicy needs at least one entry");
+        }
+        this.script = script.clone();
+    }
+
+    /**
+     * Defining PacmanPolicy chooseDirection() method for the scripted policy specifically.
+     * @param simulation - the game being played
+     * @return the scripted direction for the current tick
+     */
+    @Override
+    public Direction chooseDirection(Simulation simulation) {
+        return this.script[(int) (simulation.getTickCount() % this.script.length)];
+    }
+}
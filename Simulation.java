@@ -0,0 +1,1195 @@
+package pacman;
+
+import cs15.fnl.pacmanSupport.CS15SquareType;
+
+import java.util.ArrayDeque;
+import java.util.SplittableRandom;
+
+/**
+ * This is the Simulation class, which holds the whole state of one pacman game (pacman, ghosts, dots, energizers,
+ * counters and ghost modes) as plain Java values instead of JavaFX nodes. One call to step() is one tick of the game,
+ * so a Simulation can run without a Pane or the JavaFX Application Thread. The Game class owns a Simulation and only
+ * uses the JavaFX nodes to draw whatever state the Simulation is in. A Simulation is the GameView that a Renderer
+ * draws, unless it is stepped on a SimulationThread.
+ *
+ * The walls are fixed by the maze, except for the doors of the config, which open and close during the game (see
+ * setWall()). Opening or closing a square repairs what the ghosts' pathfinding worked out from the walls around that
+ * square instead of throwing it all away.
+ *
+ * Squares are stored by row and column just like the Maze class. Ghosts are stored by index in the same order as
+ * Maze.getGhostArrayList(): 0 is inky, 1 is clyde, 2 is pinky and 3 is blinky. A config can ask for more than four
+ * ghosts, in which case ghost i plays the part of ghost i % 4.
+ */
+public class Simulation implements GameView {
+
+    //the number of ghost parts (inky, clyde, pinky and blinky)
+    private static final int GHOST_ROLES = 4;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    //instance variables
+    private int rows;
+    private int cols;
+    private WallGrid walls;
+    private Pathfinder pathfinder;
+    private JunctionGraph junctionGraph;
+    private PathCache pathCache;
+    private NextHopTable nextHopTable;
+    private PelletStore pellets;
+    private OccupancyIndex occupancy;
+    private int pacmanRow;
+    private int pacmanCol;
+    private int previousPacmanRow;
+    private int previousPacmanCol;
+    private int pacmanStartRow;
+    private int pacmanStartCol;
+    private Direction pacmanCurDirection;
+    private Direction pacmanNextDirection;
+    private Direction pendingTurn;
+    private int pendingTurnTicks;
+    private int[] ghostRows;
+    private int[] ghostCols;
+    private int[] previousGhostRows;
+    private int[] previousGhostCols;
+    private int[] ghostStartRows;
+    private int[] ghostStartCols;
+    private Direction[] ghostDirections;
+    //targets are packed coordinates (see BoardCoordinate.pack()), so picking them never allocates
+    private int[] scatterTargets;
+    private int[] chaseTargets;
+    private FlowField[] chaseFields;
+    private FlowField[] scatterFields;
+    private boolean[] reachable;
+    private DistanceRepair fieldRepair;
+    private boolean ownsNextHopTable;
+    private long retiredNodesExpanded;
+    private int[] doorSquares;
+    private boolean[] doorsStartClosed;
+    private int penRow;
+    private int penCol;
+    private int penExitRow;
+    private int penExitCol;
+    private int livesCounter;
+    private int scoreCounter;
+    private int ghostPenCounter;
+    private long tickCounter;
+    private int level;
+    private boolean gameOver;
+    private boolean won;
+    private GhostModeMachine modes;
+    private ArrayDeque<Integer> ghostPen;
+    private SimulationListener listener;
+    private SimulationConfig config;
+    private TickMetrics metrics;
+    private long seed;
+    private SplittableRandom random;
+
+    /**
+     * Simulation constructor that uses the tuning values from the Constants class.
+     * @param supportMap - the map that the walls, dots, energizers and starting locations are read from
+     */
+    public Simulation(CS15SquareType[][] supportMap) {
+        this(supportMap, new SimulationConfig());
+    }
+
+    /**
+     * Simulation constructor that picks a new random seed, which can be read back with getSeed() to replay the game.
+     * @param supportMap - the map that the walls, dots, energizers and starting locations are read from
+     * @param config - the tuning values for this game
+     */
+    public Simulation(CS15SquareType[][] supportMap, SimulationConfig config) {
+        this(MazeLayout.fromSupportMap(supportMap), config);
+    }
+
+    /**
+     * Simulation constructor for a support map.
+     * @param supportMap - the map that the walls, dots, energizers and starting locations are read from
+     * @param config - the tuning values for this game
+     * @param seed - the seed for this game's random number generator
+     */
+    public Simulation(CS15SquareType[][] supportMap, SimulationConfig config, long seed) {
+        this(MazeLayout.fromSupportMap(supportMap), config, seed);
+    }
+
+    /**
+     * Simulation constructor that picks a new random seed, which can be read back with getSeed() to replay the game.
+     * @param layout - the maze that the walls, dots, energizers, tunnels and starting locations are read from
+     * @param config - the tuning values for this game
+     */
+    public Simulation(MazeLayout layout, SimulationConfig config) {
+        this(layout, config, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Simulation constructor. Everything random in a game (where frightened ghosts wander to) comes from one generator
+     * seeded here, so two Simulations with the same maze, config and seed that are given the same input on the same
+     * ticks play exactly the same game.
+     * @param layout - the maze that the walls, dots, energizers, tunnels and starting locations are read from
+     * @param config - the tuning values for this game
+     * @param seed - the seed for this game's random number generator
+     */
+    public Simulation(MazeLayout layout, SimulationConfig config, long seed) {
+        this.config = config;
+        this.metrics = config.getMetrics();
+        this.seed = seed;
+        this.random = new SplittableRandom(seed);
+        this.setUpBoard(layout);
+        this.setUpCounters();
+        this.ghostPen = new ArrayDeque<>();
+        this.modes = new GhostModeMachine(config.getModeSchedule(this.level));
+        if (this.metrics != null) {
+            this.modes.addListener(this.metrics);
+        }
+        this.resetGhostPen();
+    }
+
+    /**
+     * Helper method that reads the walls, pellets and starting locations out of the maze. The ghosts are placed around
+     * the ghost start location in the same way that the Maze class places them, and each ghost scatters to the square
+     * one in from its own corner of the maze.
+     * @param layout - the maze that is being read
+     */
+    private void setUpBoard(MazeLayout layout) {
+        this.rows = layout.getRows();
+        this.cols = layout.getCols();
+        this.walls = WallGrid.fromLayout(layout);
+        this.pellets = PelletStore.fromLayout(layout);
+        this.scatterTargets = new int[] {
+            BoardCoordinate.pack(this.rows - 2, this.cols - 2), //inky, bottom right
+            BoardCoordinate.pack(this.rows - 2, 1), //clyde, bottom left
+            BoardCoordinate.pack(1, 1), //pinky, top left
+            BoardCoordinate.pack(1, this.cols - 2) //blinky, top right
+        };
+        this.chaseTargets = new int[GHOST_ROLES];
+        int ghostCount = this.config.getGhostCount();
+        this.occupancy = new OccupancyIndex(this.rows, this.cols, ghostCount);
+        this.ghostRows = new int[ghostCount];
+        this.ghostCols = new int[ghostCount];
+        this.previousGhostRows = new int[ghostCount];
+        this.previousGhostCols = new int[ghostCount];
+        this.ghostStartRows = new int[ghostCount];
+        this.ghostStartCols = new int[ghostCount];
+        this.ghostDirections = new Direction[ghostCount];
+
+        for (int row = 0; row < this.rows; row++) {
+            for (int col = 0; col < this.cols; col++) {
+                switch (layout.getSquare(row, col)) {
+                    case PACMAN_START_LOCATION:
+                        this.pacmanStartRow = row;
+                        this.pacmanStartCol = col;
+                        break;
+                    case GHOST_START_LOCATION:
+                        //eaten ghosts go back to the square right of the start, released ghosts go two squares up
+                        this.penRow = row;
+                        this.penCol = col + 1;
+                        this.penExitRow = row - 2;
+                        this.penExitCol = col;
+                        for (int ghost = 0; ghost < ghostCount; ghost++) {
+                            switch (ghost % GHOST_ROLES) {
+                                case 0:
+                                    this.setUpGhostStart(ghost, row, col); //inky
+                                    break;
+                                case 1:
+                                    this.setUpGhostStart(ghost, row, col + 1); //clyde
+                                    break;
+                                case 2:
+                                    this.setUpGhostStart(ghost, row, col - 1); //pinky
+                                    break;
+                                default:
+                                    //only the first blinky starts outside of the pen, the rest wait their turn in it
+                                    if (ghost < GHOST_ROLES) {
+                                        this.setUpGhostStart(ghost, row - 2, col); //blinky
+                                    }
+                                    else {
+                                        this.setUpGhostStart(ghost, row, col);
+                                    }
+                                    break;
+                            }
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+        //the pathfinding is set up with every door open, so the doors have room in it, and then the doors are closed
+        this.setUpDoors(layout);
+        this.setUpPathfinding();
+        this.setUpFlowFields();
+        this.setStartLoc();
+        for (int door = 0; door < this.doorSquares.length; door++) {
+            if (this.doorsStartClosed[door]) {
+                this.setWall(this.doorSquares[door] / this.cols, this.doorSquares[door] % this.cols, true);
+            }
+        }
+        this.savePreviousLocations();
+        this.pacmanCurDirection = Direction.RIGHT;
+        this.pacmanNextDirection = Direction.RIGHT;
+    }
+
+    /**
+     * Helper method that finds the config's doors (and the pen gate, if it is a door), remembers which of them the
+     * maze starts with closed, and opens all of them.
+     * @param layout - the maze the doors are on
+     */
+    private void setUpDoors(MazeLayout layout) {
+        int[] doors = this.config.getDoors();
+        int count = doors.length + (this.config.getPenGateDoor() ? 1 : 0);
+        this.doorSquares = new int[count];
+        this.doorsStartClosed = new boolean[count];
+        for (int door = 0; door < doors.length; door++) {
+            this.doorSquares[door] = this.checkDoor(layout, BoardCoordinate.row(doors[door]),
+                    BoardCoordinate.column(doors[door]));
+        }
+        if (this.config.getPenGateDoor()) {
+            //the gate is between the ghost start location and the square the ghosts are let out to
+            this.doorSquares[count - 1] = this.checkDoor(layout, this.penExitRow + 1, this.penExitCol);
+        }
+        for (int door = 0; door < count; door++) {
+            int row = this.doorSquares[door] / this.cols;
+            int col = this.doorSquares[door] % this.cols;
+            this.doorsStartClosed[door] = this.walls.isWall(row, col);
+            this.walls.setWall(row, col, false);
+        }
+    }
+
+    /**
+     * Helper method that checks that a square can be a door: it has to be on the board, with no pellet on it, and not
+     * be a square that pacman or a ghost starts on or is put on.
+     * @return the index of the square
+     */
+    private int checkDoor(MazeLayout layout, int row, int col) {
+        if (row < 0 || row >= this.rows || col < 0 || col >= this.cols) {
+            throw new IllegalArgumentException("Doors must be on the board: Given row = " + row + ", col = " + col);
+        }
+        boolean taken = (row == this.penRow && col == this.penCol)
+                || (row == this.penExitRow && col == this.penExitCol);
+        for (int ghost = 0; ghost < this.ghostStartRows.length; ghost++) {
+            taken |= row == this.ghostStartRows[ghost] && col == this.ghostStartCols[ghost];
+        }
+        switch (layout.getSquare(row, col)) {
+            case DOT:
+            case ENERGIZER:
+            case PACMAN_START_LOCATION:
+            case GHOST_START_LOCATION:
+                taken = true;
+                break;
+            default:
+                break;
+        }
+        if (taken) {
+            throw new IllegalArgumentException("Doors can't have a pellet or be a starting square: Given row = " + row
+                    + ", col = " + col);
+        }
+        return row * this.cols + col;
+    }
+
+    /**
+     * Helper method that sets up the config's Pathfinder, and the JunctionGraph, PathCache and NextHopTable if the
+     * config asks for them.
+     */
+    private void setUpPathfinding() {
+        switch (this.config.getPathfinderType()) {
+            case A_STAR:
+                this.pathfinder = new AStarPathfinder(this.walls);
+                break;
+            case HIERARCHICAL:
+                this.pathfinder = new HierarchicalPathfinder(this.walls, this.config.getHierarchicalClusterSize());
+                break;
+            default:
+                this.pathfinder = new BfsPathfinder(this.walls);
+                break;
+        }
+        if (this.config.getUseJunctionGraph()) {
+            this.junctionGraph = new JunctionGraph(this.walls);
+        }
+        if (this.config.getPathCacheCapacity() > 0) {
+            this.pathCache = new PathCache(this.config.getPathCacheCapacity());
+        }
+        this.setUpNextHopTable();
+    }
+
+    /**
+     * Helper method that sets up the NextHopTable if the config's pathfinder type is TABLE, either by using the one
+     * shared through the config or by building a new one. The table needs (open squares)^2 entries, so it is only
+     * built on mazes that are small enough. A game with doors builds its own table, since it writes to the table
+     * whenever a door opens or closes.
+     */
+    private void setUpNextHopTable() {
+        if (this.config.getPathfinderType() != PathfinderType.TABLE) {
+            return;
+        }
+        NextHopTable shared = this.config.getSharedNextHopTable();
+        if (shared != null && this.doorSquares.length == 0) {
+            if (shared.isLazy()) {
+                throw new IllegalArgumentException("A shared NextHopTable must be built eagerly");
+            }
+            this.nextHopTable = shared;
+        }
+        else if (NextHopTable.countOpenSquares(this.walls) <= this.config.getNextHopTableMaxSquares()) {
+            this.nextHopTable = new NextHopTable(this.walls, this.config.getNextHopTableLazy());
+            this.ownsNextHopTable = true;
+        }
+    }
+
+    /**
+     * Helper method that sets up one chase and one scatter FlowField per ghost part if the config asks for flow fields.
+     * Targets are only ever moved to squares pacman can reach, so that every ghost out of the pen can use the fields.
+     */
+    private void setUpFlowFields() {
+        if (!this.config.getUseFlowFields()) {
+            return;
+        }
+        this.reachable = FlowField.reachableFrom(this.walls, this.pacmanStartRow, this.pacmanStartCol);
+        this.chaseFields = new FlowField[GHOST_ROLES];
+        this.scatterFields = new FlowField[GHOST_ROLES];
+        for (int role = 0; role < GHOST_ROLES; role++) {
+            this.chaseFields[role] = new FlowField(this.walls, this.reachable);
+            this.scatterFields[role] = new FlowField(this.walls, this.reachable);
+        }
+    }
+
+    /**
+     * Helper method that sets up the starting square and the starting direction of one ghost.
+     * @param ghost - index of the ghost
+     * @param row - starting row of the ghost
+     * @param col - starting col of the ghost
+     */
+    private void setUpGhostStart(int ghost, int row, int col) {
+        this.ghostStartRows[ghost] = row;
+        this.ghostStartCols[ghost] = col;
+        this.ghostDirections[ghost] = Direction.RIGHT;
+    }
+
+    /**
+     * Helper method that sets up the different counters.
+     */
+    private void setUpCounters() {
+        this.livesCounter = this.config.getLives();
+        this.scoreCounter = 0;
+        this.tickCounter = 0;
+        this.level = 0;
+    }
+
+    /**
+     * Sets the listener that hears about pellets and ghosts being eaten, pacman being caught and the game ending.
+     * @param listener - the new listener, or null for no listener
+     */
+    public void setListener(SimulationListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Adds a listener that hears whenever the ghosts change mode, such as a Renderer that draws frightened ghosts in a
+     * different color.
+     * @param listener - the listener
+     */
+    public void addGhostModeListener(GhostModeListener listener) {
+        this.modes.addListener(listener);
+    }
+
+    /**
+     * Runs one tick of the game. This does the same thing that one KeyFrame of the Game timeline used to do (after
+     * flipping the doors, if it is time to): update the ghost mode, let out ghosts, move pacman and the ghosts, check
+     * collisions and check if the game is over. If the config has a TickMetrics, each phase is timed for it.
+     * @param input - the direction that the user asked pacman to turn to this tick, or null if there was no input
+     */
+    public void step(Direction input) {
+        if (this.gameOver) {
+            return;
+        }
+        long tickStart = this.metrics == null ? 0 : System.nanoTime();
+        long nodesExpanded = this.getNodesExpanded();
+        if (input != null) {
+            this.changeDirection(input);
+        }
+        this.savePreviousLocations();
+        this.tickCounter++;
+        this.ghostPenCounter++;
+        this.toggleDoors();
+        long time = this.lap(TickPhase.TOGGLE_DOORS, tickStart);
+        this.scatterOrChase();
+        time = this.lap(TickPhase.SCATTER_OR_CHASE, time);
+        this.letOutGhosts();
+        time = this.lap(TickPhase.LET_OUT_GHOSTS, time);
+        this.movePacman();
+        time = this.lap(TickPhase.MOVE_PACMAN, time);
+        this.checkCollisions();
+        time = this.lap(TickPhase.CHECK_COLLISIONS, time);
+        this.moveGhosts();
+        time = this.lap(TickPhase.MOVE_GHOSTS, time);
+        this.checkCollisions();
+        time = this.lap(TickPhase.CHECK_COLLISIONS, time);
+        this.checkGameOver();
+        time = this.lap(TickPhase.CHECK_GAME_OVER, time);
+        if (this.metrics != null) {
+            this.metrics.endTick(time - tickStart, this.getNodesExpanded() - nodesExpanded);
+        }
+    }
+
+    /**
+     * Helper method that reports how long a phase of the tick took to the TickMetrics, if there is one.
+     * @param phase - the phase that just ended
+     * @param since - the time the phase started, in nanoseconds
+     * @return the time the phase ended, which is when the next one starts, or 0 if there is no TickMetrics
+     */
+    private long lap(TickPhase phase, long since) {
+        if (this.metrics == null) {
+            return 0;
+        }
+        long now = System.nanoTime();
+        this.metrics.recordPhase(phase, now - since);
+        return now;
+    }
+
+    /**
+     * Starts a new level on the same maze once the last one is won: every dot and energizer comes back at once, pacman
+     * and the ghosts go back to their starting locations, the ghosts start the next level's GhostModeSchedule, and the
+     * score and lives carry over.
+     */
+    public void nextLevel() {
+        this.pellets.reset();
+        this.resetGhostPen();
+        this.setStartLoc();
+        this.savePreviousLocations();
+        this.level++;
+        this.modes.startLevel(this.config.getModeSchedule(this.level));
+        this.gameOver = false;
+        this.won = false;
+    }
+
+    /**
+     * Helper method that remembers where pacman and the ghosts were before this tick, so a renderer can draw them part
+     * of the way between their old and new squares.
+     */
+    private void savePreviousLocations() {
+        this.previousPacmanRow = this.pacmanRow;
+        this.previousPacmanCol = this.pacmanCol;
+        System.arraycopy(this.ghostRows, 0, this.previousGhostRows, 0, this.ghostRows.length);
+        System.arraycopy(this.ghostCols, 0, this.previousGhostCols, 0, this.ghostCols.length);
+    }
+
+    /**
+     * Changes the direction that the pacman is moving in if the direction is not into a wall. A turn into a wall is
+     * kept as a pending turn for the config's turn buffer ticks instead of being thrown away, and is taken on the
+     * first of those ticks where it is no longer into a wall, so a turn pressed a little before a corner still
+     * happens. A newer key press replaces the pending turn.
+     * @param newDirection - the newDirection for the pacman
+     */
+    public void changeDirection(Direction newDirection) {
+        this.pendingTurn = null;
+        if (newDirection != this.pacmanCurDirection) {
+            //checks if newDirection is not into a wall
+            if (this.canTurn(newDirection)) {
+                this.pacmanNextDirection = newDirection;
+            }
+            else if (this.config.getTurnBufferTicks() > 0) {
+                this.pendingTurn = newDirection;
+                this.pendingTurnTicks = this.config.getTurnBufferTicks();
+            }
+        }
+    }
+
+    /**
+     * Turns pacman for every key press waiting on an InputQueue, in the order they were pressed, and records each one
+     * in an InputLog so the game can be replayed. This is called by whichever thread steps the Simulation, right
+     * before step().
+     * @param inputs - the key presses that haven't been applied yet
+     * @param log - the log the key presses are recorded in
+     */
+    public void applyInputs(InputQueue inputs, InputLog log) {
+        for (Direction direction = inputs.poll(); direction != null; direction = inputs.poll()) {
+            log.record(this.tickCounter, direction);
+            this.changeDirection(direction);
+        }
+    }
+
+    /**
+     * Helper method that checks if pacman can turn in a direction from the square it is on.
+     * @return true if the next square in that direction is not a wall
+     */
+    private boolean canTurn(Direction direction) {
+        return !this.isThereWall(direction.newRow(this.pacmanRow), direction.newCol(this.pacmanCol));
+    }
+
+    /**
+     * Helper method that moves the pacman one square in its next direction, going through a tunnel if it is at one.
+     * A pending turn is taken first if it is no longer into a wall, and dropped once its ticks run out.
+     */
+    private void movePacman() {
+        if (this.pendingTurn != null) {
+            if (this.canTurn(this.pendingTurn)) {
+                this.pacmanNextDirection = this.pendingTurn;
+                this.pendingTurn = null;
+            }
+            else if (--this.pendingTurnTicks <= 0) {
+                this.pendingTurn = null;
+            }
+        }
+        this.pacmanCurDirection = this.pacmanNextDirection;
+        int next = this.walls.neighbor(this.pacmanRow, this.pacmanCol, this.pacmanNextDirection);
+        //if there's no wall, move pacman
+        if (next >= 0) {
+            this.pacmanRow = next / this.cols;
+            this.pacmanCol = next % this.cols;
+        }
+    }
+
+    /**
+     * Helper method that flips every door every config door toggle ticks.
+     */
+    private void toggleDoors() {
+        int ticks = this.config.getDoorToggleTicks();
+        if (ticks == 0 || this.tickCounter % ticks != 0) {
+            return;
+        }
+        for (int square : this.doorSquares) {
+            int row = square / this.cols;
+            int col = square % this.cols;
+            this.setWall(row, col, !this.walls.isWall(row, col));
+        }
+    }
+
+    /**
+     * Opens or closes a square of the maze during the game, such as a door. Instead of building the ghosts'
+     * pathfinding again, everything that was worked out from the walls is repaired around the square:
+     *
+     * - the PathCache is cleared, since any cached answer could have gone through the square.
+     * - the Pathfinder repairs itself (see Pathfinder.wallChanged()).
+     * - the NextHopTable repairs the distances and next hops toward the targets it has built. A table shared through
+     *   the config, or one that has no entries for the square because it was a wall when the table was built, is
+     *   dropped instead, and the ghosts search from then on.
+     * - the FlowFields repair their distances, after the squares pacman can reach are worked out again.
+     * - the JunctionGraph is built again, since its nodes and edges are numbered from the whole maze.
+     *
+     * A square can't be closed while pacman, a ghost or a pellet is on it.
+     * @param row - the row of the square
+     * @param col - the col of the square
+     * @param wall - true to close the square, false to open it
+     * @return true if the square is now what was asked for, or false if it couldn't be closed
+     */
+    public boolean setWall(int row, int col, boolean wall) {
+        if (row < 0 || row >= this.rows || col < 0 || col >= this.cols) {
+            throw new IllegalArgumentException("Only squares on the board can be changed: Given row = " + row
+                    + ", col = " + col);
+        }
+        if (this.walls.isWall(row, col) == wall) {
+            return true;
+        }
+        if (wall && ((row == this.pacmanRow && col == this.pacmanCol) || this.pellets.isPellet(row, col)
+                || this.occupancy.firstGhostAt(row, col) != OccupancyIndex.NONE)) {
+            return false;
+        }
+        this.walls.setWall(row, col, wall);
+        if (this.pathCache != null) {
+            this.pathCache.clear();
+        }
+        this.pathfinder.wallChanged(row, col);
+        if (this.nextHopTable != null) {
+            if (this.ownsNextHopTable && this.nextHopTable.hasSquare(row, col)) {
+                this.nextHopTable.wallChanged(row, col);
+            }
+            else {
+                this.nextHopTable = null;
+            }
+        }
+        if (this.chaseFields != null) {
+            if (this.fieldRepair == null) {
+                this.fieldRepair = new DistanceRepair(this.walls);
+            }
+            FlowField.markReachable(this.walls, this.pacmanRow, this.pacmanCol, this.reachable);
+            for (int role = 0; role < GHOST_ROLES; role++) {
+                this.chaseFields[role].wallChanged(row, col, this.fieldRepair);
+                this.scatterFields[role].wallChanged(row, col, this.fieldRepair);
+            }
+        }
+        if (this.junctionGraph != null) {
+            this.retiredNodesExpanded += this.junctionGraph.getNodesExpanded();
+            this.junctionGraph = new JunctionGraph(this.walls);
+        }
+        return true;
+    }
+
+    /**
+     * Helper method that runs the GhostModeMachine for one tick, which switches between scatter and chase mode and ends
+     * frightened mode whenever one of its timers runs out.
+     */
+    private void scatterOrChase() {
+        this.modes.tick();
+    }
+
+    /**
+     * Helper method that releases ghosts one by one until the ghostPen is empty.
+     */
+    private void letOutGhosts() {
+        if (this.ghostPenCounter % this.config.getGhostPenReleaseTime() == 0 && !this.ghostPen.isEmpty()) {
+            this.placeGhost(this.ghostPen.removeFirst(), this.penExitRow, this.penExitCol);
+        }
+    }
+
+    /**
+     * Helper method in charge of ghost movement, which changes based off the current ghost mode. The targets are worked
+     * out once per ghost part before any ghost moves, and with flow fields each part's field is pointed at its target
+     * (which only costs a search if the target moved).
+     */
+    private void moveGhosts() {
+        GhostBehavior behavior = this.modes.getBehavior();
+        if (behavior == GhostBehavior.CHASED) {
+            this.updateChaseTargets();
+        }
+        if (this.chaseFields != null) {
+            for (int role = 0; role < Math.min(GHOST_ROLES, this.ghostRows.length); role++) {
+                if (behavior == GhostBehavior.CHASED) {
+                    this.chaseFields[role].setTarget(BoardCoordinate.row(this.chaseTargets[role]),
+                            BoardCoordinate.column(this.chaseTargets[role]));
+                }
+                else if (behavior == GhostBehavior.SCATTERED) {
+                    this.scatterFields[role].setTarget(BoardCoordinate.row(this.scatterTargets[role]),
+                            BoardCoordinate.column(this.scatterTargets[role]));
+                }
+            }
+        }
+        for (int i = 0; i < this.ghostRows.length; i++) {
+            switch (behavior) {
+                case FRIGHTENED:
+                    this.frightenedMove(i);
+                    break;
+                case SCATTERED:
+                    this.scatterMove(i);
+                    break;
+                case CHASED:
+                    this.chaseMove(i);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Helper method in charge of frightened movement. Each ghost heads for a new random square every tick, or with flow
+     * fields (where a search per ghost is what is being avoided) just picks a random way to go.
+     * @param ghost - index of the ghost that is conducting the frightened movement
+     */
+    private void frightenedMove(int ghost) {
+        if (this.chaseFields != null) {
+            this.wander(ghost);
+            return;
+        }
+        int randCol = this.random.nextInt(this.cols);
+        int randRow = this.random.nextInt(this.rows);
+        //Ghost moves to constantly updating random square in Maze
+        //a random target is almost never asked for twice, so it would only push useful answers out of the PathCache
+        this.ghostMove(ghost, BoardCoordinate.pack(randRow, randCol), null, false);
+    }
+
+    /**
+     * Helper method that moves a ghost in a random direction, other than back the way it came unless it is in a dead
+     * end.
+     * @param ghost - index of the ghost
+     */
+    private void wander(int ghost) {
+        Direction opposite = this.ghostDirections[ghost].opposite();
+        Direction chosen = null;
+        int choices = 0;
+        for (Direction direction : BfsPathfinder.SEARCH_ORDER) {
+            if (direction != opposite && this.walls.neighbor(this.ghostRows[ghost], this.ghostCols[ghost],
+                    direction) >= 0) {
+                //each open direction replaces the chosen one with chance 1 / choices, so all are equally likely
+                choices++;
+                if (this.random.nextInt(choices) == 0) {
+                    chosen = direction;
+                }
+            }
+        }
+        if (chosen == null && this.walls.neighbor(this.ghostRows[ghost], this.ghostCols[ghost], opposite) >= 0) {
+            chosen = opposite;
+        }
+        this.moveGhostTo(ghost, chosen);
+    }
+
+    /**
+     * Helper method that conducts scatter movement on the ghost that differs based on the index.
+     * @param ghost - index of the ghost
+     */
+    private void scatterMove(int ghost) {
+        int role = ghost % GHOST_ROLES;
+        this.ghostMove(ghost, this.scatterTargets[role], this.scatterFields == null ? null : this.scatterFields[role],
+                true);
+    }
+
+    /**
+     * Helper method that conducts chase movement on the ghost that differs based on the index.
+     * @param ghost - index of the ghost
+     */
+    private void chaseMove(int ghost) {
+        int role = ghost % GHOST_ROLES;
+        this.ghostMove(ghost, this.chaseTargets[role], this.chaseFields == null ? null : this.chaseFields[role], true);
+    }
+
+    /**
+     * Helper method that works out where each ghost part is chasing this tick, based on where pacman is.
+     */
+    private void updateChaseTargets() {
+        //inky (sky blue)
+        this.chaseTargets[0] = BoardCoordinate.pack(this.pacmanRow, this.pacmanCol + this.config.getInkyChaseOffset());
+        //clyde (orange)
+        this.chaseTargets[1] = BoardCoordinate.pack(this.pacmanRow - this.config.getClydeChaseOffset(), this.pacmanCol);
+        //pinky lavender
+        this.chaseTargets[2] = BoardCoordinate.pack(this.pacmanRow + this.config.getPinkyChaseOffsetY(),
+                this.pacmanCol - this.config.getPinkyChaseOffsetX());
+        //blinky red
+        this.chaseTargets[3] = BoardCoordinate.pack(this.pacmanRow, this.pacmanCol);
+    }
+
+    /**
+     * Helper method that moves a ghost one square toward its target. With a FlowField the direction is read from the
+     * field. Otherwise, or if the ghost can't reach the field's target (while it is in the ghost pen), a ghost with a
+     * JunctionGraph that has only one way to go takes it, and the direction is looked up in the NextHopTable if that
+     * covers the target, and searched for if not (unless the PathCache already has the answer).
+     * @param ghost - index of the ghost that conducts the movement
+     * @param target - the packed coordinate of the target that the ghost moves towards
+     * @param field - the FlowField that is pointed at the target, or null
+     * @param cached - true if a search should go through the PathCache, false for a target that won't come up again
+     */
+    private void ghostMove(int ghost, int target, FlowField field, boolean cached) {
+        int targetRow = BoardCoordinate.row(target);
+        int targetCol = BoardCoordinate.column(target);
+        Direction nextDirection = null;
+        if (field != null) {
+            nextDirection = field.nextDirection(this.ghostRows[ghost], this.ghostCols[ghost],
+                    this.ghostDirections[ghost]);
+        }
+        //a ghost with only one way to go (in a corridor or a dead end) doesn't need to look anything up
+        if (nextDirection == null && this.junctionGraph != null) {
+            nextDirection = this.junctionGraph.forcedDirection(this.ghostRows[ghost], this.ghostCols[ghost],
+                    this.ghostDirections[ghost]);
+        }
+        if (nextDirection == null) {
+            if (this.nextHopTable != null && this.nextHopTable.covers(this.ghostRows[ghost], this.ghostCols[ghost],
+                    this.ghostDirections[ghost], targetRow, targetCol)) {
+                nextDirection = this.nextHopTable.nextDirection(this.ghostRows[ghost], this.ghostCols[ghost],
+                        this.ghostDirections[ghost], targetRow, targetCol);
+            }
+            else if (cached) {
+                nextDirection = this.searchDirection(ghost, targetRow, targetCol);
+            }
+            else {
+                nextDirection = this.search(ghost, targetRow, targetCol);
+            }
+        }
+        this.moveGhostTo(ghost, nextDirection);
+    }
+
+    /**
+     * Helper method that searches for which way a ghost should go, going through the PathCache if there is one. The
+     * cache is keyed by the ghost's square, its heading and the target square, and it is cleared whenever the walls
+     * change, so a cached answer is always the same one a search would give.
+     * @param ghost - index of the ghost
+     * @param targetRow - row of the target that the ghost moves towards
+     * @param targetCol - col of the target that the ghost moves towards
+     * @return the direction to move in, or null if the ghost can't move at all
+     */
+    private Direction searchDirection(int ghost, int targetRow, int targetCol) {
+        if (this.pathCache == null) {
+            return this.search(ghost, targetRow, targetCol);
+        }
+        long key = PathCache.key(this.ghostRows[ghost] * this.cols + this.ghostCols[ghost], this.ghostDirections[ghost],
+                targetRow, targetCol);
+        int answer = this.pathCache.get(key);
+        if (answer == PathCache.MISS) {
+            Direction direction = this.search(ghost, targetRow, targetCol);
+            this.pathCache.put(key, direction == null ? PathCache.NO_DIRECTION : direction.ordinal());
+            return direction;
+        }
+        return answer == PathCache.NO_DIRECTION ? null : DIRECTIONS[answer];
+    }
+
+    /**
+     * Helper method that runs a search for a ghost: over the JunctionGraph if there is one and the ghost is on one of
+     * its junctions, and with the Pathfinder the config picked otherwise.
+     * @return the direction to move in, or null if the ghost can't move at all
+     */
+    private Direction search(int ghost, int targetRow, int targetCol) {
+        if (this.junctionGraph != null) {
+            Direction direction = this.junctionGraph.nextDirection(this.ghostRows[ghost], this.ghostCols[ghost],
+                    this.ghostDirections[ghost], targetRow, targetCol);
+            if (direction != null) {
+                return direction;
+            }
+        }
+        return this.pathfinder.nextDirection(this.ghostRows[ghost], this.ghostCols[ghost], this.ghostDirections[ghost],
+                targetRow, targetCol);
+    }
+
+    /**
+     * Helper method that moves a ghost one square in a direction, going through a tunnel if it is at one.
+     * @param ghost - index of the ghost
+     * @param direction - the direction to move in, or null to stay put
+     */
+    private void moveGhostTo(int ghost, Direction direction) {
+        if (direction != null) {
+            this.ghostDirections[ghost] = direction;
+            int next = this.walls.neighbor(this.ghostRows[ghost], this.ghostCols[ghost], direction);
+            this.placeGhost(ghost, next / this.cols, next % this.cols);
+        }
+    }
+
+    /**
+     * Helper method that puts a ghost on a square, keeping the OccupancyIndex up to date. Every ghost move goes through
+     * here.
+     * @param ghost - index of the ghost
+     * @param row - row of the square
+     * @param col - col of the square
+     */
+    private void placeGhost(int ghost, int row, int col) {
+        this.ghostRows[ghost] = row;
+        this.ghostCols[ghost] = col;
+        this.occupancy.moveGhost(ghost, row, col);
+    }
+
+    /**
+     * Helper method that checks for collisions between pacman and whatever is on pacman's square: a dot, an energizer
+     * or any number of ghosts. They are looked up in the PelletStore and the OccupancyIndex, so only pacman's own
+     * square is ever checked. It is package-private so the benchmarks can time it on its own.
+     */
+    void checkCollisions() {
+        int increment = this.pellets.remove(this.pacmanRow, this.pacmanCol);
+        if (increment != 0) {
+            this.scoreCounter += increment;
+            //if pellet is an energizer, change mode to frightened
+            if (increment == Constants.ENERGIZER_SCORE) {
+                this.modes.frighten();
+            }
+            if (this.metrics != null) {
+                this.metrics.countPelletEaten();
+            }
+            if (this.listener != null) {
+                this.listener.pelletEaten(this.pacmanRow, this.pacmanCol);
+            }
+        }
+        int ghost = this.occupancy.firstGhostAt(this.pacmanRow, this.pacmanCol);
+        while (ghost != OccupancyIndex.NONE) {
+            //read the next ghost before this one is moved off of the square
+            int next = this.occupancy.nextGhostAt(ghost);
+            //if currently in frightened mode, the ghost is sent back to the ghostPen
+            if (this.modes.getBehavior() == GhostBehavior.FRIGHTENED) {
+                this.ghostPen.addFirst(ghost);
+                this.placeGhost(ghost, this.penRow, this.penCol);
+                this.scoreCounter += Constants.GHOST_SCORE;
+                if (this.metrics != null) {
+                    this.metrics.countGhostEaten();
+                }
+                if (this.listener != null) {
+                    this.listener.ghostEaten(ghost);
+                }
+            }
+            //if not in frightened mode, restart
+            else {
+                this.restart();
+                return;
+            }
+            ghost = next;
+        }
+    }
+
+    /**
+     * Helper method that restarts the positions whenever a ghost catches pacman, and takes away one life.
+     */
+    private void restart() {
+        this.livesCounter--;
+        this.resetGhostPen();
+        this.setStartLoc();
+        if (this.metrics != null) {
+            this.metrics.countPacmanCaught();
+        }
+        if (this.listener != null) {
+            this.listener.pacmanCaught();
+        }
+    }
+
+    /**
+     * Helper method that resets the ghostPen. The ghosts get added back to the Queue data structure in order of first
+     * in first out, so the order goes Blinky -> Pinky -> Inky -> Clyde on the order of exiting the pen.
+     */
+    private void resetGhostPen() {
+        this.ghostPen.clear();
+        this.ghostPen.addLast(2); //pinky
+        this.ghostPen.addLast(0); //inky
+        this.ghostPen.addLast(1); //clyde
+        //with more than four ghosts, the rest come out in order after the first four
+        for (int ghost = GHOST_ROLES; ghost < this.ghostRows.length; ghost++) {
+            this.ghostPen.addLast(ghost);
+        }
+        this.ghostPenCounter = 0;
+    }
+
+    /**
+     * Helper method that sets the pacman and the ghosts back to their starting locations.
+     */
+    private void setStartLoc() {
+        this.pacmanRow = this.pacmanStartRow;
+        this.pacmanCol = this.pacmanStartCol;
+        this.pendingTurn = null;
+        for (int i = 0; i < this.ghostRows.length; i++) {
+            this.placeGhost(i, this.ghostStartRows[i], this.ghostStartCols[i]);
+        }
+    }
+
+    /**
+     * Helper method that checks to see if the game is over, either because there are no more dots or energizers left
+     * or because there are no pacman lives left.
+     */
+    private void checkGameOver() {
+        if (this.livesCounter <= 0 || this.pellets.getRemaining() <= 0) {
+            this.gameOver = true;
+            this.won = this.livesCounter > 0;
+            this.modes.stop();
+            if (this.listener != null) {
+                this.listener.gameOver(this.won);
+            }
+        }
+    }
+
+    /**
+     * Checks to see if a location at a certain row and col is a wall or not. Anything off of the board is a wall.
+     * @param row - row that is being checked
+     * @param col - col that is being checked
+     * @return true if there is a wall
+     */
+    public boolean isThereWall(int row, int col) {
+        return this.walls.isWall(row, col);
+    }
+
+    /**
+     * Getter method that returns the grid of which squares are walls. It should only be changed through setWall().
+     * @return this.walls - the WallGrid for this Simulation
+     */
+    public WallGrid getWallGrid() {
+        return this.walls;
+    }
+
+    /**
+     * Getter method that returns the cache of BfsPathfinder answers, for reading its hit and miss counts.
+     * @return this.pathCache - the PathCache, or null if the config turned it off
+     */
+    public PathCache getPathCache() {
+        return this.pathCache;
+    }
+
+    /**
+     * Getter method that returns the NextHopTable the ghosts look their directions up in.
+     * @return this.nextHopTable - the NextHopTable, or null if the config didn't ask for one, the maze is too big for
+     * one, or it was dropped when the walls changed
+     */
+    public NextHopTable getNextHopTable() {
+        return this.nextHopTable;
+    }
+
+    /**
+     * Getter method that returns the JunctionGraph the ghosts search, for reading its size.
+     * @return this.junctionGraph - the JunctionGraph, or null if the config turned it off
+     */
+    public JunctionGraph getJunctionGraph() {
+        return this.junctionGraph;
+    }
+
+    /**
+     * Getter method that returns how many nodes the ghosts' searches have expanded so far: squares for the
+     * Pathfinder and junctions for the JunctionGraph.
+     * @return the number of nodes expanded
+     */
+    public long getNodesExpanded() {
+        long nodes = this.pathfinder.getNodesExpanded() + this.retiredNodesExpanded;
+        return this.junctionGraph == null ? nodes : nodes + this.junctionGraph.getNodesExpanded();
+    }
+
+    /**
+     * Getter method that returns the number of rows on the board.
+     * @return this.rows - number of rows
+     */
+    public int getRows() {
+        return this.rows;
+    }
+
+    /**
+     * Getter method that returns the number of cols on the board.
+     * @return this.cols - number of cols
+     */
+    public int getCols() {
+        return this.cols;
+    }
+
+    /**
+     * Getter method that returns the current row of the pacman.
+     * @return this.pacmanRow - row of the pacman
+     */
+    public int getPacmanRow() {
+        return this.pacmanRow;
+    }
+
+    /**
+     * Getter method that returns the current col of the pacman.
+     * @return this.pacmanCol - col of the pacman
+     */
+    public int getPacmanCol() {
+        return this.pacmanCol;
+    }
+
+    /**
+     * Getter method that returns the row the pacman was on before the last tick.
+     * @return this.previousPacmanRow - previous row of the pacman
+     */
+    public int getPreviousPacmanRow() {
+        return this.previousPacmanRow;
+    }
+
+    /**
+     * Getter method that returns the col the pacman was on before the last tick.
+     * @return this.previousPacmanCol - previous col of the pacman
+     */
+    public int getPreviousPacmanCol() {
+        return this.previousPacmanCol;
+    }
+
+    /**
+     * Getter method that returns the number of ghosts.
+     * @return the number of ghosts
+     */
+    public int getGhostCount() {
+        return this.ghostRows.length;
+    }
+
+    /**
+     * Getter method that returns the current row of a ghost.
+     * @param ghost - index of the ghost
+     * @return the row of the ghost
+     */
+    public int getGhostRow(int ghost) {
+        return this.ghostRows[ghost];
+    }
+
+    /**
+     * Getter method that returns the current col of a ghost.
+     * @param ghost - index of the ghost
+     * @return the col of the ghost
+     */
+    public int getGhostCol(int ghost) {
+        return this.ghostCols[ghost];
+    }
+
+    /**
+     * Getter method that returns the row a ghost was on before the last tick.
+     * @param ghost - index of the ghost
+     * @return the previous row of the ghost
+     */
+    public int getPreviousGhostRow(int ghost) {
+        return this.previousGhostRows[ghost];
+    }
+
+    /**
+     * Getter method that returns the col a ghost was on before the last tick.
+     * @param ghost - index of the ghost
+     * @return the previous col of the ghost
+     */
+    public int getPreviousGhostCol(int ghost) {
+        return this.previousGhostCols[ghost];
+    }
+
+    /**
+     * Checks to see if there is a dot or an energizer left at a certain row and col.
+     * @param row - row that is being checked
+     * @param col - col that is being checked
+     * @return true if there is a pellet
+     */
+    public boolean isTherePellet(int row, int col) {
+        return this.pellets.isPellet(row, col);
+    }
+
+    /**
+     * Getter method that returns the PelletStore, which a renderer uses to find the squares whose pellets changed.
+     * @return this.pellets - the PelletStore for this Simulation
+     */
+    public PelletStore getPelletStore() {
+        return this.pellets;
+    }
+
+    /**
+     * Getter method that returns the current Ghost mode.
+     * @return the current ghost mode
+     */
+    public GhostBehavior getGhostBehavior() {
+        return this.modes.getBehavior();
+    }
+
+    /**
+     * Checks to see if frightened mode is about to end, which is when the ghosts flash white to warn the user.
+     * @return true if the ghosts are frightened and frightened mode is almost over
+     */
+    public boolean isFrightenedEnding() {
+        return this.modes.isFlashing();
+    }
+
+    /**
+     * Getter method that returns the level, which goes up every time nextLevel() is called.
+     * @return this.level - the level, starting at 0
+     */
+    public int getLevel() {
+        return this.level;
+    }
+
+    /**
+     * Getter method that returns the current score.
+     * @return this.scoreCounter - the score
+     */
+    public int getScore() {
+        return this.scoreCounter;
+    }
+
+    /**
+     * Getter method that returns the number of lives pacman has left.
+     * @return this.livesCounter - the lives left
+     */
+    public int getLives() {
+        return this.livesCounter;
+    }
+
+    /**
+     * Getter method that returns the number of dots and energizers left on the board.
+     * @return the pellets left
+     */
+    public int getPelletsRemaining() {
+        return this.pellets.getRemaining();
+    }
+
+    /**
+     * Getter method that returns the seed of this game's random number generator.
+     * @return this.seed - the seed
+     */
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * Getter method that returns how many ticks have been run.
+     * @return this.tickCounter - the number of ticks
+     */
+    public long getTickCount() {
+        return this.tickCounter;
+    }
+
+    /**
+     * Checks to see if the game is over.
+     * @return true if the game is over
+     */
+    public boolean isGameOver() {
+        return this.gameOver;
+    }
+
+    /**
+     * Checks to see if the game was won, which is only true once the game is over with lives left.
+     * @return true if the game was won
+     */
+    public boolean isWon() {
+        return this.won;
+    }
+}
@@ -0,0 +1,479 @@
+package pacman;
+
+/**
+ * SimulationConfig class that holds the tuning values for one Simulation: the ghost chase offsets, the chase, scatter
+ * and frightened schedule of each level, the ghost pen, the number of ghosts, the pathfinding options, the doors and
+ * the TickMetrics. A new SimulationConfig starts out with the values from the Constants class, and each value can then
+ * be changed for one game without touching any other game, which is what lets the BatchSimulator play many
+ * differently-tuned games at the same time.
+ *
+ * A Simulation reads its config when it is constructed and on every tick, so a config should not be changed while a
+ * game that uses it is running.
+ */
+public class SimulationConfig {
+
+    //instance variables
+    private int lives;
+    private int ghostPenReleaseTime;
+    private int ghostCount;
+    private int turnBufferTicks;
+    private GhostModeSchedule[] modeSchedules;
+    private int inkyChaseOffset;
+    private int clydeChaseOffset;
+    private int pinkyChaseOffsetX;
+    private int pinkyChaseOffsetY;
+    private PathfinderType pathfinderType;
+    private boolean nextHopTableLazy;
+    private int nextHopTableMaxSquares;
+    private NextHopTable sharedNextHopTable;
+    private boolean useFlowFields;
+    private boolean useJunctionGraph;
+    private int pathCacheCapacity;
+    private int hierarchicalClusterSize;
+    private int[] doors;
+    private boolean penGateDoor;
+    private int doorToggleTicks;
+    private TickMetrics metrics;
+
+    /**
+     * SimulationConfig constructor that starts out with the values from the Constants class.
+     */
+    public SimulationConfig() {
+        this.lives = Constants.LIVES_COUNTER;
+        this.ghostPenReleaseTime = Constants.GHOST_PEN_RELEASE_TIME;
+        this.ghostCount = Constants.GHOST_COUNT;
+        this.turnBufferTicks = Constants.TURN_BUFFER_TICKS;
+        this.modeSchedules = new GhostModeSchedule[] {GhostModeSchedule.fromConstants()};
+        this.inkyChaseOffset = Constants.INKY_CHASE_OFFSET;
+        this.clydeChaseOffset = Constants.CLYDE_CHASE_OFFSET;
+        this.pinkyChaseOffsetX = Constants.PINKY_CHASE_OFFSET_X;
+        this.pinkyChaseOffsetY = Constants.PINKY_CHASE_OFFSET_Y;
+        this.pathfinderType = Constants.PATHFINDER;
+        this.nextHopTableLazy = Constants.NEXT_HOP_TABLE_LAZY;
+        this.nextHopTableMaxSquares = Constants.NEXT_HOP_TABLE_MAX_SQUARES;
+        this.sharedNextHopTable = null;
+        this.useFlowFields = Constants.USE_FLOW_FIELDS;
+        this.useJunctionGraph = Constants.USE_JUNCTION_GRAPH;
+        this.pathCacheCapacity = Constants.PATH_CACHE_CAPACITY;
+        this.hierarchicalClusterSize = Constants.HIERARCHICAL_CLUSTER_SIZE;
+        this.doors = new int[0];
+        this.penGateDoor = Constants.PEN_GATE_DOOR;
+        this.doorToggleTicks = Constants.DOOR_TOGGLE_TICKS;
+        this.metrics = null;
+    }
+
+    /**
+     * Makes a copy of this SimulationConfig that can be changed without changing this one. The schedules and doors are
+     * only ever replaced, never written to, so they are shared. The NextHopTable and the TickMetrics are the same
+     * objects as well, so a copy played on another thread than this config's games needs its own TickMetrics (or
+     * none, see setMetrics()).
+     * @return the copy
+     */
+    public SimulationConfig copy() {
+        SimulationConfig copy = new SimulationConfig();
+        copy.lives = this.lives;
+        copy.ghostPenReleaseTime = this.ghostPenReleaseTime;
+        copy.ghostCount = this.ghostCount;
+        copy.turnBufferTicks = this.turnBufferTicks;
+        copy.modeSchedules = this.modeSchedules;
+        copy.inkyChaseOffset = this.inkyChaseOffset;
+        copy.clydeChaseOffset = this.clydeChaseOffset;
+        copy.pinkyChaseOffsetX = this.pinkyChaseOffsetX;
+        copy.pinkyChaseOffsetY = this.pinkyChaseOffsetY;
+        copy.pathfinderType = this.pathfinderType;
+        copy.nextHopTableLazy = this.nextHopTableLazy;
+        copy.nextHopTableMaxSquares = this.nextHopTableMaxSquares;
+        copy.sharedNextHopTable = this.sharedNextHopTable;
+        copy.useFlowFields = this.useFlowFields;
+        copy.useJunctionGraph = this.useJunctionGraph;
+        copy.pathCacheCapacity = this.pathCacheCapacity;
+        copy.hierarchicalClusterSize = this.hierarchicalClusterSize;
+        copy.doors = this.doors;
+        copy.penGateDoor = this.penGateDoor;
+        copy.doorToggleTicks = this.doorToggleTicks;
+        copy.metrics = this.metrics;
+        return copy;
+    }
+
+    /**
+     * Getter method that returns how many lives pacman starts with.
+     * @return this.lives - the starting lives
+     */
+    public int getLives() {
+        return this.lives;
+    }
+
+    /**
+     * Setter method that sets how many lives pacman starts with.
+     * @param lives - the starting lives
+     */
+    public void setLives(int lives) {
+        this.lives = lives;
+    }
+
+    /**
+     * Getter method that returns how many ghosts there are.
+     * @return this.ghostCount - the number of ghosts
+     */
+    public int getGhostCount() {
+        return this.ghostCount;
+    }
+
+    /**
+     * Setter method that sets how many ghosts there are. Ghost i plays the part of ghost i % 4 (inky, clyde, pinky or
+     * blinky), so more than four ghosts means several of each. With many ghosts, flow fields should be turned on too.
+     * @param ghostCount - the number of ghosts, at least Constants.GHOST_COUNT (one for each part)
+     */
+    public void setGhostCount(int ghostCount) {
+        if (ghostCount < Constants.GHOST_COUNT) {
+            throw new IllegalArgumentException("There must be at least one ghost for each part: Given ghostCount = "
+                    + ghostCount);
+        }
+        this.ghostCount = ghostCount;
+    }
+
+    /**
+     * Getter method that returns how many ticks a turn into a wall stays pending (see Simulation.changeDirection()).
+     * @return this.turnBufferTicks - the number of ticks
+     */
+    public int getTurnBufferTicks() {
+        return this.turnBufferTicks;
+    }
+
+    /**
+     * Setter method that sets how many ticks a turn into a wall stays pending.
+     * @param turnBufferTicks - the number of ticks, or 0 to throw away turns into walls right away
+     */
+    public void setTurnBufferTicks(int turnBufferTicks) {
+        this.turnBufferTicks = turnBufferTicks;
+    }
+
+    /**
+     * Getter method that returns how many ticks apart ghosts are let out of the ghost pen.
+     * @return this.ghostPenReleaseTime - ticks between releases
+     */
+    public int getGhostPenReleaseTime() {
+        return this.ghostPenReleaseTime;
+    }
+
+    /**
+     * Setter method that sets how many ticks apart ghosts are let out of the ghost pen.
+     * @param ghostPenReleaseTime - ticks between releases
+     */
+    public void setGhostPenReleaseTime(int ghostPenReleaseTime) {
+        this.ghostPenReleaseTime = ghostPenReleaseTime;
+    }
+
+    /**
+     * Getter method that returns the GhostModeSchedule of a level. Levels past the last schedule use the last one.
+     * @param level - the level, starting at 0
+     * @return the schedule of the level
+     */
+    public GhostModeSchedule getModeSchedule(int level) {
+        return this.modeSchedules[Math.min(level, this.modeSchedules.length - 1)];
+    }
+
+    /**
+     * Setter method that sets the GhostModeSchedules of the levels: the first schedule is for the first level, the
+     * second for the second level and so on, with the last one used for every level after it.
+     * @param modeSchedules - at least one schedule
+     */
+    public void setModeSchedules(GhostModeSchedule... modeSchedules) {
+        if (modeSchedules.length < 1) {
+            throw new IllegalArgumentException("There must be a schedule for at least the first level: Given schedules"
+                    + " = " + modeSchedules.length);
+        }
+        this.modeSchedules = modeSchedules.clone();
+    }
+
+    /**
+     * Getter method that returns how many cols to the right of pacman inky targets in chase mode.
+     * @return this.inkyChaseOffset - inky's chase offset
+     */
+    public int getInkyChaseOffset() {
+        return this.inkyChaseOffset;
+    }
+
+    /**
+     * Setter method that sets how many cols to the right of pacman inky targets in chase mode.
+     * @param inkyChaseOffset - inky's chase offset
+     */
+    public void setInkyChaseOffset(int inkyChaseOffset) {
+        this.inkyChaseOffset = inkyChaseOffset;
+    }
+
+    /**
+     * Getter method that returns how many rows above pacman clyde targets in chase mode.
+     * @return this.clydeChaseOffset - clyde's chase offset
+     */
+    public int getClydeChaseOffset() {
+        return this.clydeChaseOffset;
+    }
+
+    /**
+     * Setter method that sets how many rows above pacman clyde targets in chase mode.
+     * @param clydeChaseOffset - clyde's chase offset
+     */
+    public void setClydeChaseOffset(int clydeChaseOffset) {
+        this.clydeChaseOffset = clydeChaseOffset;
+    }
+
+    /**
+     * Getter method that returns how many cols to the left of pacman pinky targets in chase mode.
+     * @return this.pinkyChaseOffsetX - pinky's col offset
+     */
+    public int getPinkyChaseOffsetX() {
+        return this.pinkyChaseOffsetX;
+    }
+
+    /**
+     * Setter method that sets how many cols to the left of pacman pinky targets in chase mode.
+     * @param pinkyChaseOffsetX - pinky's col offset
+     */
+    public void setPinkyChaseOffsetX(int pinkyChaseOffsetX) {
+        this.pinkyChaseOffsetX = pinkyChaseOffsetX;
+    }
+
+    /**
+     * Getter method that returns how many rows below pacman pinky targets in chase mode.
+     * @return this.pinkyChaseOffsetY - pinky's row offset
+     */
+    public int getPinkyChaseOffsetY() {
+        return this.pinkyChaseOffsetY;
+    }
+
+    /**
+     * Setter method that sets how many rows below pacman pinky targets in chase mode.
+     * @param pinkyChaseOffsetY - pinky's row offset
+     */
+    public void setPinkyChaseOffsetY(int pinkyChaseOffsetY) {
+        this.pinkyChaseOffsetY = pinkyChaseOffsetY;
+    }
+
+    /**
+     * Getter method that returns how the Simulation finds the ghosts' next directions.
+     * @return this.pathfinderType - BFS, A_STAR, HIERARCHICAL or TABLE
+     */
+    public PathfinderType getPathfinderType() {
+        return this.pathfinderType;
+    }
+
+    /**
+     * Setter method that sets how the Simulation finds the ghosts' next directions. TABLE looks them up in a
+     * NextHopTable on mazes small enough for one and searches with a BfsPathfinder otherwise, and A_STAR expands far
+     * fewer squares than BFS on big mazes but can break two equally short paths differently, so saved InputLogs would
+     * not replay the same.
+     * @param pathfinderType - BFS, A_STAR, HIERARCHICAL or TABLE
+     */
+    public void setPathfinderType(PathfinderType pathfinderType) {
+        if (pathfinderType == null) {
+            throw new IllegalArgumentException("The pathfinder type can't be null");
+        }
+        this.pathfinderType = pathfinderType;
+    }
+
+    /**
+     * Checks to see if a NextHopTable built by the Simulation should be built lazily.
+     * @return this.nextHopTableLazy - true to build lazily
+     */
+    public boolean getNextHopTableLazy() {
+        return this.nextHopTableLazy;
+    }
+
+    /**
+     * Setter method that sets whether a NextHopTable built by the Simulation should be built lazily.
+     * @param nextHopTableLazy - true to build lazily
+     */
+    public void setNextHopTableLazy(boolean nextHopTableLazy) {
+        this.nextHopTableLazy = nextHopTableLazy;
+    }
+
+    /**
+     * Getter method that returns the most open squares a maze can have for a NextHopTable to be used.
+     * @return this.nextHopTableMaxSquares - the open square limit
+     */
+    public int getNextHopTableMaxSquares() {
+        return this.nextHopTableMaxSquares;
+    }
+
+    /**
+     * Setter method that sets the most open squares a maze can have for a NextHopTable to be used.
+     * @param nextHopTableMaxSquares - the open square limit
+     */
+    public void setNextHopTableMaxSquares(int nextHopTableMaxSquares) {
+        this.nextHopTableMaxSquares = nextHopTableMaxSquares;
+    }
+
+    /**
+     * Getter method that returns the NextHopTable that Simulations using this config share, if there is one.
+     * @return this.sharedNextHopTable - the shared table, or null if each Simulation builds its own
+     */
+    public NextHopTable getSharedNextHopTable() {
+        return this.sharedNextHopTable;
+    }
+
+    /**
+     * Setter method that sets a NextHopTable for every Simulation using this config to share instead of building their
+     * own. The table must be for the same maze, and it must have been built eagerly (not lazily), since a fully built
+     * table is never written to again and so can be read by games on different threads. Games with doors build their
+     * own table instead, since they change it whenever a door opens or closes.
+     * @param sharedNextHopTable - the shared table, or null for each Simulation to build its own
+     */
+    public void setSharedNextHopTable(NextHopTable sharedNextHopTable) {
+        this.sharedNextHopTable = sharedNextHopTable;
+    }
+
+    /**
+     * Checks to see if the ghosts should use shared FlowFields (horde mode) instead of each ghost searching on its own.
+     * @return this.useFlowFields - true to use flow fields
+     */
+    public boolean getUseFlowFields() {
+        return this.useFlowFields;
+    }
+
+    /**
+     * Setter method that sets whether the ghosts use shared FlowFields. With flow fields, every ghost playing the same
+     * part reads its next step from one field per target, so a tick costs at most one search per part no matter how
+     * many ghosts there are, and frightened ghosts wander in a random direction instead of toward a random square.
+     * @param useFlowFields - true to use flow fields
+     */
+    public void setUseFlowFields(boolean useFlowFields) {
+        this.useFlowFields = useFlowFields;
+    }
+
+    /**
+     * Checks to see if the ghosts should search a JunctionGraph instead of every square of the maze.
+     * @return this.useJunctionGraph - true to use a junction graph
+     */
+    public boolean getUseJunctionGraph() {
+        return this.useJunctionGraph;
+    }
+
+    /**
+     * Setter method that sets whether the ghosts use a JunctionGraph. With the graph, a ghost in a corridor just
+     * follows it, and a ghost at a junction searches only the junctions, which is a fraction of the squares on a big
+     * maze. Targets inside walls or off of the board are still searched for square by square. The paths are as short
+     * as the BfsPathfinder's, but it is off by default because two equally short ways to a target can be broken
+     * differently than the BfsPathfinder breaks them, so saved InputLogs would not replay the same.
+     * @param useJunctionGraph - true to use a junction graph
+     */
+    public void setUseJunctionGraph(boolean useJunctionGraph) {
+        this.useJunctionGraph = useJunctionGraph;
+    }
+
+    /**
+     * Getter method that returns how many BfsPathfinder answers a Simulation's PathCache holds.
+     * @return this.pathCacheCapacity - the capacity, or 0 for no cache
+     */
+    public int getPathCacheCapacity() {
+        return this.pathCacheCapacity;
+    }
+
+    /**
+     * Setter method that sets how many BfsPathfinder answers a Simulation's PathCache holds.
+     * @param pathCacheCapacity - the capacity, or 0 for no cache
+     */
+    public void setPathCacheCapacity(int pathCacheCapacity) {
+        this.pathCacheCapacity = pathCacheCapacity;
+    }
+
+    /**
+     * Getter method that returns how many squares on a side the clusters of a HierarchicalPathfinder are.
+     * @return this.hierarchicalClusterSize - the cluster size
+     */
+    public int getHierarchicalClusterSize() {
+        return this.hierarchicalClusterSize;
+    }
+
+    /**
+     * Setter method that sets how many squares on a side the clusters of a HierarchicalPathfinder are. Bigger clusters
+     * mean fewer entrances to search between but more entrances to add up on every decision.
+     * @param hierarchicalClusterSize - the cluster size
+     */
+    public void setHierarchicalClusterSize(int hierarchicalClusterSize) {
+        this.hierarchicalClusterSize = hierarchicalClusterSize;
+    }
+
+    /**
+     * Getter method that returns the squares of the maze that are doors.
+     * @return a copy of the doors, as packed coordinates (see BoardCoordinate.pack())
+     */
+    public int[] getDoors() {
+        return this.doors.clone();
+    }
+
+    /**
+     * Setter method that sets which squares of the maze are doors, which open and close during the game (see
+     * setDoorToggleTicks() and Simulation.setWall()). A door starts out as whatever the maze has on its square, a wall
+     * or a free square, and can't be a square with a pellet or a starting square.
+     * @param doors - the doors, as packed coordinates (see BoardCoordinate.pack())
+     */
+    public void setDoors(int... doors) {
+        this.doors = doors.clone();
+    }
+
+    /**
+     * Checks to see if games using this config have any doors, counting the pen gate.
+     * @return true if there is at least one door
+     */
+    public boolean hasDoors() {
+        return this.doors.length > 0 || this.penGateDoor;
+    }
+
+    /**
+     * Checks to see if the wall between the ghost pen and the square the ghosts are let out to is a door too.
+     * @return this.penGateDoor - true if the pen gate is a door
+     */
+    public boolean getPenGateDoor() {
+        return this.penGateDoor;
+    }
+
+    /**
+     * Setter method that sets whether the wall between the ghost pen and the square the ghosts are let out to (the
+     * square above the ghost start location) is a door, so that while it is open ghosts can walk out of the pen and
+     * pacman can walk in.
+     * @param penGateDoor - true to make the pen gate a door
+     */
+    public void setPenGateDoor(boolean penGateDoor) {
+        this.penGateDoor = penGateDoor;
+    }
+
+    /**
+     * Getter method that returns how many ticks apart the doors open or close.
+     * @return this.doorToggleTicks - the number of ticks, or 0 if the doors only change through Simulation.setWall()
+     */
+    public int getDoorToggleTicks() {
+        return this.doorToggleTicks;
+    }
+
+    /**
+     * Setter method that sets how many ticks apart the doors open or close. Every door flips at once, except that a
+     * door can't close on pacman or a ghost, so it stays open until the next flip instead.
+     * @param doorToggleTicks - the number of ticks, or 0 if the doors only change through Simulation.setWall()
+     */
+    public void setDoorToggleTicks(int doorToggleTicks) {
+        if (doorToggleTicks < 0) {
+            throw new IllegalArgumentException("Doors can't flip a negative number of ticks apart: Given"
+                    + " doorToggleTicks = " + doorToggleTicks);
+        }
+        this.doorToggleTicks = doorToggleTicks;
+    }
+
+    /**
+     * Getter method that returns the TickMetrics that Simulations using this config report their phase times and
+     * counts to.
+     * @return this.metrics - the metrics, or null if the Simulations are not timed
+     */
+    public TickMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Setter method that sets the TickMetrics that Simulations using this config report to. A TickMetrics is not safe
+     * to share between games running on different threads. Without one, a tick does not read the clock at all.
+     * @param metrics - the metrics, or null to not time the Simulations
+     */
+    public void setMetrics(TickMetrics metrics) {
+        this.metrics = metrics;
+    }
+}
@@ -0,0 +1,16 @@
+package pacman;
+
+/**
+ * SimulationListener interface that is implemented by anything that wants to hear about the events that happen inside
+ * of a Simulation tick (for example the Game class, which uses these events to update the JavaFX nodes and labels).
+ * A headless Simulation does not need a listener at all.
+ */
+public interface SimulationListener {
+
+    //declaring SimulationListener methods
+    void pelletEaten(int row, int col);
+    void ghostEaten(int ghost);
+    void pacmanCaught();
+    void gameOver(boolean won);
+
+}
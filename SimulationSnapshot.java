@@ -0,0 +1,265 @@
+package pacman;
+
+/**
+ * SimulationSnapshot class that holds a copy of everything a Renderer and the Hud read from a Simulation after one
+ * tick, so the JavaFX Application Thread can draw a game that is being stepped on a SimulationThread without ever
+ * reading the Simulation itself. Snapshots are reused rather than allocated every tick: a SnapshotExchange owns three
+ * of them that the two threads pass back and forth, and the Game copies the newest one into a fourth that it draws.
+ *
+ * The pellets are copied with PelletStore.copyFrom(), which marks the squares that changed dirty. Since the snapshot
+ * the Game draws is only ever copied into from newer snapshots, its dirty squares are exactly the ones that changed
+ * since it was last drawn, even when the simulation thread ran several ticks in between. The walls only change when a
+ * door opens or closes, so they are only copied when the game's WallGrid has a different version than the snapshot's.
+ */
+public class SimulationSnapshot implements GameView {
+
+    //instance variables
+    private final int[] ghostRows;
+    private final int[] ghostCols;
+    private final int[] previousGhostRows;
+    private final int[] previousGhostCols;
+    private final WallGrid walls;
+    private final PelletStore pellets;
+    private int pacmanRow;
+    private int pacmanCol;
+    private int previousPacmanRow;
+    private int previousPacmanCol;
+    private GhostBehavior ghostBehavior;
+    private boolean frightenedEnding;
+    private int score;
+    private int lives;
+    private long tickCount;
+    private boolean gameOver;
+    private boolean won;
+    private long capturedNanos;
+
+    /**
+     * SimulationSnapshot constructor that starts out as a copy of a game, with every square dirty.
+     * @param view - the game to copy, which decides how many ghosts and how big a board the snapshot holds
+     */
+    public SimulationSnapshot(GameView view) {
+        this.ghostRows = new int[view.getGhostCount()];
+        this.ghostCols = new int[view.getGhostCount()];
+        this.previousGhostRows = new int[view.getGhostCount()];
+        this.previousGhostCols = new int[view.getGhostCount()];
+        this.walls = view.getWallGrid().copy();
+        this.pellets = view.getPelletStore().copy();
+        this.copyFrom(view);
+        this.capturedNanos = System.nanoTime();
+    }
+
+    /**
+     * Copies the state of a game into this snapshot. The game has to have the same number of ghosts and the same board
+     * as the one the snapshot was made from.
+     * @param view - the Simulation or SimulationSnapshot to copy
+     */
+    public void copyFrom(GameView view) {
+        this.pacmanRow = view.getPacmanRow();
+        this.pacmanCol = view.getPacmanCol();
+        this.previousPacmanRow = view.getPreviousPacmanRow();
+        this.previousPacmanCol = view.getPreviousPacmanCol();
+        for (int ghost = 0; ghost < this.ghostRows.length; ghost++) {
+            this.ghostRows[ghost] = view.getGhostRow(ghost);
+            this.ghostCols[ghost] = view.getGhostCol(ghost);
+            this.previousGhostRows[ghost] = view.getPreviousGhostRow(ghost);
+            this.previousGhostCols[ghost] = view.getPreviousGhostCol(ghost);
+        }
+        if (this.walls.getVersion() != view.getWallGrid().getVersion()) {
+            this.walls.copyFrom(view.getWallGrid());
+        }
+        this.pellets.copyFrom(view.getPelletStore());
+        this.ghostBehavior = view.getGhostBehavior();
+        this.frightenedEnding = view.isFrightenedEnding();
+        this.score = view.getScore();
+        this.lives = view.getLives();
+        this.tickCount = view.getTickCount();
+        this.gameOver = view.isGameOver();
+        this.won = view.isWon();
+        if (view instanceof SimulationSnapshot) {
+            this.capturedNanos = ((SimulationSnapshot) view).capturedNanos;
+        }
+    }
+
+    /**
+     * Setter method that sets when the tick this snapshot holds finished, which the Game uses to work out how far to
+     * draw the sprites toward the next tick.
+     * @param capturedNanos - the time from System.nanoTime()
+     */
+    public void setCapturedNanos(long capturedNanos) {
+        this.capturedNanos = capturedNanos;
+    }
+
+    /**
+     * Getter method that returns when the tick this snapshot holds finished.
+     * @return this.capturedNanos - the time from System.nanoTime()
+     */
+    public long getCapturedNanos() {
+        return this.capturedNanos;
+    }
+
+    /**
+     * Getter method that returns the row of the pacman.
+     * @return this.pacmanRow - row of the pacman
+     */
+    @Override
+    public int getPacmanRow() {
+        return this.pacmanRow;
+    }
+
+    /**
+     * Getter method that returns the col of the pacman.
+     * @return this.pacmanCol - col of the pacman
+     */
+    @Override
+    public int getPacmanCol() {
+        return this.pacmanCol;
+    }
+
+    /**
+     * Getter method that returns the row the pacman was on before the last tick.
+     * @return this.previousPacmanRow - previous row of the pacman
+     */
+    @Override
+    public int getPreviousPacmanRow() {
+        return this.previousPacmanRow;
+    }
+
+    /**
+     * Getter method that returns the col the pacman was on before the last tick.
+     * @return this.previousPacmanCol - previous col of the pacman
+     */
+    @Override
+    public int getPreviousPacmanCol() {
+        return this.previousPacmanCol;
+    }
+
+    /**
+     * Getter method that returns the number of ghosts.
+     * @return the number of ghosts
+     */
+    @Override
+    public int getGhostCount() {
+        return this.ghostRows.length;
+    }
+
+    /**
+     * Getter method that returns the row of a ghost.
+     * @param ghost - index of the ghost
+     * @return the row of the ghost
+     */
+    @Override
+    public int getGhostRow(int ghost) {
+        return this.ghostRows[ghost];
+    }
+
+    /**
+     * Getter method that returns the col of a ghost.
+     * @param ghost - index of the ghost
+     * @return the col of the ghost
+     */
+    @Override
+    public int getGhostCol(int ghost) {
+        return this.ghostCols[ghost];
+    }
+
+    /**
+     * Getter method that returns the row a ghost was on before the last tick.
+     * @param ghost - index of the ghost
+     * @return the previous row of the ghost
+     */
+    @Override
+    public int getPreviousGhostRow(int ghost) {
+        return this.previousGhostRows[ghost];
+    }
+
+    /**
+     * Getter method that returns the col a ghost was on before the last tick.
+     * @param ghost - index of the ghost
+     * @return the previous col of the ghost
+     */
+    @Override
+    public int getPreviousGhostCol(int ghost) {
+        return this.previousGhostCols[ghost];
+    }
+
+    /**
+     * Getter method that returns the snapshot's copy of the walls.
+     * @return this.walls - the WallGrid of this snapshot
+     */
+    @Override
+    public WallGrid getWallGrid() {
+        return this.walls;
+    }
+
+    /**
+     * Getter method that returns the snapshot's copy of the pellets.
+     * @return this.pellets - the PelletStore of this snapshot
+     */
+    @Override
+    public PelletStore getPelletStore() {
+        return this.pellets;
+    }
+
+    /**
+     * Getter method that returns the ghost mode.
+     * @return this.ghostBehavior - the ghost mode
+     */
+    @Override
+    public GhostBehavior getGhostBehavior() {
+        return this.ghostBehavior;
+    }
+
+    /**
+     * Getter method that returns if frightened mode is about to end.
+     * @return this.frightenedEnding - true if the ghosts are frightened and frightened mode is almost over
+     */
+    @Override
+    public boolean isFrightenedEnding() {
+        return this.frightenedEnding;
+    }
+
+    /**
+     * Getter method that returns the score.
+     * @return this.score - the score
+     */
+    @Override
+    public int getScore() {
+        return this.score;
+    }
+
+    /**
+     * Getter method that returns the lives left.
+     * @return this.lives - the lives left
+     */
+    @Override
+    public int getLives() {
+        return this.lives;
+    }
+
+    /**
+     * Getter method that returns how many ticks had been run.
+     * @return this.tickCount - the number of ticks
+     */
+    @Override
+    public long getTickCount() {
+        return this.tickCount;
+    }
+
+    /**
+     * Getter method that returns if the game was over.
+     * @return this.gameOver - true if the game is over
+     */
+    @Override
+    public boolean isGameOver() {
+        return this.gameOver;
+    }
+
+    /**
+     * Getter method that returns if the game was won.
+     * @return this.won - true if the game was won
+     */
+    @Override
+    public boolean isWon() {
+        return this.won;
+    }
+}
@@ -0,0 +1,169 @@
+package pacman;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * SimulationThread class that steps a Simulation on its own thread instead of the JavaFX Application Thread, so a slow
+ * tick (a big maze, a horde of ghosts) never holds up drawing or key handling, and the game logic and the rendering can
+ * run on separate cores. It is used when Constants.USE_SIMULATION_THREAD is turned on.
+ *
+ * The thread keeps its own FixedStepClock and sleeps until the next tick is due. Each tick it applies the key presses
+ * waiting on the InputQueue, steps the Simulation and then copies the result into the back snapshot of a
+ * SnapshotExchange and publishes it, so the JavaFX Application Thread only ever reads snapshots. Once the Simulation is
+ * built, nothing but this thread touches it, including the SimulationListener and GhostModeListener calls it makes,
+ * which is why this class is the Simulation's listener and the Game works out what happened from the snapshots.
+ *
+ * Like the Game's own loop, the thread pauses itself when pacman is caught or the game ends, and play() starts it
+ * again. Once the game is over, the Game calls stop() so the thread ends instead of staying parked.
+ */
+public class SimulationThread implements Runnable, SimulationListener {
+
+    //instance variables
+    private final Simulation simulation;
+    private final InputQueue inputQueue;
+    private final InputLog inputLog;
+    private final TickMetrics metrics;
+    private final MetricsExporter metricsExporter;
+    private final SnapshotExchange exchange;
+    private final FixedStepClock clock;
+    private final Thread thread;
+    private volatile boolean running;
+    private volatile boolean stopped;
+
+    /**
+     * SimulationThread constructor. The thread is not started until start() is called, and does not step the
+     * Simulation until play() is called.
+     * @param simulation - the Simulation to step, which nothing else may touch once the thread is started
+     * @param inputQueue - the key presses to apply before each tick
+     * @param inputLog - the log the key presses are recorded in
+     * @param metrics - the Simulation's TickMetrics, or null if there are none
+     * @param metricsExporter - what the metrics are exported to every Constants.METRICS_EXPORT_TICKS ticks, or null
+     */
+    public SimulationThread(Simulation simulation, InputQueue inputQueue, InputLog inputLog, TickMetrics metrics,
+                            MetricsExporter metricsExporter) {
+        this.simulation = simulation;
+        this.inputQueue = inputQueue;
+        this.inputLog = inputLog;
+        this.metrics = metrics;
+        this.metricsExporter = metricsExporter;
+        this.simulation.setListener(this);
+        this.exchange = new SnapshotExchange(simulation);
+        this.clock = new FixedStepClock(Constants.TICKS_PER_SECOND, Constants.MAX_CATCH_UP_TICKS);
+        this.thread = new Thread(this, "pacman-simulation");
+        //the game should quit when the window is closed, even if the thread is asleep
+        this.thread.setDaemon(true);
+    }
+
+    /**
+     * Starts the thread, which waits for play() before it steps the Simulation.
+     */
+    public void start() {
+        this.thread.start();
+    }
+
+    /**
+     * Starts stepping the Simulation if it isn't already being stepped. The clock is reset so that the time spent
+     * paused is not caught up on. Called on the JavaFX Application Thread.
+     */
+    public void play() {
+        if (!this.running) {
+            this.running = true;
+            LockSupport.unpark(this.thread);
+        }
+    }
+
+    /**
+     * Stops the thread for good once its current tick is done.
+     */
+    public void stop() {
+        this.stopped = true;
+        LockSupport.unpark(this.thread);
+    }
+
+    /**
+     * The thread's loop: runs however many ticks are due, publishes the state they ended in and sleeps until the next
+     * tick, or sleeps until play() while paused.
+     */
+    @Override
+    public void run() {
+        while (!this.stopped) {
+            if (!this.running) {
+                this.clock.reset();
+                LockSupport.park(this);
+                continue;
+            }
+            int ticks = this.clock.advance(System.nanoTime());
+            for (int i = 0; i < ticks && this.running; i++) {
+                this.update();
+            }
+            if (ticks > 0) {
+                this.publish();
+            }
+            LockSupport.parkNanos(this, this.clock.getNanosUntilNextTick());
+        }
+    }
+
+    /**
+     * Helper method that runs one tick: it applies the key presses since the last tick, steps the Simulation once and
+     * exports the metrics if it is time to.
+     */
+    private void update() {
+        this.simulation.applyInputs(this.inputQueue, this.inputLog);
+        this.simulation.step(null);
+        if (this.metrics != null && this.simulation.getTickCount() % Constants.METRICS_EXPORT_TICKS == 0) {
+            this.metricsExporter.export(this.metrics);
+        }
+    }
+
+    /**
+     * Helper method that copies the Simulation into the back snapshot and makes it the newest one.
+     */
+    private void publish() {
+        SimulationSnapshot snapshot = this.exchange.getBack();
+        snapshot.copyFrom(this.simulation);
+        snapshot.setCapturedNanos(System.nanoTime());
+        this.exchange.publish();
+    }
+
+    /**
+     * SimulationListener method that does nothing, since the score is read from the snapshots.
+     * @param row - row of the eaten pellet
+     * @param col - col of the eaten pellet
+     */
+    @Override
+    public void pelletEaten(int row, int col) {
+    }
+
+    /**
+     * SimulationListener method that does nothing, since the score is read from the snapshots.
+     * @param ghost - index of the eaten ghost
+     */
+    @Override
+    public void ghostEaten(int ghost) {
+    }
+
+    /**
+     * SimulationListener method that pauses the thread whenever a Ghost comes into contact with the Pacman.
+     */
+    @Override
+    public void pacmanCaught() {
+        this.running = false;
+    }
+
+    /**
+     * SimulationListener method that pauses the thread when the game is over.
+     * @param won - boolean that tracks if the user won
+     */
+    @Override
+    public void gameOver(boolean won) {
+        this.running = false;
+    }
+
+    /**
+     * Getter method that returns the SnapshotExchange the ticks are published to.
+     * @return this.exchange - the SnapshotExchange
+     */
+    public SnapshotExchange getExchange() {
+        return this.exchange;
+    }
+}
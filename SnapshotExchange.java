@@ -0,0 +1,69 @@
+package pacman;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SnapshotExchange class that hands SimulationSnapshots from the SimulationThread to the JavaFX Application Thread
+ * without either of them ever waiting on the other. It is a triple buffer: of its three snapshots, the simulation
+ * thread only writes the "back" one and the JavaFX Application Thread only reads the "front" one, and the third sits
+ * in the middle as the newest finished snapshot.
+ *
+ * - publish() swaps the back snapshot with the middle one and marks the middle one fresh, so the simulation thread
+ *   goes on to write whichever snapshot was in the middle (it is either stale or was never read).
+ * - acquire() swaps the front snapshot with the middle one, but only if the middle one is fresh, so the reader never
+ *   goes back to an older tick.
+ *
+ * The middle index and its fresh flag are one AtomicInteger, so each swap is a single getAndSet().
+ */
+public class SnapshotExchange {
+
+    private static final int INDEX_MASK = 3;
+    private static final int FRESH = 4;
+
+    //instance variables
+    private final SimulationSnapshot[] snapshots;
+    private final AtomicInteger middle;
+    private int back;
+    private int front;
+
+    /**
+     * SnapshotExchange constructor. All three snapshots start out as copies of the game.
+     * @param view - the game whose snapshots are exchanged
+     */
+    public SnapshotExchange(GameView view) {
+        this.snapshots = new SimulationSnapshot[] {new SimulationSnapshot(view), new SimulationSnapshot(view),
+                new SimulationSnapshot(view)};
+        this.back = 0;
+        this.middle = new AtomicInteger(1);
+        this.front = 2;
+    }
+
+    /**
+     * Getter method that returns the snapshot the simulation thread should write the next tick into. Only the
+     * simulation thread may call this.
+     * @return the back snapshot
+     */
+    public SimulationSnapshot getBack() {
+        return this.snapshots[this.back];
+    }
+
+    /**
+     * Makes the back snapshot the newest one for the reader to pick up. Only the simulation thread may call this.
+     */
+    public void publish() {
+        this.back = this.middle.getAndSet(this.back | FRESH) & INDEX_MASK;
+    }
+
+    /**
+     * Picks up the newest snapshot, if one was published since the last call. The snapshot belongs to the reader until
+     * the next call to acquire(). Only the JavaFX Application Thread may call this.
+     * @return the newest snapshot, or null if nothing new was published
+     */
+    public SimulationSnapshot acquire() {
+        if ((this.middle.get() & FRESH) == 0) {
+            return null;
+        }
+        this.front = this.middle.getAndSet(this.front) & INDEX_MASK;
+        return this.snapshots[this.front];
+    }
+}
@@ -0,0 +1,240 @@
+package pacman;
+
+/**
+ * TickMetrics class that keeps track of how long each phase of a tick takes and counts what happened during the
+ * ticks, so that when a game drops frames it is possible to tell which phase went over the tick's time budget (by
+ * default Constants.TIMELINE_DURATION). A Simulation whose config has a TickMetrics (see SimulationConfig.setMetrics())
+ * times its phases with System.nanoTime() and reports them here; the Game adds how long each frame took to draw. A
+ * MetricsExporter then reads the numbers out every so often.
+ *
+ * Every phase has a LatencyHistogram, and a phase that runs more than once in a tick (collisions are checked twice)
+ * is added up and recorded once when the tick ends. A tick that goes over the budget is blamed on whichever phase took
+ * the longest in it. Everything is allocated in the constructor, so recording never allocates.
+ *
+ * Like a Simulation, a TickMetrics should only be used from one thread; exporters copy what they need out of it.
+ */
+public class TickMetrics implements GhostModeListener {
+
+    private static final TickPhase[] PHASES = TickPhase.values();
+
+    //instance variables
+    private final long budgetNanos;
+    private final LatencyHistogram[] histograms;
+    private final long[] phaseNanos;
+    private final long[] overBudgetByPhase;
+    private long ticks;
+    private long overBudgetTicks;
+    private long pelletsEaten;
+    private long ghostsEaten;
+    private long pacmanCaught;
+    private long modeTransitions;
+    private long bfsNodesExpanded;
+
+    /**
+     * TickMetrics constructor with a budget of one Constants.TIMELINE_DURATION per tick.
+     */
+    public TickMetrics() {
+        this((long) (Constants.TIMELINE_DURATION * 1e9));
+    }
+
+    /**
+     * TickMetrics constructor
+     * @param budgetNanos - how long a tick, or drawing a frame, is allowed to take, in nanoseconds
+     */
+    public TickMetrics(long budgetNanos) {
+        if (budgetNanos < 1) {
+            throw new IllegalArgumentException("The budget of a tick must be at least one nanosecond: Given budget = "
+                    + budgetNanos);
+        }
+        this.budgetNanos = budgetNanos;
+        this.histograms = new LatencyHistogram[PHASES.length];
+        for (int i = 0; i < PHASES.length; i++) {
+            this.histograms[i] = new LatencyHistogram();
+        }
+        this.phaseNanos = new long[PHASES.length];
+        this.overBudgetByPhase = new long[PHASES.length];
+    }
+
+    /**
+     * Adds the time one phase of the current tick took.
+     * @param phase - the phase, which should be one of the phases of Simulation.step()
+     * @param nanos - how long it took, in nanoseconds
+     */
+    public void recordPhase(TickPhase phase, long nanos) {
+        this.phaseNanos[phase.ordinal()] += nanos;
+    }
+
+    /**
+     * Ends the current tick: records the time of each of its phases and of the whole tick, blames the tick on its
+     * longest phase if it went over the budget, and adds up how many nodes the ghosts' searches expanded during it.
+     * @param tickNanos - how long the whole tick took, in nanoseconds
+     * @param nodesExpanded - how many nodes the ghosts' searches expanded during the tick
+     */
+    public void endTick(long tickNanos, long nodesExpanded) {
+        this.ticks++;
+        this.bfsNodesExpanded += nodesExpanded;
+        this.histograms[TickPhase.TICK.ordinal()].record(tickNanos);
+        if (tickNanos > this.budgetNanos) {
+            int longest = 0;
+            for (int i = 1; i < TickPhase.TICK.ordinal(); i++) {
+                if (this.phaseNanos[i] > this.phaseNanos[longest]) {
+                    longest = i;
+                }
+            }
+            this.overBudgetTicks++;
+            this.overBudgetByPhase[longest]++;
+        }
+        //the phases of step() come before TICK
+        for (int i = 0; i < TickPhase.TICK.ordinal(); i++) {
+            this.histograms[i].record(this.phaseNanos[i]);
+            this.phaseNanos[i] = 0;
+        }
+    }
+
+    /**
+     * Records how long drawing one frame took. A frame that goes over the budget is counted against RENDER.
+     * @param nanos - how long it took, in nanoseconds
+     */
+    public void recordRender(long nanos) {
+        this.histograms[TickPhase.RENDER.ordinal()].record(nanos);
+        if (nanos > this.budgetNanos) {
+            this.overBudgetByPhase[TickPhase.RENDER.ordinal()]++;
+        }
+    }
+
+    /**
+     * Counts a dot or energizer being eaten.
+     */
+    public void countPelletEaten() {
+        this.pelletsEaten++;
+    }
+
+    /**
+     * Counts a frightened ghost being eaten.
+     */
+    public void countGhostEaten() {
+        this.ghostsEaten++;
+    }
+
+    /**
+     * Counts pacman being caught by a ghost.
+     */
+    public void countPacmanCaught() {
+        this.pacmanCaught++;
+    }
+
+    /**
+     * GhostModeListener method that counts the ghosts changing mode (to chase, scatter or frightened). Frightened
+     * ghosts starting to flash is not a change of mode.
+     * @param previous - the mode before the change
+     * @param current - the mode after the change
+     * @param flashing - true if the ghosts are flashing
+     */
+    @Override
+    public void ghostModeChanged(GhostBehavior previous, GhostBehavior current, boolean flashing) {
+        if (previous != current) {
+            this.modeTransitions++;
+        }
+    }
+
+    /**
+     * Empties every histogram and sets every count back to 0.
+     */
+    public void reset() {
+        for (int i = 0; i < PHASES.length; i++) {
+            this.histograms[i].reset();
+            this.phaseNanos[i] = 0;
+            this.overBudgetByPhase[i] = 0;
+        }
+        this.ticks = 0;
+        this.overBudgetTicks = 0;
+        this.pelletsEaten = 0;
+        this.ghostsEaten = 0;
+        this.pacmanCaught = 0;
+        this.modeTransitions = 0;
+        this.bfsNodesExpanded = 0;
+    }
+
+    /**
+     * Getter method that returns the histogram of how long a phase took.
+     * @param phase - the phase
+     * @return the LatencyHistogram of the phase
+     */
+    public LatencyHistogram getHistogram(TickPhase phase) {
+        return this.histograms[phase.ordinal()];
+    }
+
+    /**
+     * Getter method that returns how many times a phase was the longest part of a tick that went over the budget (or,
+     * for RENDER, how many frames went over the budget).
+     * @param phase - the phase
+     * @return the number of ticks or frames
+     */
+    public long getOverBudget(TickPhase phase) {
+        return this.overBudgetByPhase[phase.ordinal()];
+    }
+
+    /**
+     * Getter method that returns the time budget of a tick.
+     * @return this.budgetNanos - the budget in nanoseconds
+     */
+    public long getBudgetNanos() {
+        return this.budgetNanos;
+    }
+
+    /**
+     * Getter method that returns how many ticks were recorded.
+     * @return this.ticks - the number of ticks
+     */
+    public long getTicks() {
+        return this.ticks;
+    }
+
+    /**
+     * Getter method that returns how many ticks went over the budget.
+     * @return this.overBudgetTicks - the number of ticks
+     */
+    public long getOverBudgetTicks() {
+        return this.overBudgetTicks;
+    }
+
+    /**
+     * Getter method that returns how many dots and energizers were eaten.
+     * @return this.pelletsEaten - the number of pellets
+     */
+    public long getPelletsEaten() {
+        return this.pelletsEaten;
+    }
+
+    /**
+     * Getter method that returns how many frightened ghosts were eaten.
+     * @return this.ghostsEaten - the number of ghosts
+     */
+    public long getGhostsEaten() {
+        return this.ghostsEaten;
+    }
+
+    /**
+     * Getter method that returns how many times pacman was caught.
+     * @return this.pacmanCaught - the number of times
+     */
+    public long getPacmanCaught() {
+        return this.pacmanCaught;
+    }
+
+    /**
+     * Getter method that returns how many times the ghosts changed mode.
+     * @return this.modeTransitions - the number of mode changes
+     */
+    public long getModeTransitions() {
+        return this.modeTransitions;
+    }
+
+    /**
+     * Getter method that returns how many nodes the BfsPathfinder expanded.
+     * @return this.bfsNodesExpanded - the number of nodes
+     */
+    public long getBfsNodesExpanded() {
+        return this.bfsNodesExpanded;
+    }
+}
@@ -0,0 +1,36 @@
+package pacman;
+
+/**
+ * TickPhase enum that names the parts of a tick that the TickMetrics times: the phases of Simulation.step(), the whole
+ * tick, and drawing a frame.
+ */
+public enum TickPhase {
+    TOGGLE_DOORS("toggleDoors"),
+    SCATTER_OR_CHASE("scatterOrChase"),
+    LET_OUT_GHOSTS("letOutGhosts"),
+    MOVE_PACMAN("movePacman"),
+    CHECK_COLLISIONS("checkCollisions"),
+    MOVE_GHOSTS("moveGhosts"),
+    CHECK_GAME_OVER("checkGameOver"),
+    TICK("tick"),
+    RENDER("render");
+
+    //instance variables
+    private final String label;
+
+    /**
+     * TickPhase constructor
+     * @param label - the name the phase is exported under
+     */
+    TickPhase(String label) {
+        this.label = label;
+    }
+
+    /**
+     * Getter method that returns the name the phase is exported under, which is the name of the method it times.
+     * @return this.label - the name of the phase
+     */
+    public String getLabel() {
+        return this.label;
+    }
+}
@@ -0,0 +1,146 @@
+package pacman;
+
+import java.util.Arrays;
+
+/**
+ * TimerWheel class that keeps a fixed set of timers, each due on some future tick, so that whatever owns them only
+ * has to look at the timers that are due on the current tick instead of checking every counter on every tick. It is a
+ * hashed timing wheel: a timer due on tick t is kept in slot t % slots, so moving to the next tick only looks at one
+ * slot, and a timer more than one lap of the wheel away just stays in its slot until its lap comes around.
+ *
+ * Timers are numbered 0 to timers - 1 and each one is either scheduled for one tick or not scheduled at all.
+ * Scheduling, cancelling and firing are all a few array writes on a doubly linked list per slot, so nothing is
+ * allocated after the constructor.
+ */
+public class TimerWheel {
+
+    //what poll() returns when no more timers are due
+    public static final int NONE = -1;
+
+    //instance variables
+    private final long[] due;
+    private final boolean[] scheduled;
+    private final int[] next;
+    private final int[] previous;
+    private final int[] slotHead;
+    private final int mask;
+    private long now;
+
+    /**
+     * TimerWheel constructor. The wheel starts on tick 0 with no timers scheduled.
+     * @param timers - the number of timers
+     * @param slots - the number of slots, which has to be a power of two
+     */
+    public TimerWheel(int timers, int slots) {
+        if (timers < 1 || slots < 1 || Integer.bitCount(slots) != 1) {
+            throw new IllegalArgumentException("A TimerWheel needs at least one timer and a power of two slots: Given"
+                    + " timers = " + timers + " slots = " + slots);
+        }
+        this.due = new long[timers];
+        this.scheduled = new boolean[timers];
+        this.next = new int[timers];
+        this.previous = new int[timers];
+        this.slotHead = new int[slots];
+        this.mask = slots - 1;
+        Arrays.fill(this.slotHead, NONE);
+    }
+
+    /**
+     * Schedules a timer for a tick, moving it if it was already scheduled.
+     * @param timer - the number of the timer
+     * @param tick - the tick it is due on, which has to be after the current tick
+     */
+    public void schedule(int timer, long tick) {
+        if (tick <= this.now) {
+            throw new IllegalArgumentException("A timer must be due after the current tick: Given tick = " + tick
+                    + " on tick = " + this.now);
+        }
+        this.cancel(timer);
+        int slot = (int) (tick & this.mask);
+        this.due[timer] = tick;
+        this.scheduled[timer] = true;
+        this.previous[timer] = NONE;
+        this.next[timer] = this.slotHead[slot];
+        if (this.slotHead[slot] != NONE) {
+            this.previous[this.slotHead[slot]] = timer;
+        }
+        this.slotHead[slot] = timer;
+    }
+
+    /**
+     * Cancels a timer. Cancelling a timer that isn't scheduled does nothing.
+     * @param timer - the number of the timer
+     */
+    public void cancel(int timer) {
+        if (!this.scheduled[timer]) {
+            return;
+        }
+        this.scheduled[timer] = false;
+        if (this.previous[timer] == NONE) {
+            this.slotHead[(int) (this.due[timer] & this.mask)] = this.next[timer];
+        }
+        else {
+            this.next[this.previous[timer]] = this.next[timer];
+        }
+        if (this.next[timer] != NONE) {
+            this.previous[this.next[timer]] = this.previous[timer];
+        }
+    }
+
+    /**
+     * Cancels every timer.
+     */
+    public void cancelAll() {
+        for (int timer = 0; timer < this.due.length; timer++) {
+            this.cancel(timer);
+        }
+    }
+
+    /**
+     * Moves the wheel on to the next tick. The timers due on it should then be taken off of the wheel with poll()
+     * until it returns NONE, since a timer that is still on the wheel after its tick never comes due again.
+     */
+    public void advance() {
+        this.now++;
+    }
+
+    /**
+     * Takes one timer that is due on the current tick off of the wheel.
+     * @return the number of the timer, or NONE if no more timers are due
+     */
+    public int poll() {
+        for (int timer = this.slotHead[(int) (this.now & this.mask)]; timer != NONE; timer = this.next[timer]) {
+            if (this.due[timer] == this.now) {
+                this.cancel(timer);
+                return timer;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Checks to see if a timer is scheduled.
+     * @param timer - the number of the timer
+     * @return true if it is scheduled
+     */
+    public boolean isScheduled(int timer) {
+        return this.scheduled[timer];
+    }
+
+    /**
+     * Getter method that returns how many ticks are left until a timer is due.
+     * @param timer - the number of the timer, which has to be scheduled
+     * @return the number of ticks, at least 1
+     */
+    public long getRemaining(int timer) {
+        return this.due[timer] - this.now;
+    }
+
+    /**
+     * Getter method that returns the current tick.
+     * @return this.now - the current tick
+     */
+    public long getNow() {
+        return this.now;
+    }
+}
@@ -0,0 +1,264 @@
+package pacman;
+
+import cs15.fnl.pacmanSupport.CS15SquareType;
+
+/**
+ * WallGrid class that is a lookup of which squares of the maze are walls. The walls are stored as one bit per square in
+ * a long[] bitset, where the square at (row, col) is bit row * cols + col. This makes a wall lookup a shift and a mask
+ * instead of a search through a list of wall MazeSquares, and it never allocates.
+ *
+ * The walls can be changed during a game with setWall() (for doors and gates), which bumps a version number so that a
+ * renderer or a SimulationSnapshot can tell the walls changed without comparing every square. Anything that worked
+ * something out from the walls has to be told about the change; Simulation.setWall() does that for a game.
+ *
+ * Anything off of the board counts as a wall, so callers do not have to bounds-check before asking. The only ways off
+ * of the board are the tunnels of the MazeLayout, which neighbor() follows to the other end. A maze has only a few
+ * tunnels, so they are kept as two small arrays that are only searched when a step would leave the board.
+ */
+public class WallGrid {
+
+    //instance variables
+    private final int rows;
+    private final int cols;
+    private final long[] bits;
+    private final int[] tunnelKeys;
+    private final int[] tunnelExits;
+    private long version;
+
+    /**
+     * WallGrid constructor
+     * @param rows - number of rows on the board
+     * @param cols - number of cols on the board
+     * @param bits - the wall bitset, one bit per square
+     * @param tunnelKeys - for each tunnel end, (index of the square * 4 + ordinal of the Direction off of the board)
+     * @param tunnelExits - for each tunnel end, the index of the square at the other end
+     */
+    private WallGrid(int rows, int cols, long[] bits, int[] tunnelKeys, int[] tunnelExits) {
+        this.rows = rows;
+        this.cols = cols;
+        this.bits = bits;
+        this.tunnelKeys = tunnelKeys;
+        this.tunnelExits = tunnelExits;
+    }
+
+    /**
+     * Builds the WallGrid for a support map, with the support map's tunnel through the middle row.
+     * @param supportMap - the map that the walls are read from
+     * @return the new WallGrid
+     */
+    public static WallGrid fromSupportMap(CS15SquareType[][] supportMap) {
+        return fromLayout(MazeLayout.fromSupportMap(supportMap));
+    }
+
+    /**
+     * Builds the WallGrid for a maze. This is done once per maze.
+     * @param layout - the maze that the walls and tunnels are read from
+     * @return the new WallGrid
+     */
+    public static WallGrid fromLayout(MazeLayout layout) {
+        int rows = layout.getRows();
+        int cols = layout.getCols();
+        long[] bits = new long[(rows * cols + 63) >>> 6];
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                if (layout.getSquare(row, col) == CS15SquareType.WALL) {
+                    int index = row * cols + col;
+                    bits[index >>> 6] |= 1L << index;
+                }
+            }
+        }
+        int[] tunnelKeys = new int[layout.getTunnelCount() * 2];
+        int[] tunnelExits = new int[tunnelKeys.length];
+        for (int tunnel = 0; tunnel < layout.getTunnelCount(); tunnel++) {
+            for (int end = 0; end < 2; end++) {
+                int row = layout.getTunnelRow(tunnel, end);
+                int col = layout.getTunnelCol(tunnel, end);
+                int otherRow = layout.getTunnelRow(tunnel, 1 - end);
+                int otherCol = layout.getTunnelCol(tunnel, 1 - end);
+                tunnelKeys[tunnel * 2 + end] = (row * cols + col) * 4 + layout.edgeDirection(row, col).ordinal();
+                tunnelExits[tunnel * 2 + end] = otherRow * cols + otherCol;
+            }
+        }
+        return new WallGrid(rows, cols, bits, tunnelKeys, tunnelExits);
+    }
+
+    /**
+     * Checks to see if a location at a certain row and col is a wall or not.
+     * @param row - row that is being checked
+     * @param col - col that is being checked
+     * @return true if there is a wall, or if the location is off of the board
+     */
+    public boolean isWall(int row, int col) {
+        if (row < 0 || row >= this.rows || col < 0 || col >= this.cols) {
+            return true;
+        }
+        return this.isWall(row * this.cols + col);
+    }
+
+    /**
+     * Checks to see if the square with a certain index (row * cols + col) is a wall. The index must be on the board.
+     * @param index - index of the square that is being checked
+     * @return true if there is a wall
+     */
+    public boolean isWall(int index) {
+        return (this.bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Opens or closes a square. The version goes up only if the square actually changed.
+     * @param row - row of the square
+     * @param col - col of the square
+     * @param wall - true to close the square, false to open it
+     */
+    public void setWall(int row, int col, boolean wall) {
+        if (row < 0 || row >= this.rows || col < 0 || col >= this.cols) {
+            throw new IllegalArgumentException("Only squares on the board can be changed: Given row = " + row
+                    + ", col = " + col);
+        }
+        int index = row * this.cols + col;
+        if (this.isWall(index) == wall) {
+            return;
+        }
+        this.bits[index >>> 6] ^= 1L << index;
+        this.version++;
+    }
+
+    /**
+     * Makes a copy of this WallGrid that can be changed without changing this one. The tunnels never change, so they
+     * are shared.
+     * @return the copy
+     */
+    public WallGrid copy() {
+        WallGrid copy = new WallGrid(this.rows, this.cols, this.bits.clone(), this.tunnelKeys, this.tunnelExits);
+        copy.version = this.version;
+        return copy;
+    }
+
+    /**
+     * Copies the walls of another WallGrid of the same maze into this one, along with its version.
+     * @param other - the WallGrid to copy
+     */
+    public void copyFrom(WallGrid other) {
+        System.arraycopy(other.bits, 0, this.bits, 0, this.bits.length);
+        this.version = other.version;
+    }
+
+    /**
+     * Finds the first square at or after an index that is a wall in one of this WallGrid and another one of the same
+     * maze but not in the other, in the same way as BitSet.nextSetBit(). A renderer that keeps a copy of the walls it
+     * drew uses this to redraw only the squares that opened or closed since.
+     * @param other - the WallGrid to compare with
+     * @param fromIndex - the index to start looking from
+     * @return the index (row * cols + col) of the square, or -1 if there are no more
+     */
+    public int nextDifference(WallGrid other, int fromIndex) {
+        int size = this.rows * this.cols;
+        if (fromIndex >= size) {
+            return -1;
+        }
+        int word = fromIndex >>> 6;
+        long bits = (this.bits[word] ^ other.bits[word]) & (-1L << fromIndex);
+        while (bits == 0) {
+            word++;
+            if (word == this.bits.length) {
+                return -1;
+            }
+            bits = this.bits[word] ^ other.bits[word];
+        }
+        int index = (word << 6) + Long.numberOfTrailingZeros(bits);
+        return index < size ? index : -1;
+    }
+
+    /**
+     * Returns the index of the square one step away from a square in a direction. A step off of the board comes out
+     * at the other end of a tunnel if the square is a tunnel end, and is blocked otherwise.
+     * @param row - the row that is being moved from
+     * @param col - the col that is being moved from
+     * @param direction - the direction that is being moved in
+     * @return the index of the neighboring square, or -1 if it is a wall
+     */
+    public int neighbor(int row, int col, Direction direction) {
+        int newRow = direction.newRow(row);
+        int newCol = direction.newCol(col);
+        if (newRow < 0 || newRow >= this.rows || newCol < 0 || newCol >= this.cols) {
+            int exit = this.tunnelExit((row * this.cols + col) * 4 + direction.ordinal());
+            return exit < 0 || this.isWall(exit) ? -1 : exit;
+        }
+        if (this.isWall(newRow, newCol)) {
+            return -1;
+        }
+        return newRow * this.cols + newCol;
+    }
+
+    /**
+     * Helper method that finds where a step off of the board comes out.
+     * @param key - (index of the square * 4 + ordinal of the Direction off of the board)
+     * @return the index of the square at the other end of the tunnel, or -1 if the square is not a tunnel end
+     */
+    private int tunnelExit(int key) {
+        for (int i = 0; i < this.tunnelKeys.length; i++) {
+            if (this.tunnelKeys[i] == key) {
+                return this.tunnelExits[i];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Getter method that returns how many tunnel ends the maze has. Each tunnel has two ends, one for each way through.
+     * @return the number of tunnel ends
+     */
+    public int getTunnelEndCount() {
+        return this.tunnelKeys.length;
+    }
+
+    /**
+     * Getter method that returns the square a tunnel end is on.
+     * @param end - the number of the tunnel end, from 0 to getTunnelEndCount() - 1
+     * @return the index of the square the tunnel is entered from
+     */
+    public int getTunnelEnd(int end) {
+        return this.tunnelKeys[end] >> 2;
+    }
+
+    /**
+     * Getter method that returns the square a tunnel end comes out at, one step away from getTunnelEnd().
+     * @param end - the number of the tunnel end, from 0 to getTunnelEndCount() - 1
+     * @return the index of the square at the other end of the tunnel
+     */
+    public int getTunnelExit(int end) {
+        return this.tunnelExits[end];
+    }
+
+    /**
+     * Getter method that returns how many times a square has been opened or closed since the WallGrid was built.
+     * @return this.version - the version of the walls
+     */
+    public long getVersion() {
+        return this.version;
+    }
+
+    /**
+     * Getter method that returns the number of rows on the board.
+     * @return this.rows - number of rows
+     */
+    public int getRows() {
+        return this.rows;
+    }
+
+    /**
+     * Getter method that returns the number of cols on the board.
+     * @return this.cols - number of cols
+     */
+    public int getCols() {
+        return this.cols;
+    }
+
+    /**
+     * Getter method that returns the number of squares on the board, which is also the number of indexes.
+     * @return the number of squares
+     */
+    public int getSize() {
+        return this.rows * this.cols;
+    }
+}
@@ -0,0 +1,29 @@
+package pacman;
+
+import cs15.fnl.pacmanSupport.CS15SupportMap;
+
+/**
+ * BenchmarkMazes class that hands out the mazes the benchmarks run on: the standard 23x23 support map, or a square
+ * maze of any size made by the MazeGenerator for seeing how the hot paths scale. Generated mazes always use the same
+ * seed, so every run of a benchmark sees the same maze.
+ */
+public class BenchmarkMazes {
+
+    //the size that stands for the standard support map in a benchmark @Param
+    public static final int SUPPORT_MAP = 0;
+
+    private static final long SEED = 15;
+
+    /**
+     * Returns the maze for a benchmark size.
+     * @param size - SUPPORT_MAP for the support map, or the side length of a generated maze (3 more than a multiple of
+     *             4, like 63, 127 or 255)
+     * @return the maze
+     */
+    public static MazeLayout get(int size) {
+        if (size == SUPPORT_MAP) {
+            return MazeLayout.fromSupportMap(CS15SupportMap.getSupportMap());
+        }
+        return new MazeGenerator(SEED).generate(size, size);
+    }
+}
@@ -0,0 +1,53 @@
+package pacman;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CollisionBenchmark class that times one collision check on pacman's square, which runs twice every tick. The game is
+ * played forward a little first so the ghosts are spread out over the maze.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+
+    private static final int SETUP_TICKS = 50;
+
+    @Param({"0", "63", "127"})
+    private int mazeSize;
+
+    //instance variables
+    private Simulation simulation;
+
+    @Setup
+    public void setUp() {
+        SimulationConfig config = new SimulationConfig();
+        config.setLives(Integer.MAX_VALUE);
+        this.simulation = new Simulation(BenchmarkMazes.get(this.mazeSize), config);
+        RandomPolicy policy = new RandomPolicy(0);
+        for (int i = 0; i < SETUP_TICKS; i++) {
+            this.simulation.step(policy.chooseDirection(this.simulation));
+        }
+    }
+
+    @Benchmark
+    public Simulation checkCollisions() {
+        this.simulation.checkCollisions();
+        return this.simulation;
+    }
+}
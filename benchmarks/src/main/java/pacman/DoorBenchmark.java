@@ -0,0 +1,134 @@
+package pacman;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DoorBenchmark class that times opening or closing one door square, a corridor square with a wall on each side, and
+ * bringing the pathfinding up to date. Four flow fields are either repaired with a DistanceRepair or flooded again
+ * from scratch (each rebuild call points the fields at their other target, since a field only rebuilds for a new
+ * target), and the NextHopTable (on mazes small enough for one) and the HierarchicalPathfinder are repaired. Every
+ * call flips the door, so closing and opening are timed one after the other.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DoorBenchmark {
+
+    private static final int FIELDS = 4;
+
+    @Param({"0", "127", "255"})
+    private int mazeSize;
+
+    //instance variables
+    private WallGrid walls;
+    private int doorRow;
+    private int doorCol;
+    private FlowField[] fields;
+    private int[] targets;
+    private DistanceRepair repair;
+    private NextHopTable table;
+    private HierarchicalPathfinder hierarchical;
+    private int flips;
+
+    @Setup
+    public void setUp() {
+        this.walls = WallGrid.fromLayout(BenchmarkMazes.get(this.mazeSize));
+        SplittableRandom random = new SplittableRandom(0);
+        int door = this.randomCorridorSquare(random);
+        this.doorRow = door / this.walls.getCols();
+        this.doorCol = door % this.walls.getCols();
+        boolean[] reachable = FlowField.reachableFrom(this.walls, this.doorRow, this.doorCol);
+        this.fields = new FlowField[FIELDS];
+        this.targets = new int[FIELDS * 2];
+        for (int i = 0; i < FIELDS * 2; i++) {
+            do {
+                this.targets[i] = this.randomCorridorSquare(random);
+            } while (this.targets[i] == door);
+        }
+        for (int i = 0; i < FIELDS; i++) {
+            this.fields[i] = new FlowField(this.walls, reachable);
+            this.fields[i].setTarget(this.targets[i] / this.walls.getCols(), this.targets[i] % this.walls.getCols());
+        }
+        this.repair = new DistanceRepair(this.walls);
+        if (NextHopTable.countOpenSquares(this.walls) <= Constants.NEXT_HOP_TABLE_MAX_SQUARES) {
+            this.table = new NextHopTable(this.walls, false);
+        }
+        this.hierarchical = new HierarchicalPathfinder(this.walls, Constants.HIERARCHICAL_CLUSTER_SIZE);
+    }
+
+    /**
+     * Helper method that picks a random open square with walls on two opposite sides, so closing it cuts a corridor.
+     * @return the index of the square
+     */
+    private int randomCorridorSquare(SplittableRandom random) {
+        while (true) {
+            int square = random.nextInt(this.walls.getSize());
+            int row = square / this.walls.getCols();
+            int col = square % this.walls.getCols();
+            if (!this.walls.isWall(square) && this.walls.neighbor(row, col, Direction.LEFT) < 0
+                    && this.walls.neighbor(row, col, Direction.RIGHT) < 0) {
+                return square;
+            }
+        }
+    }
+
+    /**
+     * Helper method that closes the door if it is open and opens it if it is closed.
+     */
+    private void flipDoor() {
+        this.walls.setWall(this.doorRow, this.doorCol, !this.walls.isWall(this.doorRow, this.doorCol));
+        this.flips++;
+    }
+
+    @Benchmark
+    public FlowField repairFlowFields() {
+        this.flipDoor();
+        for (FlowField field : this.fields) {
+            field.wallChanged(this.doorRow, this.doorCol, this.repair);
+        }
+        return this.fields[0];
+    }
+
+    @Benchmark
+    public FlowField rebuildFlowFields() {
+        this.flipDoor();
+        for (int i = 0; i < FIELDS; i++) {
+            int target = this.targets[i + (this.flips & 1) * FIELDS];
+            this.fields[i].setTarget(target / this.walls.getCols(), target % this.walls.getCols());
+        }
+        return this.fields[0];
+    }
+
+    @Benchmark
+    public NextHopTable repairNextHopTable() {
+        if (this.table == null) {
+            return null;
+        }
+        this.flipDoor();
+        this.table.wallChanged(this.doorRow, this.doorCol);
+        return this.table;
+    }
+
+    @Benchmark
+    public HierarchicalPathfinder repairHierarchical() {
+        this.flipDoor();
+        this.hierarchical.wallChanged(this.doorRow, this.doorCol);
+        return this.hierarchical;
+    }
+}
@@ -0,0 +1,65 @@
+package pacman;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HordeBenchmark class that times one Simulation tick with many ghosts, with and without flow fields. Without them a
+ * tick costs a search per ghost; with them it costs at most one search per ghost part, so the time should hardly grow
+ * with the number of ghosts. Ghosts are let out of the pen every other tick so the whole horde is out early on.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HordeBenchmark {
+
+    private static final int MAZE_SIZE = 127;
+    private static final int RELEASE_TIME = 2;
+
+    @Param({"4", "64", "256"})
+    private int ghostCount;
+
+    @Param({"true", "false"})
+    private boolean flowFields;
+
+    //instance variables
+    private MazeLayout maze;
+    private SimulationConfig config;
+    private Simulation simulation;
+    private RandomPolicy policy;
+
+    @Setup
+    public void setUp() {
+        this.maze = BenchmarkMazes.get(MAZE_SIZE);
+        this.config = new SimulationConfig();
+        this.config.setLives(Integer.MAX_VALUE);
+        this.config.setGhostCount(this.ghostCount);
+        this.config.setUseFlowFields(this.flowFields);
+        this.config.setGhostPenReleaseTime(RELEASE_TIME);
+        this.policy = new RandomPolicy(0);
+        this.simulation = new Simulation(this.maze, this.config);
+    }
+
+    @Benchmark
+    public Simulation tick() {
+        if (this.simulation.isGameOver()) {
+            this.simulation = new Simulation(this.maze, this.config);
+        }
+        this.simulation.step(this.policy.chooseDirection(this.simulation));
+        return this.simulation;
+    }
+}
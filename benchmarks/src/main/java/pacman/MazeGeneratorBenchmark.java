@@ -0,0 +1,44 @@
+package pacman;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MazeGeneratorBenchmark class that times generating one square maze, so that setting up the other benchmarks on big
+ * mazes stays cheap. Divide the maze's square count by the time to get squares per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MazeGeneratorBenchmark {
+
+    @Param({"63", "255", "1023"})
+    private int mazeSize;
+
+    //instance variables
+    private MazeGenerator generator;
+
+    @Setup
+    public void setUp() {
+        this.generator = new MazeGenerator(0);
+    }
+
+    @Benchmark
+    public MazeLayout generate() {
+        return this.generator.generate(this.mazeSize, this.mazeSize);
+    }
+}
@@ -0,0 +1,170 @@
+package pacman;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PathfindingBenchmark class that times one ghost decision: a BfsPathfinder search, an AStarPathfinder search, a
+ * HierarchicalPathfinder search, and (on mazes small enough for one) a NextHopTable lookup. Each call uses the next of a
+ * fixed set of random ghost squares, headings and targets, so the numbers are not for one lucky pair of squares. The
+ * searches also report how many nodes they expanded and how many decisions they made, so nodesExpanded / decisions is
+ * the nodes per decision.
+ *
+ * The HierarchicalPathfinder keeps its searches toward the last few targets, so it is timed twice: once with a new
+ * target almost every call, and once with every ghost going to one of four targets, like four ghosts chasing pacman.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathfindingBenchmark {
+
+    private static final int QUERIES = 1024;
+    private static final int SHARED_TARGETS = 4;
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    @Param({"0", "63", "127", "255", "511"})
+    private int mazeSize;
+
+    //instance variables
+    private WallGrid walls;
+    private BfsPathfinder bfs;
+    private AStarPathfinder aStar;
+    private HierarchicalPathfinder hierarchical;
+    private NextHopTable table;
+    private int[] rows;
+    private int[] cols;
+    private Direction[] headings;
+    private int[] targetRows;
+    private int[] targetCols;
+    private int[] sharedTargets;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        this.walls = WallGrid.fromLayout(BenchmarkMazes.get(this.mazeSize));
+        this.bfs = new BfsPathfinder(this.walls);
+        this.aStar = new AStarPathfinder(this.walls);
+        this.hierarchical = new HierarchicalPathfinder(this.walls, Constants.HIERARCHICAL_CLUSTER_SIZE);
+        if (NextHopTable.countOpenSquares(this.walls) <= Constants.NEXT_HOP_TABLE_MAX_SQUARES) {
+            this.table = new NextHopTable(this.walls, false);
+        }
+        this.rows = new int[QUERIES];
+        this.cols = new int[QUERIES];
+        this.headings = new Direction[QUERIES];
+        this.targetRows = new int[QUERIES];
+        this.targetCols = new int[QUERIES];
+        this.sharedTargets = new int[QUERIES];
+        SplittableRandom random = new SplittableRandom(0);
+        int[] shared = new int[SHARED_TARGETS];
+        for (int i = 0; i < SHARED_TARGETS; i++) {
+            shared[i] = this.randomOpenSquare(random);
+        }
+        for (int i = 0; i < QUERIES; i++) {
+            int from = this.randomOpenSquare(random);
+            int target = this.randomOpenSquare(random);
+            this.rows[i] = from / this.walls.getCols();
+            this.cols[i] = from % this.walls.getCols();
+            this.headings[i] = DIRECTIONS[random.nextInt(DIRECTIONS.length)];
+            this.targetRows[i] = target / this.walls.getCols();
+            this.targetCols[i] = target % this.walls.getCols();
+            this.sharedTargets[i] = shared[random.nextInt(SHARED_TARGETS)];
+        }
+    }
+
+    /**
+     * Helper method that picks a random open square.
+     * @return the index of the square
+     */
+    private int randomOpenSquare(SplittableRandom random) {
+        int square;
+        do {
+            square = random.nextInt(this.walls.getSize());
+        } while (this.walls.isWall(square));
+        return square;
+    }
+
+    /**
+     * Helper method that makes the next decision with a Pathfinder and counts the squares it expanded.
+     * @return the direction the Pathfinder picked
+     */
+    private Direction decide(Pathfinder pathfinder, NodeCounter counter) {
+        int i = this.next++ & (QUERIES - 1);
+        long before = pathfinder.getNodesExpanded();
+        Direction direction = pathfinder.nextDirection(this.rows[i], this.cols[i], this.headings[i],
+                this.targetRows[i], this.targetCols[i]);
+        counter.nodesExpanded += pathfinder.getNodesExpanded() - before;
+        counter.decisions++;
+        return direction;
+    }
+
+    @Benchmark
+    public Direction bfs(NodeCounter counter) {
+        return this.decide(this.bfs, counter);
+    }
+
+    @Benchmark
+    public Direction aStar(NodeCounter counter) {
+        return this.decide(this.aStar, counter);
+    }
+
+    @Benchmark
+    public Direction hierarchical(NodeCounter counter) {
+        return this.decide(this.hierarchical, counter);
+    }
+
+    @Benchmark
+    public Direction hierarchicalSharedTargets(NodeCounter counter) {
+        int i = this.next++ & (QUERIES - 1);
+        long before = this.hierarchical.getNodesExpanded();
+        int target = this.sharedTargets[i];
+        Direction direction = this.hierarchical.nextDirection(this.rows[i], this.cols[i], this.headings[i],
+                target / this.walls.getCols(), target % this.walls.getCols());
+        counter.nodesExpanded += this.hierarchical.getNodesExpanded() - before;
+        counter.decisions++;
+        return direction;
+    }
+
+    @Benchmark
+    public Direction nextHopTable() {
+        if (this.table == null) {
+            return null;
+        }
+        int i = this.next++ & (QUERIES - 1);
+        return this.table.nextDirection(this.rows[i], this.cols[i], this.headings[i], this.targetRows[i],
+                this.targetCols[i]);
+    }
+
+    /**
+     * NodeCounter class that JMH reports next to the times, summed over each iteration.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class NodeCounter {
+
+        public long nodesExpanded;
+        public long decisions;
+
+        @Setup(Level.Iteration)
+        public void clean() {
+            this.nodesExpanded = 0;
+            this.decisions = 0;
+        }
+    }
+}
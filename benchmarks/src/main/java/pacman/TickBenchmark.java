@@ -0,0 +1,65 @@
+package pacman;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TickBenchmark class that times one full Simulation tick (what one Game frame used to do in update()), with a random
+ * player pressing keys. Pacman has as many lives as an int can hold so games almost never end during a measurement;
+ * if one does, a new game is started.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TickBenchmark {
+
+    @Param({"0", "63", "127"})
+    private int mazeSize;
+
+    @Param({"TABLE", "BFS", "A_STAR", "HIERARCHICAL"})
+    private PathfinderType pathfinderType;
+
+    //instance variables
+    private MazeLayout maze;
+    private SimulationConfig config;
+    private Simulation simulation;
+    private RandomPolicy policy;
+
+    @Setup
+    public void setUp() {
+        this.maze = BenchmarkMazes.get(this.mazeSize);
+        this.config = new SimulationConfig();
+        this.config.setLives(Integer.MAX_VALUE);
+        this.config.setPathfinderType(this.pathfinderType);
+        WallGrid walls = WallGrid.fromLayout(this.maze);
+        if (this.pathfinderType == PathfinderType.TABLE
+                && NextHopTable.countOpenSquares(walls) <= this.config.getNextHopTableMaxSquares()) {
+            this.config.setSharedNextHopTable(new NextHopTable(walls, false));
+        }
+        this.policy = new RandomPolicy(0);
+        this.simulation = new Simulation(this.maze, this.config);
+    }
+
+    @Benchmark
+    public Simulation tick() {
+        if (this.simulation.isGameOver()) {
+            this.simulation = new Simulation(this.maze, this.config);
+        }
+        this.simulation.step(this.policy.chooseDirection(this.simulation));
+        return this.simulation;
+    }
+}
@@ -0,0 +1,79 @@
+package pacman;
+
+import cs15.fnl.pacmanSupport.CS15SquareType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WallLookupBenchmark class that times one wall lookup: the old way, ArrayList.contains() over a list of wall squares
+ * like Maze.createMaze() used to build, against WallGrid.isWall(). Lookups walk over every square of the maze in turn.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WallLookupBenchmark {
+
+    @Param({"0", "63"})
+    private int mazeSize;
+
+    //instance variables
+    private WallGrid walls;
+    private Object[][] squares;
+    private ArrayList<Object> wallList;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        MazeLayout maze = BenchmarkMazes.get(this.mazeSize);
+        this.walls = WallGrid.fromLayout(maze);
+        this.squares = new Object[maze.getRows()][maze.getCols()];
+        this.wallList = new ArrayList<>();
+        for (int row = 0; row < maze.getRows(); row++) {
+            for (int col = 0; col < maze.getCols(); col++) {
+                this.squares[row][col] = new Object();
+                if (maze.getSquare(row, col) == CS15SquareType.WALL) {
+                    this.wallList.add(this.squares[row][col]);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean arrayListContains() {
+        int square = this.nextSquare();
+        return this.wallList.contains(this.squares[square / this.walls.getCols()][square % this.walls.getCols()]);
+    }
+
+    @Benchmark
+    public boolean wallGrid() {
+        int square = this.nextSquare();
+        return this.walls.isWall(square / this.walls.getCols(), square % this.walls.getCols());
+    }
+
+    /**
+     * Helper method that returns the next square to look up.
+     * @return the index of the square
+     */
+    private int nextSquare() {
+        this.next++;
+        if (this.next == this.walls.getSize()) {
+            this.next = 0;
+        }
+        return this.next;
+    }
+}